@@ -26,6 +26,8 @@ import com.viaversion.viaversion.api.command.ViaVersionCommand;
 import com.viaversion.viaversion.api.configuration.ConfigurationProvider;
 import com.viaversion.viaversion.api.connection.ConnectionManager;
 import com.viaversion.viaversion.api.debug.DebugHandler;
+import com.viaversion.viaversion.api.debug.PacketCapture;
+import com.viaversion.viaversion.api.debug.TransformMetrics;
 import com.viaversion.viaversion.api.platform.ViaInjector;
 import com.viaversion.viaversion.api.platform.ViaPlatform;
 import com.viaversion.viaversion.api.platform.ViaPlatformLoader;
@@ -125,6 +127,24 @@ public interface ViaManager {
      */
     DebugHandler debugHandler();
 
+    /**
+     * Returns the opt-in packet transformation metrics.
+     *
+     * @return transformation metrics
+     */
+    default TransformMetrics transformMetrics() {
+        return TransformMetrics.disabled();
+    }
+
+    /**
+     * Returns the opt-in binary packet capture.
+     *
+     * @return packet capture
+     */
+    default PacketCapture packetCapture() {
+        return PacketCapture.disabled();
+    }
+
     /**
      * Returns a mutable set of self-added subplatform version strings.
      * This set is expanded by the subplatform itself (e.g. ViaBackwards), and may not contain all running ones.
@@ -464,4 +464,19 @@ public interface ViaVersionConfig extends Config {
      * @return true if enabled
      */
     boolean handleInvalidItemCount();
+
+    /**
+     * Caches mapping files in a binary format in the data folder to speed up loading them on startup.
+     *
+     * @return true if enabled
+     */
+    boolean cacheMappings();
+
+    /**
+     * Shares transformed clientbound packets between connections with the same protocols for a short time,
+     * so packets broadcast to many players are only transformed once.
+     *
+     * @return true if enabled
+     */
+    boolean cacheBroadcastTransforms();
 }
@@ -22,9 +22,12 @@
  */
 package com.viaversion.viaversion.api.connection;
 
+import com.viaversion.viaversion.api.protocol.Protocol;
+import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
@@ -84,6 +87,36 @@ public interface ConnectionManager {
      */
     Set<UserConnection> getConnections();
 
+    /**
+     * Returns all registered UserConnections with the given protocol in their pipeline.
+     * The default implementation returns a snapshot by filtering {@link #getConnections()},
+     * implementations keeping an index may instead return a live view of it.
+     *
+     * @param protocolClass protocol class
+     * @return connected UserConnections with the protocol in their pipeline
+     * @see #getConnections()
+     */
+    default Set<UserConnection> getConnections(final Class<? extends Protocol> protocolClass) {
+        return getConnections().stream()
+            .filter(connection -> connection.getProtocolInfo().getPipeline().contains(protocolClass))
+            .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Returns all registered UserConnections of the given client version, as set at the time they were registered.
+     * The default implementation returns a snapshot by filtering {@link #getConnections()},
+     * implementations keeping an index may instead return a live view of it.
+     *
+     * @param protocolVersion client protocol version
+     * @return connected UserConnections of the given client version
+     * @see #getConnections()
+     */
+    default Set<UserConnection> getConnections(final ProtocolVersion protocolVersion) {
+        return getConnections().stream()
+            .filter(connection -> protocolVersion.equals(connection.getProtocolInfo().protocolVersion()))
+            .collect(Collectors.toUnmodifiableSet());
+    }
+
     /**
      * Returns a map containing the UUIDs and frontend UserConnections from players connected to this proxy server
      * Returns empty list when there isn't a server
@@ -96,4 +129,21 @@ public interface ConnectionManager {
     void onLoginSuccess(UserConnection connection);
 
     void onDisconnect(UserConnection connection);
+
+    /**
+     * Called after a protocol has been added to the pipeline of the connection.
+     *
+     * @param connection connection
+     * @param protocol   added protocol
+     */
+    default void onProtocolAdded(UserConnection connection, Protocol protocol) {
+    }
+
+    /**
+     * Called after all protocols have been removed from the pipeline of the connection.
+     *
+     * @param connection connection
+     */
+    default void onPipelineCleared(UserConnection connection) {
+    }
 }
@@ -249,6 +249,70 @@ public interface UserConnection {
         }
     }
 
+    /**
+     * Transforms the clientbound packet contained in the ByteBuf without modifying its contents, writing the
+     * transformed packet into a newly allocated buffer instead of copying it back into the input buffer.
+     * The reader index of the input buffer is advanced past the read data.
+     *
+     * @param buf            ByteBuf with packet id and packet contents
+     * @param cancelSupplier function called with original CancelException for generating the Exception when the packet is cancelled
+     * @return buffer containing the transformed packet, to be released by the caller; may be the retained input buffer
+     * @throws CodecException       if the packet should be cancelled (by netty)
+     * @throws InformativeException if packet transforming failed
+     * @see #transformClientbound(ByteBuf, Function)
+     */
+    default ByteBuf transformClientboundDirect(ByteBuf buf, Function<Throwable, CodecException> cancelSupplier) throws InformativeException {
+        final ByteBuf copy = buf.alloc().buffer().writeBytes(buf);
+        try {
+            transformClientbound(copy, cancelSupplier);
+            return copy.retain();
+        } finally {
+            copy.release();
+        }
+    }
+
+    /**
+     * Transforms the serverbound packet contained in the ByteBuf without modifying its contents, writing the
+     * transformed packet into a newly allocated buffer instead of copying it back into the input buffer.
+     * The reader index of the input buffer is advanced past the read data.
+     *
+     * @param buf            ByteBuf with packet id and packet contents
+     * @param cancelSupplier function called with original CancelException for generating the Exception when the packet is cancelled
+     * @return buffer containing the transformed packet, to be released by the caller; may be the retained input buffer
+     * @throws CodecException       if the packet should be cancelled (by netty)
+     * @throws InformativeException if packet transforming failed
+     * @see #transformServerbound(ByteBuf, Function)
+     */
+    default ByteBuf transformServerboundDirect(ByteBuf buf, Function<Throwable, CodecException> cancelSupplier) throws InformativeException {
+        final ByteBuf copy = buf.alloc().buffer().writeBytes(buf);
+        try {
+            transformServerbound(copy, cancelSupplier);
+            return copy.retain();
+        } finally {
+            copy.release();
+        }
+    }
+
+    /**
+     * Transforms the packet depending on whether the connection is clientside or not.
+     *
+     * @see #transformClientboundDirect(ByteBuf, Function)
+     * @see #transformServerboundDirect(ByteBuf, Function)
+     */
+    default ByteBuf transformOutgoingDirect(ByteBuf buf, Function<Throwable, CodecException> cancelSupplier) throws InformativeException {
+        return isClientSide() ? transformServerboundDirect(buf, cancelSupplier) : transformClientboundDirect(buf, cancelSupplier);
+    }
+
+    /**
+     * Transforms the packet depending on whether the connection is clientside or not.
+     *
+     * @see #transformClientboundDirect(ByteBuf, Function)
+     * @see #transformServerboundDirect(ByteBuf, Function)
+     */
+    default ByteBuf transformIncomingDirect(ByteBuf buf, Function<Throwable, CodecException> cancelSupplier) throws InformativeException {
+        return isClientSide() ? transformClientboundDirect(buf, cancelSupplier) : transformServerboundDirect(buf, cancelSupplier);
+    }
+
     /**
      * Returns the internal id incremented for each new connection.
      *
@@ -0,0 +1,254 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.api.data;
+
+import com.viaversion.nbt.tag.ByteArrayTag;
+import com.viaversion.nbt.tag.ByteTag;
+import com.viaversion.nbt.tag.CompoundTag;
+import com.viaversion.nbt.tag.DoubleTag;
+import com.viaversion.nbt.tag.FloatTag;
+import com.viaversion.nbt.tag.IntArrayTag;
+import com.viaversion.nbt.tag.IntTag;
+import com.viaversion.nbt.tag.ListTag;
+import com.viaversion.nbt.tag.LongArrayTag;
+import com.viaversion.nbt.tag.LongTag;
+import com.viaversion.nbt.tag.ShortTag;
+import com.viaversion.nbt.tag.StringTag;
+import com.viaversion.nbt.tag.Tag;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.zip.CRC32;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Flat binary copy of mapping files, read through a memory-mapped file instead of parsing NBT.
+ * <p>
+ * The file starts with a magic number, format version, and the size and CRC32 of the source resource, followed by the tag tree.
+ * Arrays are stored as plain big-endian values so that they can be bulk-copied out of the mapped buffer.
+ */
+final class BinaryMappingCache {
+
+    private static final int MAGIC = 0x56494143; // VIAC
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_SIZE = Integer.BYTES * 2 + Long.BYTES;
+
+    private BinaryMappingCache() {
+    }
+
+    /**
+     * Returns the size and CRC32 of the given resource contents, in the same form as stored in a jar entry. The stream is consumed but not closed.
+     *
+     * @param resource resource stream
+     * @return size and CRC32 of the resource contents
+     * @throws IOException if reading fails
+     */
+    static long hash(final InputStream resource) throws IOException {
+        final CRC32 crc = new CRC32();
+        final byte[] buffer = new byte[8192];
+        int read;
+        long length = 0;
+        while ((read = resource.read(buffer)) != -1) {
+            crc.update(buffer, 0, read);
+            length += read;
+        }
+        return length << 32 | crc.getValue();
+    }
+
+    /**
+     * Reads the cached tag if the file exists and has been created from a resource with the given key.
+     *
+     * @param file cache file
+     * @param key  size and CRC32 of the source resource
+     * @return cached tag, or null if missing or outdated
+     * @throws IOException if reading fails
+     */
+    static @Nullable CompoundTag read(final Path file, final long key) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                return null;
+            }
+
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION || buffer.getLong() != key) {
+                return null;
+            }
+            return (CompoundTag) readTag(buffer, CompoundTag.ID);
+        } catch (final RuntimeException e) {
+            // Truncated or otherwise broken file
+            throw new IOException("Invalid mapping cache file " + file, e);
+        }
+    }
+
+    /**
+     * Writes the tag to the cache file, replacing it atomically if possible.
+     *
+     * @param file cache file
+     * @param key  size and CRC32 of the source resource
+     * @param tag  tag to write
+     * @throws IOException if writing fails
+     */
+    static void write(final Path file, final long key, final CompoundTag tag) throws IOException {
+        Files.createDirectories(file.getParent());
+        final Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(key);
+            writeTag(out, tag);
+        }
+
+        try {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static Tag readTag(final MappedByteBuffer buffer, final int id) {
+        switch (id) {
+            case ByteTag.ID:
+                return new ByteTag(buffer.get());
+            case ShortTag.ID:
+                return new ShortTag(buffer.getShort());
+            case IntTag.ID:
+                return new IntTag(buffer.getInt());
+            case LongTag.ID:
+                return new LongTag(buffer.getLong());
+            case FloatTag.ID:
+                return new FloatTag(buffer.getFloat());
+            case DoubleTag.ID:
+                return new DoubleTag(buffer.getDouble());
+            case ByteArrayTag.ID: {
+                final byte[] value = new byte[buffer.getInt()];
+                buffer.get(value);
+                return new ByteArrayTag(value);
+            }
+            case StringTag.ID:
+                return new StringTag(readString(buffer));
+            case ListTag.ID: {
+                final int elementId = buffer.get();
+                final int size = buffer.getInt();
+                final ListTag<Tag> list = new ListTag<>();
+                for (int i = 0; i < size; i++) {
+                    list.add(readTag(buffer, elementId));
+                }
+                return list;
+            }
+            case CompoundTag.ID: {
+                final CompoundTag compound = new CompoundTag();
+                int tagId;
+                while ((tagId = buffer.get()) != 0) {
+                    final String name = readString(buffer);
+                    compound.put(name, readTag(buffer, tagId));
+                }
+                return compound;
+            }
+            case IntArrayTag.ID: {
+                final int[] value = new int[buffer.getInt()];
+                buffer.asIntBuffer().get(value);
+                buffer.position(buffer.position() + value.length * Integer.BYTES);
+                return new IntArrayTag(value);
+            }
+            case LongArrayTag.ID: {
+                final long[] value = new long[buffer.getInt()];
+                buffer.asLongBuffer().get(value);
+                buffer.position(buffer.position() + value.length * Long.BYTES);
+                return new LongArrayTag(value);
+            }
+            default:
+                throw new IllegalArgumentException("Unknown tag id " + id);
+        }
+    }
+
+    private static String readString(final MappedByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeTag(final DataOutputStream out, final Tag tag) throws IOException {
+        if (tag instanceof ByteTag byteTag) {
+            out.writeByte(byteTag.asByte());
+        } else if (tag instanceof ShortTag shortTag) {
+            out.writeShort(shortTag.asShort());
+        } else if (tag instanceof IntTag intTag) {
+            out.writeInt(intTag.asInt());
+        } else if (tag instanceof LongTag longTag) {
+            out.writeLong(longTag.asLong());
+        } else if (tag instanceof FloatTag floatTag) {
+            out.writeFloat(floatTag.asFloat());
+        } else if (tag instanceof DoubleTag doubleTag) {
+            out.writeDouble(doubleTag.asDouble());
+        } else if (tag instanceof ByteArrayTag byteArrayTag) {
+            out.writeInt(byteArrayTag.getValue().length);
+            out.write(byteArrayTag.getValue());
+        } else if (tag instanceof StringTag stringTag) {
+            writeString(out, stringTag.getValue());
+        } else if (tag instanceof ListTag<?> listTag) {
+            out.writeByte(listTag.size() == 0 ? 0 : listTag.get(0).getTagId());
+            out.writeInt(listTag.size());
+            for (final Tag element : listTag) {
+                writeTag(out, element);
+            }
+        } else if (tag instanceof CompoundTag compoundTag) {
+            for (final Map.Entry<String, Tag> entry : compoundTag.entrySet()) {
+                out.writeByte(entry.getValue().getTagId());
+                writeString(out, entry.getKey());
+                writeTag(out, entry.getValue());
+            }
+            out.writeByte(0);
+        } else if (tag instanceof IntArrayTag intArrayTag) {
+            out.writeInt(intArrayTag.getValue().length);
+            for (final int value : intArrayTag.getValue()) {
+                out.writeInt(value);
+            }
+        } else if (tag instanceof LongArrayTag longArrayTag) {
+            out.writeInt(longArrayTag.getValue().length);
+            for (final long value : longArrayTag.getValue()) {
+                out.writeLong(value);
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported tag " + tag.getClass().getSimpleName());
+        }
+    }
+
+    private static void writeString(final DataOutputStream out, final String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+}
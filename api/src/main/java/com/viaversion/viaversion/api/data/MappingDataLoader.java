@@ -47,11 +47,17 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -64,6 +70,7 @@ public class MappingDataLoader {
     private static final byte SHIFTS_ID = 1;
     private static final byte CHANGES_ID = 2;
     private static final byte IDENTITY_ID = 3;
+    private static final String CACHE_DIRECTORY = "cache";
 
     private final Map<String, CompoundTag> mappingsCache = new HashMap<>();
     private final Class<?> dataLoaderClass;
@@ -178,6 +185,13 @@ public class MappingDataLoader {
     }
 
     public @Nullable CompoundTag loadNBTFromFile(final String name) {
+        if (cacheMappings()) {
+            return loadNBTFromBinaryCache(name);
+        }
+        return loadNBTFromResource(name);
+    }
+
+    private @Nullable CompoundTag loadNBTFromResource(final String name) {
         final InputStream resource = getResource(name);
         if (resource == null) {
             return null;
@@ -190,7 +204,116 @@ public class MappingDataLoader {
         }
     }
 
+    /**
+     * Loads the file from the binary cache in the data folder if it has been created from the current resource,
+     * else parses the bundled resource and writes it to the cache.
+     * <p>
+     * Mappings are returned in their expanded form in both cases.
+     *
+     * @param name file name
+     * @return loaded tag, or null if not found
+     */
+    private @Nullable CompoundTag loadNBTFromBinaryCache(final String name) {
+        final long key;
+        try {
+            final Long resourceKey = resourceKey(name);
+            if (resourceKey == null) {
+                return null;
+            }
+            key = resourceKey;
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        final Path cacheFile = getDataFolder().toPath().resolve(CACHE_DIRECTORY).resolve(name + ".bin");
+        try {
+            final CompoundTag cached = BinaryMappingCache.read(cacheFile, key);
+            if (cached != null) {
+                return cached;
+            }
+        } catch (final IOException e) {
+            getLogger().log(Level.WARNING, "Failed to read mapping cache for " + name + ", recreating it", e);
+        }
+
+        final CompoundTag tag = loadNBTFromResource(name);
+        if (tag != null) {
+            // Store mappings in their expanded form, so they don't have to be rebuilt on every load
+            expandMappings(tag);
+            try {
+                BinaryMappingCache.write(cacheFile, key, tag);
+            } catch (final IOException e) {
+                getLogger().log(Level.WARNING, "Failed to write mapping cache for " + name, e);
+            }
+        }
+        return tag;
+    }
+
+    /**
+     * Returns a key of the bundled resource's contents, used to recreate outdated cache files.
+     * For resources inside a jar, this is the size and CRC stored in the jar entry, so the resource itself is not read.
+     *
+     * @param name file name
+     * @return key of the resource, or null if not found
+     * @throws IOException if reading the resource fails
+     */
+    private @Nullable Long resourceKey(final String name) throws IOException {
+        final URL url = dataLoaderClass.getClassLoader().getResource(dataPath + name);
+        if (url == null) {
+            return null;
+        }
+
+        final URLConnection connection = url.openConnection();
+        if (connection instanceof JarURLConnection jarConnection) {
+            final JarEntry entry = jarConnection.getJarEntry();
+            if (entry.getCrc() != -1 && entry.getSize() != -1) {
+                return entry.getSize() << 32 | entry.getCrc();
+            }
+        }
+
+        // Not packed into a jar, e.g. in a development environment
+        try (final InputStream resource = connection.getInputStream()) {
+            return BinaryMappingCache.hash(resource);
+        }
+    }
+
+    private void expandMappings(final CompoundTag tag) {
+        for (final Map.Entry<String, Tag> entry : tag.entrySet()) {
+            if (!(entry.getValue() instanceof CompoundTag compoundTag)) {
+                continue;
+            }
+
+            if (!(compoundTag.get("id") instanceof ByteTag strategyTag) || !(compoundTag.get("mappedSize") instanceof IntTag mappedSizeTag)
+                || (strategyTag.asByte() != SHIFTS_ID && strategyTag.asByte() != CHANGES_ID)) {
+                expandMappings(compoundTag);
+                continue;
+            }
+            if (compoundTag.contains("nofill")) {
+                // Only the listed ids are mapped, which can't be distinguished from ids mapped to -1 in a direct array
+                continue;
+            }
+
+            final int[][] values = new int[1][];
+            loadMappings(tag, entry.getKey(), size -> {
+                final int[] array = new int[size];
+                Arrays.fill(array, -1);
+                return values[0] = array;
+            }, (array, id, mappedId) -> array[id] = mappedId, IntArrayMappings::of);
+
+            final CompoundTag directTag = new CompoundTag();
+            directTag.putByte("id", DIRECT_ID);
+            directTag.putInt("mappedSize", mappedSizeTag.asInt());
+            directTag.putIntArray("val", values[0]);
+            entry.setValue(directTag);
+        }
+    }
+
     public @Nullable Mappings loadMappings(final CompoundTag mappingsTag, final String key) {
+        final CompoundTag tag = mappingsTag.getCompoundTag(key);
+        if (tag != null && tag.get("id") instanceof ByteTag strategyTag && strategyTag.asByte() == DIRECT_ID) {
+            // Use the array as is
+            final IntTag mappedSizeTag = tag.getUnchecked("mappedSize");
+            return IntArrayMappings.of(tag.getIntArrayTag("val").getValue(), mappedSizeTag.asInt());
+        }
         return loadMappings(mappingsTag, key, size -> {
             final int[] array = new int[size];
             Arrays.fill(array, -1);
@@ -217,7 +340,11 @@ public class MappingDataLoader {
         final V mappings;
         if (strategy == DIRECT_ID) {
             final IntArrayTag valuesTag = tag.getIntArrayTag("val");
-            return IntArrayMappings.of(valuesTag.getValue(), mappedSizeTag.asInt());
+            final int[] values = valuesTag.getValue();
+            mappings = holderSupplier.get(values.length);
+            for (int id = 0; id < values.length; id++) {
+                addConsumer.addTo(mappings, id, values[id]);
+            }
         } else if (strategy == SHIFTS_ID) {
             final IntArrayTag shiftsAtTag = tag.getIntArrayTag("at");
             final IntArrayTag shiftsTag = tag.getIntArrayTag("to");
@@ -318,6 +445,15 @@ public class MappingDataLoader {
         return map;
     }
 
+    /**
+     * Returns whether mapping files should be read from and written to the binary cache.
+     *
+     * @return whether the binary mapping cache is enabled
+     */
+    protected boolean cacheMappings() {
+        return Via.getConfig().cacheMappings();
+    }
+
     public Logger getLogger() {
         return Via.getPlatform().getLogger();
     }
@@ -0,0 +1,79 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.api.debug;
+
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import io.netty.buffer.ByteBuf;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+final class DisabledPacketCapture implements PacketCapture {
+
+    static final PacketCapture INSTANCE = new DisabledPacketCapture();
+
+    private DisabledPacketCapture() {
+    }
+
+    @Override
+    public boolean enabled() {
+        return false;
+    }
+
+    @Override
+    public void start(final Path file, @Nullable final UUID player) {
+        throw new IllegalStateException("Packet capturing is not supported on this platform");
+    }
+
+    @Override
+    public @Nullable CompletableFuture<Path> stop() {
+        return null;
+    }
+
+    @Override
+    public boolean shouldCapture(final UserConnection connection) {
+        return false;
+    }
+
+    @Override
+    public int captureInput(final UserConnection connection, final Direction direction, final State state, final ByteBuf buf) {
+        return -1;
+    }
+
+    @Override
+    public void captureOutput(final UserConnection connection, final int captureId, @Nullable final ByteBuf buf) {
+    }
+
+    @Override
+    public long capturedPackets() {
+        return 0;
+    }
+
+    @Override
+    public long droppedPackets() {
+        return 0;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.api.debug;
+
+import com.viaversion.viaversion.api.protocol.Protocol;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import java.util.ArrayList;
+import java.util.List;
+
+final class DisabledTransformMetrics implements TransformMetrics {
+
+    static final TransformMetrics INSTANCE = new DisabledTransformMetrics();
+
+    private DisabledTransformMetrics() {
+    }
+
+    @Override
+    public boolean enabled() {
+        return false;
+    }
+
+    @Override
+    public void setEnabled(final boolean enabled) {
+    }
+
+    @Override
+    public void recordTransform(final Class<? extends Protocol> protocol, final Direction direction, final State state, final int packetId, final long nanos, final boolean cancelled) {
+    }
+
+    @Override
+    public void recordPipelineTransform(final Direction direction, final State state, final int packetId, final long nanos, final boolean cancelled, final int bytesIn, final int bytesOut) {
+    }
+
+    @Override
+    public List<Entry> entries() {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public void reset() {
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.api.debug;
+
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import io.netty.buffer.ByteBuf;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Opt-in capture of raw packet bytes before and after transformation into a binary file.
+ * <p>
+ * Packets are copied into per-thread ring buffers and written to the file by a background thread,
+ * packets that do not fit into a full buffer are dropped instead of blocking the event loop.
+ */
+public interface PacketCapture {
+
+    /**
+     * Returns a packet capture that is never enabled, for platforms not supporting packet capturing.
+     *
+     * @return disabled packet capture
+     */
+    static PacketCapture disabled() {
+        return DisabledPacketCapture.INSTANCE;
+    }
+
+    /**
+     * Returns whether a capture is running.
+     *
+     * @return whether a capture is running
+     */
+    boolean enabled();
+
+    /**
+     * Starts capturing packets into the given file, replacing it if it exists.
+     *
+     * @param file   file to write to
+     * @param player uuid of the only player to capture, or null to capture all connections
+     * @throws IOException           if the file could not be opened
+     * @throws IllegalStateException if a capture is already running or capturing is not supported
+     */
+    void start(Path file, @Nullable UUID player) throws IOException;
+
+    /**
+     * Stops the running capture. Remaining packets are written out and the file is closed in the background.
+     *
+     * @return future completed with the written file once it is closed, or null if no capture was running
+     */
+    @Nullable CompletableFuture<Path> stop();
+
+    /**
+     * Returns whether packets of the given connection should be captured.
+     *
+     * @param connection user connection
+     * @return whether packets of the connection should be captured
+     */
+    boolean shouldCapture(UserConnection connection);
+
+    /**
+     * Captures a packet before transformation.
+     *
+     * @param connection user connection
+     * @param direction  packet direction
+     * @param state      protocol state
+     * @param buf        packet buffer, its reader index is not modified
+     * @return id to pass to {@link #captureOutput(UserConnection, int, ByteBuf)}
+     */
+    int captureInput(UserConnection connection, Direction direction, State state, ByteBuf buf);
+
+    /**
+     * Captures the result of a packet transformation.
+     *
+     * @param connection user connection
+     * @param captureId  id returned by {@link #captureInput(UserConnection, Direction, State, ByteBuf)}
+     * @param buf        transformed packet buffer, or null if the packet was cancelled or failed to transform
+     */
+    void captureOutput(UserConnection connection, int captureId, @Nullable ByteBuf buf);
+
+    /**
+     * Returns the number of packets captured by the running or last capture.
+     *
+     * @return number of captured packets
+     */
+    long capturedPackets();
+
+    /**
+     * Returns the number of packets dropped by the running or last capture due to full buffers.
+     *
+     * @return number of dropped packets
+     */
+    long droppedPackets();
+}
@@ -0,0 +1,105 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.api.debug;
+
+import com.viaversion.viaversion.api.protocol.Protocol;
+import com.viaversion.viaversion.api.protocol.ProtocolPipeline;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import java.util.List;
+
+/**
+ * Opt-in timing metrics of packet transformation, grouped by protocol, direction, state, and unmapped packet id.
+ * <p>
+ * Full pipeline transformations are recorded under {@link ProtocolPipeline}, together with the bytes read and written.
+ */
+public interface TransformMetrics {
+
+    /**
+     * Returns transform metrics that are never enabled, for platforms not supporting them.
+     *
+     * @return disabled transform metrics
+     */
+    static TransformMetrics disabled() {
+        return DisabledTransformMetrics.INSTANCE;
+    }
+
+    /**
+     * Returns whether metrics are being recorded.
+     *
+     * @return whether metrics are being recorded
+     */
+    boolean enabled();
+
+    /**
+     * Sets whether metrics should be recorded. Has no effect on disabled metrics.
+     *
+     * @param enabled whether metrics should be recorded
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * Records a single packet transformation of a protocol.
+     *
+     * @param protocol  protocol class
+     * @param direction packet direction
+     * @param state     protocol state
+     * @param packetId  unmapped packet id
+     * @param nanos     time spent transforming the packet
+     * @param cancelled whether the packet was cancelled
+     */
+    void recordTransform(Class<? extends Protocol> protocol, Direction direction, State state, int packetId, long nanos, boolean cancelled);
+
+    /**
+     * Records a full packet transformation through the protocol pipeline.
+     *
+     * @param direction packet direction
+     * @param state     protocol state
+     * @param packetId  unmapped packet id
+     * @param nanos     time spent transforming the packet
+     * @param cancelled whether the packet was cancelled
+     * @param bytesIn   size of the packet before transformation
+     * @param bytesOut  size of the packet after transformation, 0 if cancelled
+     */
+    void recordPipelineTransform(Direction direction, State state, int packetId, long nanos, boolean cancelled, int bytesIn, int bytesOut);
+
+    /**
+     * Returns a snapshot of all recorded entries.
+     *
+     * @return snapshot of all recorded entries
+     */
+    List<Entry> entries();
+
+    /**
+     * Clears all recorded entries.
+     */
+    void reset();
+
+    record Entry(Class<? extends Protocol> protocol, Direction direction, State state, int packetId,
+                 long invocations, long nanos, long cancels, long bytesIn, long bytesOut) {
+
+        public long averageNanos() {
+            return invocations != 0 ? nanos / invocations : 0;
+        }
+    }
+}
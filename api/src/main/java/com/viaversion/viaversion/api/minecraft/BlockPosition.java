@@ -53,6 +53,27 @@ public class BlockPosition {
         return new GlobalBlockPosition(dimension, x, y, z);
     }
 
+    /**
+     * Returns a long key for this block position.
+     *
+     * @return the block key
+     */
+    public long blockKey() {
+        return blockKey(x, y, z);
+    }
+
+    /**
+     * Returns a long key for the given block coordinates, packed the same way as positions are on the network since 1.14.
+     *
+     * @param x the block X coordinate
+     * @param y the block Y coordinate
+     * @param z the block Z coordinate
+     * @return the block key
+     */
+    public static long blockKey(final int x, final int y, final int z) {
+        return ((x & 0x3FFFFFFL) << 38) | ((z & 0x3FFFFFFL) << 12) | (y & 0xFFFL);
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) return true;
@@ -0,0 +1,132 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.api.minecraft;
+
+import com.viaversion.nbt.limiter.TagLimiter;
+import com.viaversion.nbt.tag.CompoundTag;
+import com.viaversion.viaversion.api.type.types.misc.NamedCompoundTagType;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.Unpooled;
+import java.io.IOException;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Compound tag kept in its serialized form until it is first accessed.
+ * <p>
+ * As long as {@link #tag()} has not been called, the original bytes are written back verbatim.
+ * Once accessed, the tag may have been modified and is serialized again.
+ */
+public final class LazyCompoundTag {
+
+    private byte @Nullable [] payload;
+    private @Nullable CompoundTag tag;
+
+    private LazyCompoundTag(final byte @Nullable [] payload, final @Nullable CompoundTag tag) {
+        this.payload = payload;
+        this.tag = tag;
+    }
+
+    /**
+     * Returns a lazy compound tag from the serialized compound payload, excluding the root tag id and name.
+     *
+     * @param payload serialized compound payload
+     * @return lazy compound tag
+     */
+    public static LazyCompoundTag ofPayload(final byte[] payload) {
+        return new LazyCompoundTag(payload, null);
+    }
+
+    public static LazyCompoundTag of(final CompoundTag tag) {
+        return new LazyCompoundTag(null, tag);
+    }
+
+    /**
+     * Returns the tag, parsing it on first access.
+     *
+     * @return compound tag
+     */
+    public CompoundTag tag() {
+        if (tag == null) {
+            final ByteBuf buffer = Unpooled.wrappedBuffer(payload);
+            try {
+                final TagLimiter tagLimiter = TagLimiter.create(NamedCompoundTagType.MAX_NBT_BYTES, NamedCompoundTagType.MAX_NESTING_LEVEL);
+                tag = CompoundTag.read(new ByteBufInputStream(buffer), tagLimiter, 0);
+            } catch (final IOException e) {
+                throw new RuntimeException(e);
+            } finally {
+                buffer.release();
+            }
+            payload = null;
+        }
+        return tag;
+    }
+
+    /**
+     * Returns whether the tag has been parsed or was created from a tag, meaning it will be serialized again when written.
+     *
+     * @return whether the tag has been parsed
+     */
+    public boolean isParsed() {
+        return payload == null;
+    }
+
+    /**
+     * Returns the serialized compound payload if the tag has not been parsed yet. The returned array must not be modified.
+     *
+     * @return serialized compound payload, or null if parsed
+     */
+    public byte @Nullable [] payload() {
+        return payload;
+    }
+
+    /**
+     * Writes the tag including its root tag id.
+     *
+     * @param buffer buffer to write to
+     * @param named  whether to write an empty root name
+     */
+    public void write(final ByteBuf buffer, final boolean named) {
+        if (payload == null) {
+            try {
+                NamedCompoundTagType.write(buffer, tag, named ? "" : null);
+            } catch (final IOException e) {
+                throw new RuntimeException(e);
+            }
+            return;
+        }
+
+        buffer.writeByte(CompoundTag.ID);
+        if (named) {
+            buffer.writeShort(0);
+        }
+        buffer.writeBytes(payload);
+    }
+
+    @Override
+    public String toString() {
+        return "LazyCompoundTag{" +
+            (payload != null ? "payload=" + payload.length + " bytes" : "tag=" + tag) +
+            '}';
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.api.minecraft.chunks;
+
+import com.viaversion.viaversion.util.CompactArrayUtil;
+import it.unimi.dsi.fastutil.ints.IntList;
+import java.util.function.IntUnaryOperator;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Data palette keeping the packed values as they were read, only unpacking them once single values are
+ * accessed or changed. Operations on the palette itself do not require unpacking, so the packed values can be
+ * written back as is if only palette entries are remapped.
+ * <p>
+ * Without palette ids, the packed values are global ids, which can be remapped in place using
+ * {@link #remapGlobalIds(IntUnaryOperator, int)}.
+ */
+public final class PackedDataPalette implements DataPalette {
+
+    private final IntList palette;
+    private final int valuesLength;
+    private final int sizeBits;
+    private int bitsPerValue;
+    private long @Nullable [] packedValues;
+    private DataPaletteImpl unpacked;
+
+    /**
+     * Creates a new palette over values packed with padding.
+     *
+     * @param valuesLength number of values
+     * @param bitsPerValue bits per packed value
+     * @param paletteIds   palette ids, or null if the packed values are global ids
+     * @param packedValues packed values, padded to not span multiple longs
+     */
+    public PackedDataPalette(final int valuesLength, final int bitsPerValue, @Nullable final IntList paletteIds, final long[] packedValues) {
+        this.valuesLength = valuesLength;
+        this.sizeBits = Integer.numberOfTrailingZeros(valuesLength) / 3;
+        this.bitsPerValue = bitsPerValue;
+        this.palette = paletteIds;
+        this.packedValues = packedValues;
+    }
+
+    /**
+     * Returns the bits per value of the packed values.
+     *
+     * @return bits per value of the packed values
+     */
+    public int bitsPerValue() {
+        return bitsPerValue;
+    }
+
+    /**
+     * Returns whether the packed values are global ids rather than palette indexes.
+     *
+     * @return whether the packed values are global ids
+     */
+    public boolean global() {
+        return palette == null;
+    }
+
+    /**
+     * Returns the packed values if they have not been unpacked and still fit the palette.
+     *
+     * @return packed values if still valid, else null
+     */
+    public long @Nullable [] packedValues() {
+        if (unpacked == null && palette != null && palette.size() > 1 << bitsPerValue) {
+            // Added too many ids to be able to reuse the packed values
+            unpack();
+        }
+        return unpacked == null ? packedValues : null;
+    }
+
+    /**
+     * Remaps the packed global ids in a single pass, repacking them if the target bits per value differ.
+     *
+     * @param mapper             id mapper
+     * @param targetBitsPerValue bits per value of the mapped ids
+     * @return true if the ids were remapped, false if this palette is not global or has already been unpacked
+     */
+    public boolean remapGlobalIds(final IntUnaryOperator mapper, final int targetBitsPerValue) {
+        if (palette != null || unpacked != null) {
+            return false;
+        }
+
+        final long[] values = this.packedValues;
+        final int valuesPerLong = 64 / bitsPerValue;
+        final int mappedValuesPerLong = 64 / targetBitsPerValue;
+        final long mask = (1L << bitsPerValue) - 1;
+        final long mappedMask = (1L << targetBitsPerValue) - 1;
+        // Values are always read before their long is overwritten, so the same bits can be remapped in place
+        final long[] mappedValues = targetBitsPerValue == bitsPerValue
+            ? values : new long[(valuesLength + mappedValuesPerLong - 1) / mappedValuesPerLong];
+
+        long value = values[0];
+        long mappedValue = 0;
+        int cellIndex = 0;
+        int slot = 0;
+        int mappedCellIndex = 0;
+        int mappedSlot = 0;
+        for (int i = 0; i < valuesLength; i++) {
+            final int id = (int) (value >>> slot * bitsPerValue & mask);
+            mappedValue |= (mapper.applyAsInt(id) & mappedMask) << mappedSlot * targetBitsPerValue;
+
+            if (++slot == valuesPerLong) {
+                slot = 0;
+                if (++cellIndex < values.length) {
+                    value = values[cellIndex];
+                }
+            }
+            if (++mappedSlot == mappedValuesPerLong) {
+                mappedValues[mappedCellIndex++] = mappedValue;
+                mappedValue = 0;
+                mappedSlot = 0;
+            }
+        }
+        if (mappedSlot != 0) {
+            mappedValues[mappedCellIndex] = mappedValue;
+        }
+
+        this.packedValues = mappedValues;
+        this.bitsPerValue = targetBitsPerValue;
+        return true;
+    }
+
+    private DataPaletteImpl unpacked() {
+        if (unpacked == null) {
+            unpack();
+        }
+        return unpacked;
+    }
+
+    private void unpack() {
+        final DataPaletteImpl palette;
+        if (this.palette != null) {
+            palette = new DataPaletteImpl(valuesLength, this.palette.size());
+            for (int i = 0; i < this.palette.size(); i++) {
+                palette.addId(this.palette.getInt(i));
+            }
+            CompactArrayUtil.iterateCompactArrayWithPadding(bitsPerValue, valuesLength, packedValues, palette::setPaletteIndexAt);
+        } else {
+            palette = new DataPaletteImpl(valuesLength);
+            CompactArrayUtil.iterateCompactArrayWithPadding(bitsPerValue, valuesLength, packedValues, palette::setIdAt);
+        }
+        this.unpacked = palette;
+        this.packedValues = null;
+    }
+
+    @Override
+    public int index(final int x, final int y, final int z) {
+        return (y << this.sizeBits | z) << this.sizeBits | x;
+    }
+
+    @Override
+    public int idAt(final int sectionCoordinate) {
+        return unpacked().idAt(sectionCoordinate);
+    }
+
+    @Override
+    public void setIdAt(final int sectionCoordinate, final int id) {
+        unpacked().setIdAt(sectionCoordinate, id);
+    }
+
+    @Override
+    public int paletteIndexAt(final int packedCoordinate) {
+        return unpacked().paletteIndexAt(packedCoordinate);
+    }
+
+    @Override
+    public void setPaletteIndexAt(final int sectionCoordinate, final int index) {
+        unpacked().setPaletteIndexAt(sectionCoordinate, index);
+    }
+
+    @Override
+    public int idByIndex(final int index) {
+        return unpacked != null || palette == null ? unpacked().idByIndex(index) : palette.getInt(index);
+    }
+
+    @Override
+    public void setIdByIndex(final int index, final int id) {
+        if (unpacked != null || palette == null) {
+            unpacked().setIdByIndex(index, id);
+        } else {
+            palette.set(index, id);
+        }
+    }
+
+    @Override
+    public void addId(final int id) {
+        if (unpacked != null || palette == null) {
+            unpacked().addId(id);
+        } else {
+            palette.add(id);
+        }
+    }
+
+    @Override
+    public void replaceId(final int oldId, final int newId) {
+        if (unpacked != null || palette == null) {
+            unpacked().replaceId(oldId, newId);
+            return;
+        }
+
+        for (int i = 0; i < palette.size(); i++) {
+            if (palette.getInt(i) == oldId) {
+                palette.set(i, newId);
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return unpacked != null || palette == null ? unpacked().size() : palette.size();
+    }
+
+    @Override
+    public void clear() {
+        // The packed indexes would refer to the cleared palette, so drop them the same way as when unpacking
+        unpacked().clear();
+    }
+}
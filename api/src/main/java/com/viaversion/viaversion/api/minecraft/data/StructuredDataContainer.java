@@ -28,11 +28,17 @@ import com.viaversion.viaversion.api.data.FullMappings;
 import com.viaversion.viaversion.api.protocol.Protocol;
 import com.viaversion.viaversion.util.Unit;
 import it.unimi.dsi.fastutil.ints.Int2IntFunction;
-import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectArrayMap;
 import java.util.Map;
 import java.util.function.Function;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+/**
+ * Container of an item's data components.
+ * <p>
+ * Items rarely hold more than a few components, so the data is stored in a compact array map by default.
+ * Lookups compare keys by identity, so data must always be accessed with the constant keys in {@link StructuredDataKey}.
+ */
 public final class StructuredDataContainer {
 
     private final Map<StructuredDataKey<?>, StructuredData<?>> data;
@@ -44,14 +50,14 @@ public final class StructuredDataContainer {
     }
 
     public StructuredDataContainer(final StructuredData<?>[] dataArray) {
-        this(new Reference2ObjectOpenHashMap<>(dataArray.length));
+        this(new Reference2ObjectArrayMap<>(dataArray.length));
         for (final StructuredData<?> data : dataArray) {
             this.data.put(data.key(), data);
         }
     }
 
     public StructuredDataContainer() {
-        this(new Reference2ObjectOpenHashMap<>());
+        this(new Reference2ObjectArrayMap<>());
     }
 
     /**
@@ -191,7 +197,7 @@ public final class StructuredDataContainer {
     }
 
     public StructuredDataContainer copy() {
-        final StructuredDataContainer copy = new StructuredDataContainer(new Reference2ObjectOpenHashMap<>(data));
+        final StructuredDataContainer copy = new StructuredDataContainer(new Reference2ObjectArrayMap<>(data));
         copy.lookup = this.lookup;
         return copy;
     }
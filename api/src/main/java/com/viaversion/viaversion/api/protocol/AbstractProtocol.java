@@ -26,6 +26,7 @@ import com.google.common.base.Preconditions;
 import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.connection.UserConnection;
 import com.viaversion.viaversion.api.data.entity.EntityTracker;
+import com.viaversion.viaversion.api.debug.TransformMetrics;
 import com.viaversion.viaversion.api.protocol.packet.ClientboundPacketType;
 import com.viaversion.viaversion.api.protocol.packet.Direction;
 import com.viaversion.viaversion.api.protocol.packet.PacketType;
@@ -44,6 +45,9 @@ import com.viaversion.viaversion.exception.CancelException;
 import com.viaversion.viaversion.exception.InformativeException;
 import com.viaversion.viaversion.util.ProtocolLogger;
 import com.viaversion.viaversion.util.ProtocolUtil;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.BiConsumer;
@@ -71,7 +75,11 @@ public abstract class AbstractProtocol<CU extends ClientboundPacketType, CM exte
     protected final PacketMappings clientboundMappings;
     protected final PacketMappings serverboundMappings;
     private final Map<Class<?>, Object> storedObjects = new HashMap<>();
+    private final Map<State, Int2ObjectMap<PacketHandler>> connectionIndependentHandlers = new EnumMap<>(State.class);
     private boolean initialized;
+    private boolean packetsRegistered;
+    private boolean passthroughPacketIds;
+    private boolean defaultTransform;
     private ProtocolLogger logger;
 
     @Deprecated
@@ -98,6 +106,8 @@ public abstract class AbstractProtocol<CU extends ClientboundPacketType, CM exte
     public final void initialize() {
         Preconditions.checkArgument(!initialized, "Protocol has already been initialized");
         initialized = true;
+        passthroughPacketIds = hasConsistentPassthroughPacketIds();
+        defaultTransform = hasDefaultTransform();
 
         // Create logger if protocol does not have one
         if (getLogger() == null) {
@@ -125,6 +135,7 @@ public abstract class AbstractProtocol<CU extends ClientboundPacketType, CM exte
                 this::registerServerbound
             );
         }
+        packetsRegistered = true;
     }
 
     protected void registerConfigurationChangeHandlers() {
@@ -157,6 +168,7 @@ public abstract class AbstractProtocol<CU extends ClientboundPacketType, CM exte
         final PacketMapping mapping = clientboundMappings.mappedPacket(type.state(), type.getId());
         if (mapping != null) {
             mapping.appendHandler(handler);
+            onPacketMappingChange();
         } else {
             registerClientbound(type, handler);
         }
@@ -167,6 +179,7 @@ public abstract class AbstractProtocol<CU extends ClientboundPacketType, CM exte
         final PacketMapping mapping = serverboundMappings.mappedPacket(type.state(), type.getId());
         if (mapping != null) {
             mapping.appendHandler(handler);
+            onPacketMappingChange();
         } else {
             registerServerbound(type, handler);
         }
@@ -283,6 +296,7 @@ public abstract class AbstractProtocol<CU extends ClientboundPacketType, CM exte
                 " If this override is intentional, set override to true. Stacktrace: ", new Exception());
         }
         serverboundMappings.addMapping(state, unmappedPacketId, packetMapping);
+        onPacketMappingChange();
     }
 
     @Override
@@ -299,6 +313,7 @@ public abstract class AbstractProtocol<CU extends ClientboundPacketType, CM exte
                 " If override is intentional, set override to true. Stacktrace: ", new Exception());
         }
         clientboundMappings.addMapping(state, unmappedPacketId, packetMapping);
+        onPacketMappingChange();
     }
 
     @Override
@@ -360,6 +375,14 @@ public abstract class AbstractProtocol<CU extends ClientboundPacketType, CM exte
                 " If override is intentional, set override to true. Stacktrace: ", new Exception());
         }
         packetMappings.addMapping(packetType, packetMapping);
+        onPacketMappingChange();
+    }
+
+    private void onPacketMappingChange() {
+        if (packetsRegistered) {
+            // Packets may already be transformed with the previous mappings
+            Via.getManager().getProtocolManager().onPacketMappingChange(this);
+        }
     }
 
     private static <U extends PacketType, M extends PacketType> M mappedPacketType(U packetType, PacketTypeMap<M> mappedTypes, Class<U> unmappedPacketTypeClass, Class<M> mappedPacketTypeClass) {
@@ -378,6 +401,24 @@ public abstract class AbstractProtocol<CU extends ClientboundPacketType, CM exte
         throw new IllegalArgumentException("Packet type " + packetType + " in " + packetType.getClass().getSimpleName() + " could not be automatically mapped!");
     }
 
+    /**
+     * Marks the currently registered handlers of the given packet types as only depending on the packet contents.
+     * They may not read or modify connection storages or trackers, and may not send other packets.
+     * Handlers registered or appended afterwards are not covered by this.
+     *
+     * @param packetTypes unmapped packet types
+     * @see #isConnectionIndependent(Direction, State, int)
+     */
+    @SafeVarargs
+    protected final void registerConnectionIndependentClientbound(final CU... packetTypes) {
+        for (final CU packetType : packetTypes) {
+            final PacketMapping packetMapping = clientboundMappings.mappedPacket(packetType.state(), packetType.getId());
+            Preconditions.checkArgument(packetMapping != null && packetMapping.handler() != null, "Packet type %s has no handler", packetType);
+            connectionIndependentHandlers.computeIfAbsent(packetType.state(), state -> new Int2ObjectOpenHashMap<>())
+                .put(packetType.getId(), packetMapping.handler());
+        }
+    }
+
     @Override
     public boolean hasRegisteredClientbound(State state, int unmappedPacketId) {
         return clientboundMappings.hasMapping(state, unmappedPacketId);
@@ -401,6 +442,9 @@ public abstract class AbstractProtocol<CU extends ClientboundPacketType, CM exte
         packetMapping.applyType(packetWrapper);
         PacketHandler handler = packetMapping.handler();
         if (handler != null) {
+            final TransformMetrics metrics = Via.getManager().transformMetrics();
+            final boolean recordMetrics = metrics.enabled();
+            final long start = recordMetrics ? System.nanoTime() : 0L;
             try {
                 handler.handle(packetWrapper);
             } catch (InformativeException e) {
@@ -415,12 +459,80 @@ public abstract class AbstractProtocol<CU extends ClientboundPacketType, CM exte
                 throw ex;
             }
 
+            if (recordMetrics) {
+                metrics.recordTransform(getClass(), direction, state, unmappedId, System.nanoTime() - start, packetWrapper.isCancelled());
+            }
             if (packetWrapper.isCancelled()) {
                 throw CancelException.generate();
             }
         }
     }
 
+    @Override
+    public int mappedPassthroughPacketId(final Direction direction, final State state, final int unmappedId) {
+        if (!passthroughPacketIds) {
+            return TRANSFORM_PACKET;
+        }
+
+        final PacketMappings mappings = direction == Direction.CLIENTBOUND ? clientboundMappings : serverboundMappings;
+        final PacketMapping packetMapping = mappings.mappedPacket(state, unmappedId);
+        if (packetMapping == null) {
+            return unmappedId;
+        }
+        return packetMapping.handler() == null ? packetMapping.mappedPacketId(unmappedId) : TRANSFORM_PACKET;
+    }
+
+    @Override
+    public @Nullable PacketType mappedPassthroughPacketType(final Direction direction, final State state, final int unmappedId) {
+        final PacketMappings mappings = direction == Direction.CLIENTBOUND ? clientboundMappings : serverboundMappings;
+        final PacketMapping packetMapping = mappings.mappedPacket(state, unmappedId);
+        return packetMapping != null ? packetMapping.mappedPacketType() : null;
+    }
+
+    @Override
+    public boolean isConnectionIndependent(final Direction direction, final State state, final int unmappedId) {
+        if (mappedPassthroughPacketId(direction, state, unmappedId) != TRANSFORM_PACKET) {
+            // Nothing but the id is changed
+            return true;
+        }
+        if (direction != Direction.CLIENTBOUND || !defaultTransform) {
+            return false;
+        }
+
+        final Int2ObjectMap<PacketHandler> handlers = connectionIndependentHandlers.get(state);
+        if (handlers == null) {
+            return false;
+        }
+
+        // Only valid as long as the handler has not been replaced or appended to
+        final PacketMapping packetMapping = clientboundMappings.mappedPacket(state, unmappedId);
+        return packetMapping != null && packetMapping.handler() != null && packetMapping.handler() == handlers.get(unmappedId);
+    }
+
+    /**
+     * Returns whether {@link #mappedPassthroughPacketId(Direction, State, int)} is declared at least as far down
+     * the class hierarchy as {@link #transform(Direction, State, PacketWrapper)}, meaning it accounts for custom transformation.
+     *
+     * @return whether the passthrough packet ids can be used instead of full transformation
+     */
+    private boolean hasConsistentPassthroughPacketIds() {
+        try {
+            final Class<?> transformClass = getClass().getMethod("transform", Direction.class, State.class, PacketWrapper.class).getDeclaringClass();
+            final Class<?> passthroughClass = getClass().getMethod("mappedPassthroughPacketId", Direction.class, State.class, int.class).getDeclaringClass();
+            return transformClass.isAssignableFrom(passthroughClass);
+        } catch (final NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private boolean hasDefaultTransform() {
+        try {
+            return getClass().getMethod("transform", Direction.class, State.class, PacketWrapper.class).getDeclaringClass() == AbstractProtocol.class;
+        } catch (final NoSuchMethodException e) {
+            return false;
+        }
+    }
+
     @Override
     public ProtocolLogger getLogger() {
         return logger;
@@ -28,6 +28,7 @@ import com.viaversion.viaversion.api.data.MappingData;
 import com.viaversion.viaversion.api.platform.providers.ViaProviders;
 import com.viaversion.viaversion.api.protocol.packet.ClientboundPacketType;
 import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.PacketType;
 import com.viaversion.viaversion.api.protocol.packet.PacketWrapper;
 import com.viaversion.viaversion.api.protocol.packet.ServerboundPacketType;
 import com.viaversion.viaversion.api.protocol.packet.State;
@@ -55,6 +56,11 @@ import org.checkerframework.checker.nullness.qual.Nullable;
  */
 public interface Protocol<CU extends ClientboundPacketType, CM extends ClientboundPacketType, SM extends ServerboundPacketType, SU extends ServerboundPacketType> {
 
+    /**
+     * Returned by {@link #mappedPassthroughPacketId(Direction, State, int)} if a packet needs full transformation.
+     */
+    int TRANSFORM_PACKET = -1;
+
     default void registerClientbound(State state, ClientboundPacketType packetType, @Nullable PacketHandler handler) {
         Preconditions.checkArgument(packetType.state() == state);
         registerClientbound(state, packetType.getId(), packetType.getId(), handler, false);
@@ -266,6 +272,49 @@ public interface Protocol<CU extends ClientboundPacketType, CM extends Clientbou
      */
     void transform(Direction direction, State state, PacketWrapper packetWrapper) throws InformativeException, CancelException;
 
+    /**
+     * Returns the id the given packet is mapped to if this protocol does nothing other than changing its id,
+     * or {@link #TRANSFORM_PACKET} if it has to be passed through {@link #transform(Direction, State, PacketWrapper)}.
+     * Packets without any mapping return the unchanged id.
+     * <p>
+     * Implementations overriding {@link #transform(Direction, State, PacketWrapper)} need to override this
+     * method as well to take their custom transformation into account.
+     *
+     * @param direction  direction the packet is going in
+     * @param state      current protocol state
+     * @param unmappedId unmapped packet id
+     * @return mapped packet id if only the id is changed, else {@link #TRANSFORM_PACKET}
+     */
+    default int mappedPassthroughPacketId(Direction direction, State state, int unmappedId) {
+        return TRANSFORM_PACKET;
+    }
+
+    /**
+     * Returns the packet type set on packets that are only passed through this protocol,
+     * see {@link #mappedPassthroughPacketId(Direction, State, int)}.
+     *
+     * @param direction  direction the packet is going in
+     * @param state      current protocol state
+     * @param unmappedId unmapped packet id
+     * @return mapped packet type, or null if the packet is not mapped by type
+     */
+    default @Nullable PacketType mappedPassthroughPacketType(Direction direction, State state, int unmappedId) {
+        return null;
+    }
+
+    /**
+     * Returns whether transforming the given packet only depends on its contents and not on the connection,
+     * such as its storages or entity trackers, meaning its transformed form may be shared between connections.
+     *
+     * @param direction  direction the packet is going in
+     * @param state      current protocol state
+     * @param unmappedId unmapped packet id
+     * @return whether the transformation of the packet is independent of the connection
+     */
+    default boolean isConnectionIndependent(Direction direction, State state, int unmappedId) {
+        return false;
+    }
+
     /**
      * Returns a packet type provider for this protocol to get packet types by id.
      * Depending on the Protocol, not every state may be populated.
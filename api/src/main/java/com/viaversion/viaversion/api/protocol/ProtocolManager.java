@@ -305,4 +305,13 @@ public interface ProtocolManager {
      * @return whether the mappings have been loaded
      */
     boolean hasLoadedMappings();
+
+    /**
+     * Called when packet mappings or handlers of an already registered protocol are changed,
+     * clearing data derived from them.
+     *
+     * @param protocol protocol with changed packet mappings
+     */
+    default void onPacketMappingChange(Protocol protocol) {
+    }
 }
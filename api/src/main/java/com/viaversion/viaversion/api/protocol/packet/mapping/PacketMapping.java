@@ -39,6 +39,23 @@ public interface PacketMapping {
      */
     void applyType(PacketWrapper wrapper);
 
+    /**
+     * Returns the mapped packet id, or the given id if it is not changed by this mapping.
+     *
+     * @param unmappedId unmapped packet id
+     * @return mapped packet id
+     */
+    int mappedPacketId(int unmappedId);
+
+    /**
+     * Returns the mapped packet type if this mapping changes the packet type.
+     *
+     * @return mapped packet type, or null if the mapping is not type based or does not change the type
+     */
+    default @Nullable PacketType mappedPacketType() {
+        return null;
+    }
+
     /**
      * Returns a packet transformer to transform a packet from one protocol version to another.
      *
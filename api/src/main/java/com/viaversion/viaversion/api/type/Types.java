@@ -30,6 +30,7 @@ import com.viaversion.viaversion.api.minecraft.EulerAngle;
 import com.viaversion.viaversion.api.minecraft.GameProfile;
 import com.viaversion.viaversion.api.minecraft.GlobalBlockPosition;
 import com.viaversion.viaversion.api.minecraft.HolderSet;
+import com.viaversion.viaversion.api.minecraft.LazyCompoundTag;
 import com.viaversion.viaversion.api.minecraft.PlayerMessageSignature;
 import com.viaversion.viaversion.api.minecraft.BlockPosition;
 import com.viaversion.viaversion.api.minecraft.ProfileKey;
@@ -91,6 +92,7 @@ import com.viaversion.viaversion.api.type.types.misc.CompoundTagType;
 import com.viaversion.viaversion.api.type.types.misc.GameProfileType;
 import com.viaversion.viaversion.api.type.types.misc.HolderSetType;
 import com.viaversion.viaversion.api.type.types.misc.HolderType;
+import com.viaversion.viaversion.api.type.types.misc.LazyCompoundTagType;
 import com.viaversion.viaversion.api.type.types.misc.NamedCompoundTagType;
 import com.viaversion.viaversion.api.type.types.misc.PlayerMessageSignatureType;
 import com.viaversion.viaversion.api.type.types.misc.ProfileKeyType;
@@ -138,6 +140,10 @@ public final class Types {
     public static final Type<String> STRING = new StringType();
     public static final Type<String> OPTIONAL_STRING = new StringType.OptionalStringType();
     public static final Type<String[]> STRING_ARRAY = new ArrayType<>(Types.STRING);
+    /**
+     * String type interning read values, to be used for identifiers repeated across packets and connections, such as registry keys.
+     */
+    public static final Type<String> IDENTIFIER = new StringType(Short.MAX_VALUE, true);
 
     public static final Type<UUID> UUID = new UUIDType();
     public static final Type<UUID> OPTIONAL_UUID = new UUIDType.OptionalUUIDType();
@@ -163,6 +169,8 @@ public final class Types {
     public static final Type<CompoundTag[]> NAMED_COMPOUND_TAG_ARRAY = new ArrayType<>(Types.NAMED_COMPOUND_TAG);
     public static final Type<CompoundTag> COMPOUND_TAG = new CompoundTagType();
     public static final Type<CompoundTag> OPTIONAL_COMPOUND_TAG = new CompoundTagType.OptionalCompoundTagType();
+    public static final Type<LazyCompoundTag> LAZY_NAMED_COMPOUND_TAG = new LazyCompoundTagType(true);
+    public static final Type<LazyCompoundTag> LAZY_COMPOUND_TAG = new LazyCompoundTagType(false);
     public static final Type<Tag> TAG = new TagType();
     public static final Type<Tag[]> TAG_ARRAY = new ArrayType<>(TAG);
     public static final Type<Tag> OPTIONAL_TAG = new TagType.OptionalTagType();
@@ -35,7 +35,7 @@ public class RegistryEntryType extends Type<RegistryEntry> {
 
     @Override
     public RegistryEntry read(final ByteBuf buffer) {
-        return new RegistryEntry(Types.STRING.read(buffer), Types.OPTIONAL_TAG.read(buffer));
+        return new RegistryEntry(Types.IDENTIFIER.read(buffer), Types.OPTIONAL_TAG.read(buffer));
     }
 
     @Override
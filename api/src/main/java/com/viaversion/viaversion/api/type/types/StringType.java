@@ -23,6 +23,8 @@
 package com.viaversion.viaversion.api.type.types;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import com.viaversion.viaversion.api.type.OptionalType;
 import com.viaversion.viaversion.api.type.Type;
 import com.viaversion.viaversion.api.type.Types;
@@ -33,15 +35,26 @@ public class StringType extends Type<String> {
     // String#length() (used to limit the string in Minecraft source code) uses char[]#length
     private static final int MAX_CHAR_UTF_8_LENGTH = Character.toString(Character.MAX_VALUE)
         .getBytes(StandardCharsets.UTF_8).length;
+    private static final Interner<String> INTERNER = Interners.newWeakInterner();
     private final int maxLength;
+    private final boolean intern;
 
     public StringType() {
         this(Short.MAX_VALUE);
     }
 
     public StringType(int maxLength) {
+        this(maxLength, false);
+    }
+
+    /**
+     * @param maxLength max length in characters
+     * @param intern    whether read strings should be interned, for values repeated a lot such as identifiers
+     */
+    public StringType(int maxLength, boolean intern) {
         super(String.class);
         this.maxLength = maxLength;
+        this.intern = intern;
     }
 
     @Override
@@ -51,13 +64,22 @@ public class StringType extends Type<String> {
         Preconditions.checkArgument(len <= maxLength * MAX_CHAR_UTF_8_LENGTH,
             "Cannot receive string longer than Short.MAX_VALUE * " + MAX_CHAR_UTF_8_LENGTH + " bytes (got %s bytes)", len);
 
-        String string = buffer.toString(buffer.readerIndex(), len, StandardCharsets.UTF_8);
+        int index = buffer.readerIndex();
         buffer.skipBytes(len);
 
+        String string;
+        if (buffer.hasArray()) {
+            string = new String(buffer.array(), buffer.arrayOffset() + index, len, StandardCharsets.UTF_8);
+        } else {
+            byte[] bytes = new byte[len];
+            buffer.getBytes(index, bytes);
+            string = new String(bytes, StandardCharsets.UTF_8);
+        }
+
         Preconditions.checkArgument(string.length() <= maxLength,
             "Cannot receive string longer than Short.MAX_VALUE characters (got %s bytes)", string.length());
 
-        return string;
+        return intern ? INTERNER.intern(string) : string;
     }
 
     @Override
@@ -66,9 +88,63 @@ public class StringType extends Type<String> {
             throw new IllegalArgumentException("Cannot send string longer than Short.MAX_VALUE characters (got " + object.length() + " characters)");
         }
 
-        byte[] b = object.getBytes(StandardCharsets.UTF_8);
-        Types.VAR_INT.writePrimitive(buffer, b.length);
-        buffer.writeBytes(b);
+        // Encode straight into the buffer instead of going through an intermediary byte array
+        int utf8Length = utf8Length(object);
+        Types.VAR_INT.writePrimitive(buffer, utf8Length);
+        buffer.ensureWritable(utf8Length);
+        writeUtf8(buffer, object);
+    }
+
+    /**
+     * Returns the number of bytes of the UTF-8 encoded string, with unpaired surrogates replaced by '?' just like {@link String#getBytes}.
+     */
+    private static int utf8Length(String string) {
+        int length = string.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = string.charAt(i);
+            if (c < 0x80) {
+                continue;
+            }
+
+            if (c < 0x800) {
+                bytes += 1;
+            } else if (!Character.isSurrogate(c)) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(string.charAt(i + 1))) {
+                // Two chars encoded in four bytes
+                bytes += 2;
+                i++;
+            }
+        }
+        return bytes;
+    }
+
+    private static void writeUtf8(ByteBuf buffer, String string) {
+        int index = buffer.writerIndex();
+        int length = string.length();
+        for (int i = 0; i < length; i++) {
+            char c = string.charAt(i);
+            if (c < 0x80) {
+                buffer.setByte(index++, c);
+            } else if (c < 0x800) {
+                buffer.setByte(index++, 0xC0 | (c >> 6));
+                buffer.setByte(index++, 0x80 | (c & 0x3F));
+            } else if (!Character.isSurrogate(c)) {
+                buffer.setByte(index++, 0xE0 | (c >> 12));
+                buffer.setByte(index++, 0x80 | ((c >> 6) & 0x3F));
+                buffer.setByte(index++, 0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(string.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, string.charAt(++i));
+                buffer.setByte(index++, 0xF0 | (codePoint >> 18));
+                buffer.setByte(index++, 0x80 | ((codePoint >> 12) & 0x3F));
+                buffer.setByte(index++, 0x80 | ((codePoint >> 6) & 0x3F));
+                buffer.setByte(index++, 0x80 | (codePoint & 0x3F));
+            } else {
+                buffer.setByte(index++, '?');
+            }
+        }
+        buffer.writerIndex(index);
     }
 
     public static final class OptionalStringType extends OptionalType<String> {
@@ -61,6 +61,16 @@ public class VarIntType extends Type<Integer> implements TypeConverter<Integer>
         buffer.writeByte(value);
     }
 
+    /**
+     * Returns the number of bytes needed to write the given value as a VarInt.
+     *
+     * @param value value
+     * @return number of bytes needed to write the value
+     */
+    public static int byteLength(final int value) {
+        return (31 - Integer.numberOfLeadingZeros(value | 1)) / 7 + 1;
+    }
+
     /**
      * @deprecated use {@link #readPrimitive(ByteBuf)} for manual reading to avoid wrapping
      */
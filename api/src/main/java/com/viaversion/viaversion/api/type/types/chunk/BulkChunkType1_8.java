@@ -27,10 +27,18 @@ import com.viaversion.viaversion.api.minecraft.chunks.ChunkSection;
 import com.viaversion.viaversion.api.type.Type;
 import com.viaversion.viaversion.api.type.Types;
 import io.netty.buffer.ByteBuf;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 public class BulkChunkType1_8 extends Type<Chunk[]> {
 
     public static final Type<Chunk[]> TYPE = new BulkChunkType1_8();
+    /**
+     * Reads the bulk chunk metadata only, deserializing each chunk when it is requested from the returned reader.
+     * The reader is backed by the packet buffer and must only be used while the packet is being handled.
+     * Writing the reader writes back all chunks as they were read, including ones already returned by it.
+     */
+    public static final Type<ChunkBulkReader> STREAMING_TYPE = new StreamingBulkChunkType1_8();
     private static final int BLOCKS_PER_SECTION = 16 * 16 * 16;
     private static final int BLOCKS_BYTES = BLOCKS_PER_SECTION * 2;
     private static final int LIGHT_BYTES = BLOCKS_PER_SECTION / 2;
@@ -42,22 +50,11 @@ public class BulkChunkType1_8 extends Type<Chunk[]> {
 
     @Override
     public Chunk[] read(ByteBuf input) {
-        final boolean skyLight = input.readBoolean();
-        final int count = Types.VAR_INT.readPrimitive(input);
-        final Chunk[] chunks = new Chunk[count];
-        final ChunkBulkSection[] chunkInfo = new ChunkBulkSection[count];
-
-        // Read metadata
-        for (int i = 0; i < chunkInfo.length; i++) {
-            chunkInfo[i] = new ChunkBulkSection(input, skyLight);
-        }
-        // Read data
+        final ChunkBulkReader reader = STREAMING_TYPE.read(input);
+        final Chunk[] chunks = new Chunk[reader.size()];
         for (int i = 0; i < chunks.length; i++) {
-            final ChunkBulkSection chunkBulkSection = chunkInfo[i];
-            chunkBulkSection.readData(input);
-            chunks[i] = ChunkType1_8.deserialize(chunkBulkSection.chunkX, chunkBulkSection.chunkZ, true, skyLight, chunkBulkSection.bitmask, chunkBulkSection.data());
+            chunks[i] = reader.next();
         }
-
         return chunks;
     }
 
@@ -98,8 +95,7 @@ public class BulkChunkType1_8 extends Type<Chunk[]> {
             this.chunkX = input.readInt();
             this.chunkZ = input.readInt();
             this.bitmask = input.readUnsignedShort();
-            final int setSections = Integer.bitCount(this.bitmask);
-            this.data = new byte[setSections * (BLOCKS_BYTES + (skyLight ? 2 * LIGHT_BYTES : LIGHT_BYTES)) + BIOME_BYTES];
+            this.data = new byte[dataLength(this.bitmask, skyLight)];
         }
 
         public void readData(final ByteBuf input) {
@@ -122,4 +118,91 @@ public class BulkChunkType1_8 extends Type<Chunk[]> {
             return this.data;
         }
     }
+
+    public static final class ChunkBulkReader implements Iterator<Chunk> {
+        private final ByteBuf data;
+        private final boolean skyLight;
+        private final int[] chunkX;
+        private final int[] chunkZ;
+        private final int[] bitmasks;
+        private int index;
+
+        private ChunkBulkReader(final ByteBuf data, final boolean skyLight, final int[] chunkX, final int[] chunkZ, final int[] bitmasks) {
+            this.data = data;
+            this.skyLight = skyLight;
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+            this.bitmasks = bitmasks;
+        }
+
+        public int size() {
+            return bitmasks.length;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < bitmasks.length;
+        }
+
+        @Override
+        public Chunk next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final int bitmask = bitmasks[index];
+            final ByteBuf chunkData = data.readSlice(dataLength(bitmask, skyLight));
+            final Chunk chunk = ChunkType1_8.deserialize(chunkX[index], chunkZ[index], true, skyLight, bitmask, chunkData);
+            index++;
+            return chunk;
+        }
+    }
+
+    private static int dataLength(final int bitmask, final boolean skyLight) {
+        final int setSections = Integer.bitCount(bitmask);
+        return setSections * (BLOCKS_BYTES + (skyLight ? 2 * LIGHT_BYTES : LIGHT_BYTES)) + BIOME_BYTES;
+    }
+
+    private static final class StreamingBulkChunkType1_8 extends Type<ChunkBulkReader> {
+
+        private StreamingBulkChunkType1_8() {
+            super(ChunkBulkReader.class);
+        }
+
+        @Override
+        public ChunkBulkReader read(final ByteBuf input) {
+            final boolean skyLight = input.readBoolean();
+            final int count = Types.VAR_INT.readPrimitive(input);
+            final int[] chunkX = new int[count];
+            final int[] chunkZ = new int[count];
+            final int[] bitmasks = new int[count];
+
+            // Read metadata
+            int totalLength = 0;
+            for (int i = 0; i < count; i++) {
+                chunkX[i] = input.readInt();
+                chunkZ[i] = input.readInt();
+                bitmasks[i] = input.readUnsignedShort();
+                totalLength += dataLength(bitmasks[i], skyLight);
+            }
+
+            // Chunk data is deserialized on demand, directly from the packet buffer
+            return new ChunkBulkReader(input.readSlice(totalLength), skyLight, chunkX, chunkZ, bitmasks);
+        }
+
+        @Override
+        public void write(final ByteBuf output, final ChunkBulkReader value) {
+            output.writeBoolean(value.skyLight);
+            Types.VAR_INT.writePrimitive(output, value.size());
+
+            // Write metadata
+            for (int i = 0; i < value.size(); i++) {
+                output.writeInt(value.chunkX[i]);
+                output.writeInt(value.chunkZ[i]);
+                output.writeShort(value.bitmasks[i]);
+            }
+            // Write the full chunk data, independent of how many chunks have already been read
+            output.writeBytes(value.data, 0, value.data.writerIndex());
+        }
+    }
 }
@@ -88,7 +88,14 @@ public class ChunkType1_8 extends Type<Chunk> {
     // Used for normal and bulk chunks
     public static Chunk deserialize(final int chunkX, final int chunkZ, final boolean fullChunk, final boolean skyLight, final int bitmask, final byte[] data) {
         final ByteBuf input = Unpooled.wrappedBuffer(data);
+        try {
+            return deserialize(chunkX, chunkZ, fullChunk, skyLight, bitmask, input);
+        } finally {
+            input.release();
+        }
+    }
 
+    public static Chunk deserialize(final int chunkX, final int chunkZ, final boolean fullChunk, final boolean skyLight, final int bitmask, final ByteBuf input) {
         final ChunkSection[] sections = new ChunkSection[16];
         int[] biomeData = null;
 
@@ -119,7 +126,6 @@ public class ChunkType1_8 extends Type<Chunk> {
                 biomeData[i] = input.readUnsignedByte();
             }
         }
-        input.release();
 
         return new BaseChunk(chunkX, chunkZ, fullChunk, false, bitmask, sections, biomeData, new ArrayList<>());
     }
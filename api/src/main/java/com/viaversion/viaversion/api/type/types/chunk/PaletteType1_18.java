@@ -24,12 +24,15 @@ package com.viaversion.viaversion.api.type.types.chunk;
 
 import com.viaversion.viaversion.api.minecraft.chunks.DataPalette;
 import com.viaversion.viaversion.api.minecraft.chunks.DataPaletteImpl;
+import com.viaversion.viaversion.api.minecraft.chunks.PackedDataPalette;
 import com.viaversion.viaversion.api.minecraft.chunks.PaletteType;
 import com.viaversion.viaversion.api.type.Type;
 import com.viaversion.viaversion.api.type.Types;
 import com.viaversion.viaversion.util.CompactArrayUtil;
 import com.viaversion.viaversion.util.MathUtil;
 import io.netty.buffer.ByteBuf;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
 
 public final class PaletteType1_18 extends Type<DataPalette> {
     private final int globalPaletteBits;
@@ -60,31 +63,41 @@ public final class PaletteType1_18 extends Type<DataPalette> {
         }
 
         // Read palette
+        IntList paletteIds = null;
         if (bitsPerValue != globalPaletteBits) {
             final int paletteLength = Types.VAR_INT.readPrimitive(buffer);
-            palette = new DataPaletteImpl(type.size(), paletteLength);
+            paletteIds = new IntArrayList(paletteLength);
             for (int i = 0; i < paletteLength; i++) {
-                palette.addId(Types.VAR_INT.readPrimitive(buffer));
+                paletteIds.add(Types.VAR_INT.readPrimitive(buffer));
             }
-        } else {
-            palette = new DataPaletteImpl(type.size());
         }
 
         // Read values
         final long[] values = Types.LONG_ARRAY_PRIMITIVE.read(buffer);
-        if (values.length > 0) {
-            final int valuesPerLong = (char) (64 / bitsPerValue);
-            final int expectedLength = (type.size() + valuesPerLong - 1) / valuesPerLong;
-            if (values.length == expectedLength) { // Thanks, Hypixel
-                CompactArrayUtil.iterateCompactArrayWithPadding(bitsPerValue, type.size(), values,
-                    bitsPerValue == globalPaletteBits ? palette::setIdAt : palette::setPaletteIndexAt);
+        final int valuesPerLong = (char) (64 / bitsPerValue);
+        final int expectedLength = (type.size() + valuesPerLong - 1) / valuesPerLong;
+        if (values.length > 0 && values.length == expectedLength) { // Thanks, Hypixel
+            // Keep the values packed until they are actually accessed
+            return new PackedDataPalette(type.size(), bitsPerValue, paletteIds, values);
+        }
+
+        if (paletteIds != null) {
+            palette = new DataPaletteImpl(type.size(), paletteIds.size());
+            for (int i = 0; i < paletteIds.size(); i++) {
+                palette.addId(paletteIds.getInt(i));
             }
+        } else {
+            palette = new DataPaletteImpl(type.size());
         }
         return palette;
     }
 
     @Override
     public void write(final ByteBuf buffer, final DataPalette palette) {
+        if (palette instanceof PackedDataPalette packedPalette && writePacked(buffer, packedPalette)) {
+            return;
+        }
+
         final int size = palette.size();
         if (size == 1) {
             // Single value palette
@@ -113,4 +126,36 @@ public final class PaletteType1_18 extends Type<DataPalette> {
 
         Types.LONG_ARRAY_PRIMITIVE.write(buffer, CompactArrayUtil.createCompactArrayWithPadding(bitsPerValue, type.size(), bitsPerValue == globalPaletteBits ? palette::idAt : palette::paletteIndexAt));
     }
+
+    private boolean writePacked(final ByteBuf buffer, final PackedDataPalette palette) {
+        final long[] packedValues = palette.packedValues();
+        if (packedValues == null) {
+            return false;
+        }
+
+        // Values were never touched, write them back as they were read
+        final int bitsPerValue = palette.bitsPerValue();
+        if (palette.global()) {
+            if (bitsPerValue != globalPaletteBits) {
+                return false;
+            }
+
+            buffer.writeByte(bitsPerValue);
+            Types.LONG_ARRAY_PRIMITIVE.write(buffer, packedValues);
+            return true;
+        }
+
+        final int size = palette.size();
+        if (size <= 1 || bitsPerValue > type.highestBitsPerValue()) {
+            return false;
+        }
+
+        buffer.writeByte(bitsPerValue);
+        Types.VAR_INT.writePrimitive(buffer, size);
+        for (int i = 0; i < size; i++) {
+            Types.VAR_INT.writePrimitive(buffer, palette.idByIndex(i));
+        }
+        Types.LONG_ARRAY_PRIMITIVE.write(buffer, packedValues);
+        return true;
+    }
 }
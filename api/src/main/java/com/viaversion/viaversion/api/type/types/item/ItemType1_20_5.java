@@ -32,11 +32,12 @@ import com.viaversion.viaversion.api.type.OptionalType;
 import com.viaversion.viaversion.api.type.Type;
 import com.viaversion.viaversion.api.type.Types;
 import io.netty.buffer.ByteBuf;
-import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectArrayMap;
 import java.util.Map;
 
 public class ItemType1_20_5 extends Type<Item> {
 
+    private static final int MAX_EXPECTED_SIZE = 16;
     private final StructuredDataType dataType;
 
     public ItemType1_20_5(final StructuredDataType dataType) {
@@ -60,10 +61,12 @@ public class ItemType1_20_5 extends Type<Item> {
         final int valuesSize = Types.VAR_INT.readPrimitive(buffer);
         final int markersSize = Types.VAR_INT.readPrimitive(buffer);
         if (valuesSize == 0 && markersSize == 0) {
-            return new Reference2ObjectOpenHashMap<>();
+            return new Reference2ObjectArrayMap<>();
         }
+        Preconditions.checkArgument(valuesSize >= 0 && markersSize >= 0, "Invalid data component sizes %s and %s", valuesSize, markersSize);
 
-        final Map<StructuredDataKey<?>, StructuredData<?>> map = new Reference2ObjectOpenHashMap<>();
+        // Usually only holding a handful of components, don't trust the sizes for anything larger
+        final Map<StructuredDataKey<?>, StructuredData<?>> map = new Reference2ObjectArrayMap<>((int) Math.min((long) valuesSize + markersSize, MAX_EXPECTED_SIZE));
         for (int i = 0; i < valuesSize; i++) {
             final StructuredData<?> value = dataType.read(buffer);
             final StructuredDataKey<?> key = dataType.key(value.id());
@@ -91,28 +94,36 @@ public class ItemType1_20_5 extends Type<Item> {
         Types.VAR_INT.writePrimitive(buffer, object.identifier());
 
         final Map<StructuredDataKey<?>, StructuredData<?>> data = object.dataContainer().data();
-        int valuesSize = 0;
+        if (data.isEmpty()) {
+            Types.VAR_INT.writePrimitive(buffer, 0);
+            Types.VAR_INT.writePrimitive(buffer, 0);
+            return;
+        }
+
+        // Collect markers while counting so that values and markers are each only written in a single pass
         int markersSize = 0;
+        int[] markers = null;
         for (final StructuredData<?> value : data.values()) {
-            if (value.isPresent()) {
-                valuesSize++;
-            } else {
-                markersSize++;
+            if (value.isEmpty()) {
+                if (markers == null) {
+                    markers = new int[data.size()];
+                }
+                markers[markersSize++] = value.id();
             }
         }
 
-        Types.VAR_INT.writePrimitive(buffer, valuesSize);
+        Types.VAR_INT.writePrimitive(buffer, data.size() - markersSize);
         Types.VAR_INT.writePrimitive(buffer, markersSize);
 
-        for (final StructuredData<?> value : data.values()) {
-            if (value.isPresent()) {
-                dataType.write(buffer, value);
+        if (markersSize != data.size()) {
+            for (final StructuredData<?> value : data.values()) {
+                if (value.isPresent()) {
+                    dataType.write(buffer, value);
+                }
             }
         }
-        for (final StructuredData<?> value : data.values()) {
-            if (value.isEmpty()) {
-                Types.VAR_INT.writePrimitive(buffer, value.id());
-            }
+        for (int i = 0; i < markersSize; i++) {
+            Types.VAR_INT.writePrimitive(buffer, markers[i]);
         }
     }
 
@@ -23,8 +23,10 @@
 package com.viaversion.viaversion.api.type.types.misc;
 
 import com.viaversion.nbt.tag.CompoundTag;
+import com.viaversion.viaversion.api.minecraft.LazyCompoundTag;
 import com.viaversion.viaversion.api.type.OptionalType;
 import com.viaversion.viaversion.api.type.Type;
+import com.viaversion.viaversion.api.type.TypeConverter;
 import com.viaversion.viaversion.api.type.Types;
 import io.netty.buffer.ByteBuf;
 import java.io.IOException;
@@ -36,7 +38,7 @@ import java.io.IOException;
  * On the network, this is technically written as any tag, but almost always cast to and checked
  * as a CompoundTag, so we provide this type for convenience.
  */
-public class CompoundTagType extends Type<CompoundTag> {
+public class CompoundTagType extends Type<CompoundTag> implements TypeConverter<CompoundTag> {
 
     public CompoundTagType() {
         super(CompoundTag.class);
@@ -60,6 +62,11 @@ public class CompoundTagType extends Type<CompoundTag> {
         }
     }
 
+    @Override
+    public CompoundTag from(final Object o) {
+        return o instanceof LazyCompoundTag lazyTag ? lazyTag.tag() : (CompoundTag) o;
+    }
+
     public static final class OptionalCompoundTagType extends OptionalType<CompoundTag> {
 
         public OptionalCompoundTagType() {
@@ -0,0 +1,146 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.api.type.types.misc;
+
+import com.viaversion.nbt.tag.CompoundTag;
+import com.viaversion.viaversion.api.minecraft.LazyCompoundTag;
+import com.viaversion.viaversion.api.type.Type;
+import com.viaversion.viaversion.api.type.TypeConverter;
+import io.netty.buffer.ByteBuf;
+import java.io.IOException;
+
+/**
+ * Compound tag type only skipping over the tag when read, see {@link LazyCompoundTag}.
+ * <p>
+ * Values can be read as or converted from regular compound tags, see {@link NamedCompoundTagType} and {@link CompoundTagType}.
+ */
+public class LazyCompoundTagType extends Type<LazyCompoundTag> implements TypeConverter<LazyCompoundTag> {
+
+    private static final int BYTE = 1;
+    private static final int SHORT = 2;
+    private static final int INT = 3;
+    private static final int LONG = 4;
+    private static final int FLOAT = 5;
+    private static final int DOUBLE = 6;
+    private static final int BYTE_ARRAY = 7;
+    private static final int STRING = 8;
+    private static final int LIST = 9;
+    private static final int COMPOUND = 10;
+    private static final int INT_ARRAY = 11;
+    private static final int LONG_ARRAY = 12;
+    private final boolean named;
+
+    /**
+     * @param named whether the root tag has a name, as is the case before 1.20.2
+     */
+    public LazyCompoundTagType(final boolean named) {
+        super(LazyCompoundTag.class);
+        this.named = named;
+    }
+
+    @Override
+    public LazyCompoundTag read(final ByteBuf buffer) {
+        final byte id = buffer.readByte();
+        if (id == 0) {
+            return null;
+        }
+        if (id != CompoundTag.ID) {
+            throw new RuntimeException(new IOException(String.format("Expected root tag to be a CompoundTag, was %s", id)));
+        }
+
+        if (named) {
+            buffer.skipBytes(buffer.readUnsignedShort());
+        }
+
+        final int start = buffer.readerIndex();
+        skipPayload(buffer, COMPOUND, 0);
+        final int length = buffer.readerIndex() - start;
+        if (length > NamedCompoundTagType.MAX_NBT_BYTES) {
+            throw new IllegalArgumentException("Tag exceeds max size: " + length + " bytes");
+        }
+
+        final byte[] payload = new byte[length];
+        buffer.getBytes(start, payload);
+        return LazyCompoundTag.ofPayload(payload);
+    }
+
+    @Override
+    public void write(final ByteBuf buffer, final LazyCompoundTag tag) {
+        if (tag == null) {
+            buffer.writeByte(0);
+        } else {
+            tag.write(buffer, named);
+        }
+    }
+
+    @Override
+    public LazyCompoundTag from(final Object o) {
+        return o instanceof CompoundTag tag ? LazyCompoundTag.of(tag) : (LazyCompoundTag) o;
+    }
+
+    private static void skipPayload(final ByteBuf buffer, final int id, final int nestingLevel) {
+        switch (id) {
+            case BYTE -> buffer.skipBytes(Byte.BYTES);
+            case SHORT -> buffer.skipBytes(Short.BYTES);
+            case INT, FLOAT -> buffer.skipBytes(Integer.BYTES);
+            case LONG, DOUBLE -> buffer.skipBytes(Long.BYTES);
+            case BYTE_ARRAY -> buffer.skipBytes(checkedLength(buffer.readInt(), Byte.BYTES));
+            case STRING -> buffer.skipBytes(buffer.readUnsignedShort());
+            case INT_ARRAY -> buffer.skipBytes(checkedLength(buffer.readInt(), Integer.BYTES));
+            case LONG_ARRAY -> buffer.skipBytes(checkedLength(buffer.readInt(), Long.BYTES));
+            case LIST -> {
+                checkNestingLevel(nestingLevel);
+                final byte elementId = buffer.readByte();
+                final int size = buffer.readInt();
+                if (elementId == 0 && size > 0) {
+                    throw new IllegalArgumentException("List of end tags with size " + size);
+                }
+                for (int i = 0; i < size; i++) {
+                    skipPayload(buffer, elementId, nestingLevel + 1);
+                }
+            }
+            case COMPOUND -> {
+                checkNestingLevel(nestingLevel);
+                byte entryId;
+                while ((entryId = buffer.readByte()) != 0) {
+                    buffer.skipBytes(buffer.readUnsignedShort()); // Name
+                    skipPayload(buffer, entryId, nestingLevel + 1);
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown tag id: " + id);
+        }
+    }
+
+    private static int checkedLength(final int length, final int elementBytes) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Negative array length: " + length);
+        }
+        return Math.multiplyExact(length, elementBytes);
+    }
+
+    private static void checkNestingLevel(final int nestingLevel) {
+        if (nestingLevel >= NamedCompoundTagType.MAX_NESTING_LEVEL) {
+            throw new IllegalArgumentException("Nesting level too high: " + nestingLevel);
+        }
+    }
+}
@@ -25,8 +25,10 @@ package com.viaversion.viaversion.api.type.types.misc;
 import com.viaversion.nbt.limiter.TagLimiter;
 import com.viaversion.nbt.tag.CompoundTag;
 import com.viaversion.nbt.tag.Tag;
+import com.viaversion.viaversion.api.minecraft.LazyCompoundTag;
 import com.viaversion.viaversion.api.type.OptionalType;
 import com.viaversion.viaversion.api.type.Type;
+import com.viaversion.viaversion.api.type.TypeConverter;
 import com.viaversion.viaversion.api.type.Types;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufInputStream;
@@ -34,7 +36,7 @@ import io.netty.buffer.ByteBufOutputStream;
 import java.io.IOException;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
-public class NamedCompoundTagType extends Type<CompoundTag> {
+public class NamedCompoundTagType extends Type<CompoundTag> implements TypeConverter<CompoundTag> {
 
     public static final int MAX_NBT_BYTES = 2097152; // 2mb
     public static final int MAX_NESTING_LEVEL = 512;
@@ -61,6 +63,11 @@ public class NamedCompoundTagType extends Type<CompoundTag> {
         }
     }
 
+    @Override
+    public CompoundTag from(final Object o) {
+        return o instanceof LazyCompoundTag lazyTag ? lazyTag.tag() : (CompoundTag) o;
+    }
+
     public static CompoundTag read(final ByteBuf buffer, final boolean readName) throws IOException {
         final byte id = buffer.readByte();
         if (id == 0) {
@@ -0,0 +1,259 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.util;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Open addressing hash map with primitive long keys, e.g. for chunk coordinates packed into a long.
+ * <p>
+ * Fastutil's long collections are not included in the shaded jar, so this serves as a small replacement.
+ * Not thread-safe.
+ *
+ * @param <V> value type
+ */
+public final class LongObjectMap<V> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75F;
+    private long[] keys;
+    private V[] values;
+    private int mask;
+    private int maxFill;
+    private int size;
+    // The 0 key marks free slots, so it is kept separately
+    private boolean containsZeroKey;
+    private V zeroValue;
+
+    public LongObjectMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongObjectMap(final int expectedSize) {
+        allocate(tableSize(expectedSize));
+    }
+
+    public @Nullable V get(final long key) {
+        if (key == 0) {
+            return zeroValue;
+        }
+
+        int index = index(key);
+        long currentKey;
+        while ((currentKey = keys[index]) != 0) {
+            if (currentKey == key) {
+                return values[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    public boolean containsKey(final long key) {
+        if (key == 0) {
+            return containsZeroKey;
+        }
+
+        int index = index(key);
+        long currentKey;
+        while ((currentKey = keys[index]) != 0) {
+            if (currentKey == key) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Puts the value into the map.
+     *
+     * @param key   key
+     * @param value value
+     * @return previous value if present
+     */
+    public @Nullable V put(final long key, final V value) {
+        if (key == 0) {
+            final V previous = zeroValue;
+            if (!containsZeroKey) {
+                containsZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return previous;
+        }
+
+        int index = index(key);
+        long currentKey;
+        while ((currentKey = keys[index]) != 0) {
+            if (currentKey == key) {
+                final V previous = values[index];
+                values[index] = value;
+                return previous;
+            }
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+        if (++size > maxFill) {
+            rehash(keys.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Removes the value of the given key.
+     *
+     * @param key key
+     * @return removed value if present
+     */
+    public @Nullable V remove(final long key) {
+        if (key == 0) {
+            if (!containsZeroKey) {
+                return null;
+            }
+
+            final V previous = zeroValue;
+            containsZeroKey = false;
+            zeroValue = null;
+            size--;
+            return previous;
+        }
+
+        int index = index(key);
+        long currentKey;
+        while ((currentKey = keys[index]) != 0) {
+            if (currentKey == key) {
+                final V previous = values[index];
+                size--;
+                shiftKeys(index);
+                return previous;
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    public void forEachValue(final Consumer<? super V> consumer) {
+        if (containsZeroKey) {
+            consumer.accept(zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                consumer.accept(values[i]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+
+        size = 0;
+        containsZeroKey = false;
+        zeroValue = null;
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, null);
+    }
+
+    /**
+     * Moves following entries of the same probe sequence back into the freed slot.
+     */
+    private void shiftKeys(int index) {
+        while (true) {
+            final int last = index;
+            index = (index + 1) & mask;
+            long currentKey;
+            while (true) {
+                if ((currentKey = keys[index]) == 0) {
+                    keys[last] = 0;
+                    values[last] = null;
+                    return;
+                }
+
+                final int slot = index(currentKey);
+                // Stop if the entry's home slot is cyclically within (last, index]
+                if (last <= index ? last >= slot || slot > index : last >= slot && slot > index) {
+                    break;
+                }
+                index = (index + 1) & mask;
+            }
+
+            keys[last] = currentKey;
+            values[last] = values[index];
+        }
+    }
+
+    private void rehash(final int newCapacity) {
+        final long[] oldKeys = keys;
+        final V[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            final long key = oldKeys[i];
+            if (key == 0) {
+                continue;
+            }
+
+            int index = index(key);
+            while (keys[index] != 0) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            values[index] = oldValues[i];
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(final int capacity) {
+        keys = new long[capacity];
+        values = (V[]) new Object[capacity];
+        mask = capacity - 1;
+        maxFill = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private int index(final long key) {
+        return hash(key) & mask;
+    }
+
+    static int hash(final long key) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    static int tableSize(final int expectedSize) {
+        final int capacity = (int) Math.ceil(Math.max(expectedSize, 2) / LOAD_FACTOR);
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.util;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash set of primitive longs, e.g. for chunk coordinates packed into a long.
+ * <p>
+ * Fastutil's long collections are not included in the shaded jar, so this serves as a small replacement.
+ * Not thread-safe.
+ *
+ * @see LongObjectMap
+ */
+public final class LongSet {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75F;
+    private long[] keys;
+    private int mask;
+    private int maxFill;
+    private int size;
+    // The 0 key marks free slots, so it is kept separately
+    private boolean containsZeroKey;
+
+    public LongSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongSet(final int expectedSize) {
+        allocate(LongObjectMap.tableSize(expectedSize));
+    }
+
+    public boolean contains(final long key) {
+        if (key == 0) {
+            return containsZeroKey;
+        }
+
+        int index = index(key);
+        long currentKey;
+        while ((currentKey = keys[index]) != 0) {
+            if (currentKey == key) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Adds the key to the set.
+     *
+     * @param key key
+     * @return true if the key was not already present
+     */
+    public boolean add(final long key) {
+        if (key == 0) {
+            if (containsZeroKey) {
+                return false;
+            }
+
+            containsZeroKey = true;
+            size++;
+            return true;
+        }
+
+        int index = index(key);
+        long currentKey;
+        while ((currentKey = keys[index]) != 0) {
+            if (currentKey == key) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = key;
+        if (++size > maxFill) {
+            rehash(keys.length << 1);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the key from the set.
+     *
+     * @param key key
+     * @return true if the key was present
+     */
+    public boolean remove(final long key) {
+        if (key == 0) {
+            if (!containsZeroKey) {
+                return false;
+            }
+
+            containsZeroKey = false;
+            size--;
+            return true;
+        }
+
+        int index = index(key);
+        long currentKey;
+        while ((currentKey = keys[index]) != 0) {
+            if (currentKey == key) {
+                size--;
+                shiftKeys(index);
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+
+        size = 0;
+        containsZeroKey = false;
+        Arrays.fill(keys, 0);
+    }
+
+    /**
+     * Moves following keys of the same probe sequence back into the freed slot.
+     */
+    private void shiftKeys(int index) {
+        while (true) {
+            final int last = index;
+            index = (index + 1) & mask;
+            long currentKey;
+            while (true) {
+                if ((currentKey = keys[index]) == 0) {
+                    keys[last] = 0;
+                    return;
+                }
+
+                final int slot = index(currentKey);
+                // Stop if the key's home slot is cyclically within (last, index]
+                if (last <= index ? last >= slot || slot > index : last >= slot && slot > index) {
+                    break;
+                }
+                index = (index + 1) & mask;
+            }
+
+            keys[last] = currentKey;
+        }
+    }
+
+    private void rehash(final int newCapacity) {
+        final long[] oldKeys = keys;
+        allocate(newCapacity);
+        for (final long key : oldKeys) {
+            if (key == 0) {
+                continue;
+            }
+
+            int index = index(key);
+            while (keys[index] != 0) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+        }
+    }
+
+    private void allocate(final int capacity) {
+        keys = new long[capacity];
+        mask = capacity - 1;
+        maxFill = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private int index(final long key) {
+        return LongObjectMap.hash(key) & mask;
+    }
+}
@@ -0,0 +1,30 @@
+plugins {
+    id("me.champeau.jmh")
+}
+
+// The benchmarks reuse the dummy platform of the common tests
+evaluationDependsOn(":viaversion-common")
+
+dependencies {
+    jmh(projects.viaversionCommon)
+    jmh(project(":viaversion-common").sourceSets.test.get().output)
+    jmh(rootProject.libs.netty)
+    jmh(rootProject.libs.guava)
+    jmh(rootProject.libs.snakeYaml2)
+}
+
+jmh {
+    jmhVersion.set(rootProject.libs.versions.jmh.get())
+    // Run a subset with e.g. -PjmhIncludes=VarIntTypeBenchmark
+    (findProperty("jmhIncludes") as String?)?.let { includes.add(it) }
+    resultFormat.set("JSON")
+}
+
+// Replay a packet capture with e.g. -PreplayArgs="capture.bin 1.21 1.8 5"
+tasks.register<JavaExec>("replay") {
+    group = "benchmark"
+    description = "Replays the packets of a packet capture and reports their transformation performance."
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("com.viaversion.viaversion.benchmark.PacketReplay")
+    (findProperty("replayArgs") as String?)?.let { args(it.split(' ')) }
+}
@@ -0,0 +1,89 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.benchmark;
+
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.protocol.Protocol;
+import com.viaversion.viaversion.api.protocol.ProtocolManager;
+import com.viaversion.viaversion.api.protocol.ProtocolPathEntry;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
+import com.viaversion.viaversion.common.dummy.DummyInitializer;
+import com.viaversion.viaversion.connection.UserConnectionImpl;
+import com.viaversion.viaversion.protocol.ProtocolPipelineImpl;
+import io.netty.channel.Channel;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+public final class BenchmarkSetup {
+
+    public static void init() {
+        DummyInitializer.init();
+    }
+
+    /**
+     * Waits for the mapping data of the given protocol to be loaded.
+     *
+     * @param protocolClass protocol class
+     */
+    public static void loadMappings(final Class<? extends Protocol> protocolClass) {
+        init();
+        Via.getManager().getProtocolManager().completeMappingDataLoading(protocolClass);
+    }
+
+    /**
+     * Creates a connection in play state with the full protocol path between the given versions.
+     *
+     * @param clientVersion client version
+     * @param serverVersion server version
+     * @return connection with a filled pipeline
+     */
+    public static UserConnection connection(final ProtocolVersion clientVersion, final ProtocolVersion serverVersion) {
+        return connection(clientVersion, serverVersion, null);
+    }
+
+    /**
+     * Creates a connection in play state with the full protocol path between the given versions.
+     *
+     * @param clientVersion client version
+     * @param serverVersion server version
+     * @param channel       channel of the connection, required for protocols sending extra packets
+     * @return connection with a filled pipeline
+     */
+    public static UserConnection connection(final ProtocolVersion clientVersion, final ProtocolVersion serverVersion, @Nullable final Channel channel) {
+        init();
+        final ProtocolManager protocolManager = Via.getManager().getProtocolManager();
+        final List<ProtocolPathEntry> path = protocolManager.getProtocolPath(clientVersion, serverVersion);
+        if (path == null) {
+            throw new IllegalArgumentException("No protocol path from " + serverVersion + " to " + clientVersion);
+        }
+
+        final UserConnection connection = new UserConnectionImpl(channel, false);
+        final ProtocolPipelineImpl pipeline = new ProtocolPipelineImpl(connection);
+        for (final ProtocolPathEntry entry : path) {
+            protocolManager.completeMappingDataLoading(entry.protocol().getClass());
+            pipeline.add(entry.protocol());
+        }
+
+        connection.getProtocolInfo().setProtocolVersion(clientVersion);
+        connection.getProtocolInfo().setServerProtocolVersion(serverVersion);
+        connection.getProtocolInfo().setState(State.PLAY);
+        return connection;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.benchmark;
+
+import com.viaversion.nbt.tag.CompoundTag;
+import com.viaversion.viaversion.api.minecraft.chunks.Chunk;
+import com.viaversion.viaversion.api.minecraft.chunks.Chunk1_18;
+import com.viaversion.viaversion.api.minecraft.chunks.ChunkSection;
+import com.viaversion.viaversion.api.minecraft.chunks.ChunkSectionImpl;
+import com.viaversion.viaversion.api.minecraft.chunks.DataPalette;
+import com.viaversion.viaversion.api.minecraft.chunks.DataPaletteImpl;
+import com.viaversion.viaversion.api.minecraft.chunks.PaletteType;
+import com.viaversion.viaversion.api.type.Type;
+import com.viaversion.viaversion.api.type.types.chunk.ChunkType1_18;
+import com.viaversion.viaversion.api.type.types.chunk.ChunkType1_20_2;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChunkTypeBenchmark {
+
+    private static final int SECTIONS = 24;
+    private static final int GLOBAL_BLOCK_BITS = 15;
+    private static final int GLOBAL_BIOME_BITS = 6;
+
+    @Param({"1_18", "1_20_2"})
+    private String version;
+    /**
+     * Number of different block states per section, where 512 exceeds the linear palette and uses global ids.
+     */
+    @Param({"1", "8", "512"})
+    private int blockStates;
+    private Type<Chunk> type;
+    private ByteBuf input;
+    private ByteBuf output;
+
+    @Setup
+    public void setup() {
+        type = version.equals("1_18")
+            ? new ChunkType1_18(SECTIONS, GLOBAL_BLOCK_BITS, GLOBAL_BIOME_BITS)
+            : new ChunkType1_20_2(SECTIONS, GLOBAL_BLOCK_BITS, GLOBAL_BIOME_BITS);
+
+        final SplittableRandom random = new SplittableRandom(0);
+        final ChunkSection[] sections = new ChunkSection[SECTIONS];
+        for (int i = 0; i < SECTIONS; i++) {
+            final ChunkSection section = new ChunkSectionImpl(false);
+            final DataPalette blocks = section.palette(PaletteType.BLOCKS);
+            for (int j = 0; j < ChunkSection.SIZE; j++) {
+                blocks.setIdAt(j, random.nextInt(blockStates) * 31);
+            }
+            section.setNonAirBlocksCount(ChunkSection.SIZE);
+
+            final DataPalette biomes = new DataPaletteImpl(ChunkSection.BIOME_SIZE);
+            for (int j = 0; j < ChunkSection.BIOME_SIZE; j++) {
+                biomes.setIdAt(j, random.nextInt(2));
+            }
+            section.addPalette(PaletteType.BIOMES, biomes);
+            sections[i] = section;
+        }
+
+        input = Unpooled.buffer();
+        type.write(input, new Chunk1_18(0, 0, sections, new CompoundTag(), new ArrayList<>()));
+        output = Unpooled.buffer(input.readableBytes());
+    }
+
+    @TearDown
+    public void tearDown() {
+        input.release();
+        output.release();
+    }
+
+    @Benchmark
+    public Chunk read() {
+        return type.read(input.duplicate());
+    }
+
+    @Benchmark
+    public ByteBuf readWrite() {
+        final Chunk chunk = type.read(input.duplicate());
+        output.clear();
+        type.write(output, chunk);
+        return output;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.benchmark;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.viaversion.nbt.tag.Tag;
+import com.viaversion.viaversion.util.ComponentUtil;
+import com.viaversion.viaversion.util.SerializerVersion;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComponentUtilBenchmark {
+
+    private static final String JSON = "{\"text\":\"Welcome \",\"color\":\"gold\",\"extra\":[{\"text\":\"Player\",\"bold\":true,"
+        + "\"hoverEvent\":{\"action\":\"show_text\",\"contents\":{\"text\":\"Click to message\"}},"
+        + "\"clickEvent\":{\"action\":\"suggest_command\",\"value\":\"/msg Player \"}},{\"text\":\"!\",\"color\":\"gray\"}]}";
+    private static final String LEGACY = "§6Welcome §lPlayer§r§7!";
+
+    private JsonElement json;
+    private Tag tag;
+
+    @Setup
+    public void setup() {
+        BenchmarkSetup.init();
+        json = JsonParser.parseString(JSON);
+        tag = ComponentUtil.jsonToTag(json);
+    }
+
+    @Benchmark
+    public Tag jsonToTag() {
+        return ComponentUtil.jsonToTag(json);
+    }
+
+    @Benchmark
+    public JsonElement tagToJson() {
+        return ComponentUtil.tagToJson(tag);
+    }
+
+    @Benchmark
+    public JsonElement convertJson() {
+        return ComponentUtil.convertJson(json, SerializerVersion.V1_12, SerializerVersion.V1_16);
+    }
+
+    @Benchmark
+    public JsonElement legacyToJson() {
+        return ComponentUtil.legacyToJson(LEGACY);
+    }
+
+    @Benchmark
+    public String jsonToLegacy() {
+        return ComponentUtil.jsonToLegacy(json);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.benchmark;
+
+import com.viaversion.nbt.tag.StringTag;
+import com.viaversion.nbt.tag.Tag;
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.minecraft.data.StructuredDataContainer;
+import com.viaversion.viaversion.api.minecraft.data.StructuredDataKey;
+import com.viaversion.viaversion.api.minecraft.item.Item;
+import com.viaversion.viaversion.api.minecraft.item.StructuredItem;
+import com.viaversion.viaversion.api.minecraft.item.data.Enchantments;
+import com.viaversion.viaversion.api.type.types.version.Types1_20_5;
+import com.viaversion.viaversion.protocols.v1_20_3to1_20_5.Protocol1_20_3To1_20_5;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemTypeBenchmark {
+
+    private ByteBuf plainInput;
+    private ByteBuf input;
+    private ByteBuf output;
+
+    @Setup
+    public void setup() {
+        // Data component serializers are only known after the mapping data has been loaded
+        BenchmarkSetup.loadMappings(Protocol1_20_3To1_20_5.class);
+        final Protocol1_20_3To1_20_5 protocol = Via.getManager().getProtocolManager().getProtocol(Protocol1_20_3To1_20_5.class);
+
+        final StructuredDataContainer data = new StructuredDataContainer();
+        data.setIdLookup(protocol, true);
+        data.set(StructuredDataKey.CUSTOM_NAME, new StringTag("Sword of benchmarking"));
+        data.set(StructuredDataKey.LORE, new Tag[]{new StringTag("First line"), new StringTag("Second line")});
+        data.set(StructuredDataKey.DAMAGE, 12);
+        final Enchantments enchantments = new Enchantments(true);
+        enchantments.add(1, 5);
+        enchantments.add(7, 3);
+        data.set(StructuredDataKey.ENCHANTMENTS, enchantments);
+
+        input = Unpooled.buffer();
+        Types1_20_5.ITEM.write(input, new StructuredItem(840, 1, data));
+        plainInput = Unpooled.buffer();
+        Types1_20_5.ITEM.write(plainInput, new StructuredItem(1, 64, new StructuredDataContainer()));
+        output = Unpooled.buffer(input.readableBytes());
+    }
+
+    @TearDown
+    public void tearDown() {
+        plainInput.release();
+        input.release();
+        output.release();
+    }
+
+    @Benchmark
+    public Item readPlain() {
+        return Types1_20_5.ITEM.read(plainInput.duplicate());
+    }
+
+    @Benchmark
+    public Item read() {
+        return Types1_20_5.ITEM.read(input.duplicate());
+    }
+
+    @Benchmark
+    public ByteBuf readWrite() {
+        final Item item = Types1_20_5.ITEM.read(input.duplicate());
+        output.clear();
+        Types1_20_5.ITEM.write(output, item);
+        return output;
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.benchmark;
+
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
+import com.viaversion.viaversion.debug.PacketCaptureImpl;
+import com.viaversion.viaversion.debug.PacketCaptureReader;
+import com.viaversion.viaversion.exception.CancelCodecException;
+import com.viaversion.viaversion.exception.CancelDecoderException;
+import com.viaversion.viaversion.exception.CancelEncoderException;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Replays the input packets of a packet capture through fresh connections as fast as possible.
+ * <p>
+ * The first iteration compares the results against the captured outputs if the versions match the captured ones,
+ * the following iterations are measured.
+ * <p>
+ * Usage: {@code <capture file> [client version] [server version] [iterations]}
+ */
+public final class PacketReplay {
+
+    private static final int DEFAULT_ITERATIONS = 5;
+    private final List<PacketCaptureReader.Entry> inputs = new ArrayList<>();
+    private final Map<CaptureKey, PacketCaptureReader.Entry> outputs = new HashMap<>();
+    private final @Nullable ProtocolVersion clientVersion;
+    private final @Nullable ProtocolVersion serverVersion;
+
+    private PacketReplay(final @Nullable ProtocolVersion clientVersion, final @Nullable ProtocolVersion serverVersion) {
+        this.clientVersion = clientVersion;
+        this.serverVersion = serverVersion;
+    }
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length != 1 && args.length != 3 && args.length != 4) {
+            System.err.println("Usage: <capture file> [client version] [server version] [iterations]");
+            System.exit(1);
+            return;
+        }
+
+        final ProtocolVersion clientVersion = args.length >= 3 ? version(args[1]) : null;
+        final ProtocolVersion serverVersion = args.length >= 3 ? version(args[2]) : null;
+        final int iterations = args.length == 4 ? Integer.parseInt(args[3]) : DEFAULT_ITERATIONS;
+        final PacketReplay replay = new PacketReplay(clientVersion, serverVersion);
+        replay.load(Paths.get(args[0]));
+        System.out.printf("Loaded %d packets of %d connections%n", replay.inputs.size(), replay.inputs.stream().mapToLong(PacketCaptureReader.Entry::connectionId).distinct().count());
+
+        BenchmarkSetup.init();
+        replay.run(true).print("Verification");
+        for (int i = 1; i < iterations; i++) {
+            replay.run(false).print("Iteration " + i);
+        }
+        System.exit(0);
+    }
+
+    private static ProtocolVersion version(final String name) {
+        final ProtocolVersion version = ProtocolVersion.getClosest(name);
+        if (version == null) {
+            throw new IllegalArgumentException("Unknown version " + name);
+        }
+        return version;
+    }
+
+    private void load(final Path file) throws IOException {
+        try (final PacketCaptureReader reader = new PacketCaptureReader(file)) {
+            PacketCaptureReader.Entry entry;
+            while ((entry = reader.next()) != null) {
+                if (entry.input()) {
+                    inputs.add(entry);
+                } else {
+                    outputs.put(new CaptureKey(entry.connectionId(), entry.captureId()), entry);
+                }
+            }
+        }
+    }
+
+    private Result run(final boolean verify) {
+        final Map<Long, ReplayConnection> connections = new HashMap<>();
+        final Result result = new Result(inputs.size());
+        final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        final com.sun.management.ThreadMXBean allocationBean = threadBean instanceof com.sun.management.ThreadMXBean bean ? bean : null;
+        final long threadId = Thread.currentThread().getId();
+        final long allocatedBefore = allocationBean != null ? allocationBean.getThreadAllocatedBytes(threadId) : -1;
+        for (final PacketCaptureReader.Entry input : inputs) {
+            ReplayConnection connection = connections.get(input.connectionId());
+            if (connection == null && !connections.containsKey(input.connectionId())) {
+                connection = createConnection(input);
+                connections.put(input.connectionId(), connection);
+            }
+            if (connection == null) {
+                result.error("No protocol path");
+                continue;
+            }
+
+            final Direction direction = input.direction();
+            if (direction == Direction.CLIENTBOUND) {
+                connection.connection.getProtocolInfo().setServerState(input.state());
+            } else {
+                connection.connection.getProtocolInfo().setClientState(input.state());
+            }
+            result.bytesIn += input.data().length;
+
+            final ByteBuf buf = connection.channel.alloc().buffer(input.data().length).writeBytes(input.data());
+            ByteBuf transformed = null;
+            final long start = System.nanoTime();
+            try {
+                transformed = direction == Direction.CLIENTBOUND
+                    ? connection.connection.transformClientboundDirect(buf, CancelEncoderException::generate)
+                    : connection.connection.transformServerboundDirect(buf, CancelDecoderException::generate);
+                result.record(System.nanoTime() - start);
+                result.bytesOut += transformed.readableBytes();
+            } catch (final Exception e) {
+                result.record(System.nanoTime() - start);
+                if (e instanceof CancelCodecException) {
+                    result.cancelled++;
+                } else {
+                    result.error(e.getClass().getSimpleName());
+                }
+            } finally {
+                buf.release();
+            }
+
+            if (verify && connection.verify) {
+                verify(input, transformed, result);
+            }
+            if (transformed != null) {
+                transformed.release();
+            }
+            connection.releaseMessages();
+        }
+
+        result.allocatedBytes = allocatedBefore != -1 ? allocationBean.getThreadAllocatedBytes(threadId) - allocatedBefore : -1;
+        for (final ReplayConnection connection : connections.values()) {
+            if (connection != null) {
+                connection.channel.close();
+                connection.releaseMessages();
+            }
+        }
+        return result;
+    }
+
+    private @Nullable ReplayConnection createConnection(final PacketCaptureReader.Entry input) {
+        final ProtocolVersion client = clientVersion != null ? clientVersion : ProtocolVersion.getProtocol(input.clientVersion());
+        final ProtocolVersion server = serverVersion != null ? serverVersion : ProtocolVersion.getProtocol(input.serverVersion());
+        final EmbeddedChannel channel = new EmbeddedChannel();
+        // Let packets sent by protocols end up in the channel's queues
+        channel.pipeline().addLast("via-encoder", new ChannelOutboundHandlerAdapter());
+        channel.pipeline().addLast("via-decoder", new ChannelInboundHandlerAdapter());
+        try {
+            final UserConnection connection = BenchmarkSetup.connection(client, server, channel);
+            final boolean verify = client.getVersion() == input.clientVersion() && server.getVersion() == input.serverVersion();
+            return new ReplayConnection(connection, channel, verify);
+        } catch (final IllegalArgumentException e) {
+            channel.close();
+            return null;
+        }
+    }
+
+    private void verify(final PacketCaptureReader.Entry input, @Nullable final ByteBuf transformed, final Result result) {
+        final PacketCaptureReader.Entry output = outputs.get(new CaptureKey(input.connectionId(), input.captureId()));
+        if (output == null) {
+            return;
+        }
+
+        final boolean matches;
+        if (output.type() == PacketCaptureImpl.CANCELLED || transformed == null) {
+            matches = output.type() == PacketCaptureImpl.CANCELLED && transformed == null;
+        } else {
+            final byte[] data = new byte[transformed.readableBytes()];
+            transformed.getBytes(transformed.readerIndex(), data);
+            matches = Arrays.equals(data, output.data());
+        }
+
+        if (matches) {
+            result.matches++;
+        } else {
+            result.mismatches++;
+        }
+    }
+
+    private record CaptureKey(long connectionId, int captureId) {
+    }
+
+    private record ReplayConnection(UserConnection connection, EmbeddedChannel channel, boolean verify) {
+
+        private void releaseMessages() {
+            channel.runPendingTasks();
+            Object message;
+            while ((message = channel.readOutbound()) != null) {
+                ReferenceCountUtil.release(message);
+            }
+            while ((message = channel.readInbound()) != null) {
+                ReferenceCountUtil.release(message);
+            }
+        }
+    }
+
+    private static final class Result {
+        private final long[] latencies;
+        private final Map<String, Integer> errors = new TreeMap<>();
+        private int packets;
+        private int cancelled;
+        private int matches;
+        private int mismatches;
+        private long bytesIn;
+        private long bytesOut;
+        private long allocatedBytes;
+
+        private Result(final int capacity) {
+            this.latencies = new long[capacity];
+        }
+
+        private void record(final long nanos) {
+            latencies[packets++] = nanos;
+        }
+
+        private void error(final String error) {
+            errors.merge(error, 1, Integer::sum);
+        }
+
+        private void print(final String name) {
+            final long[] sorted = Arrays.copyOf(latencies, packets);
+            Arrays.sort(sorted);
+            final long totalNanos = Arrays.stream(sorted).sum();
+            final double seconds = totalNanos / 1_000_000_000D;
+            System.out.printf("%s: %d packets in %.2fms, %.0f packets/s, %.2f/%.2f MB/s in/out%n",
+                name, packets, totalNanos / 1_000_000D, packets / seconds, bytesIn / seconds / 1_000_000D, bytesOut / seconds / 1_000_000D);
+            System.out.printf("  latency p50 %dns, p99 %dns, max %dns%n", percentile(sorted, 0.5), percentile(sorted, 0.99), packets != 0 ? sorted[packets - 1] : 0);
+            if (allocatedBytes != -1) {
+                System.out.printf("  allocated %.2f MB, %d bytes/packet, %.2f MB/s%n",
+                    allocatedBytes / 1_000_000D, packets != 0 ? allocatedBytes / packets : 0, allocatedBytes / seconds / 1_000_000D);
+            }
+            System.out.printf("  %d cancelled, %d errors%n", cancelled, errors.values().stream().mapToInt(Integer::intValue).sum());
+            errors.forEach((error, count) -> System.out.printf("    %s: %d%n", error, count));
+            if (matches != 0 || mismatches != 0) {
+                System.out.printf("  %d outputs matching the capture, %d differing%n", matches, mismatches);
+            }
+        }
+
+        private static long percentile(final long[] sorted, final double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+        }
+    }
+}
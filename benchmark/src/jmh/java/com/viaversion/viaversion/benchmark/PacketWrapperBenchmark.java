@@ -0,0 +1,97 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.benchmark;
+
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.type.Types;
+import com.viaversion.viaversion.connection.UserConnectionImpl;
+import com.viaversion.viaversion.protocol.packet.PacketWrapperImpl;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketWrapperBenchmark {
+
+    private UserConnection connection;
+    private ByteBuf input;
+    private ByteBuf output;
+
+    @Setup
+    public void setup() {
+        BenchmarkSetup.init();
+        connection = new UserConnectionImpl(null, false);
+
+        // Roughly shaped like an entity spawn packet
+        input = Unpooled.buffer();
+        Types.VAR_INT.writePrimitive(input, 1234);
+        Types.UUID.write(input, UUID.randomUUID());
+        Types.VAR_INT.writePrimitive(input, 42);
+        input.writeDouble(100.5).writeDouble(64).writeDouble(-20.25);
+        input.writeByte(0).writeByte(0).writeByte(0);
+        Types.VAR_INT.writePrimitive(input, 0);
+        input.writeShort(0).writeShort(0).writeShort(0);
+        output = Unpooled.buffer(input.readableBytes() + 5);
+    }
+
+    @TearDown
+    public void tearDown() {
+        input.release();
+        output.release();
+    }
+
+    @Benchmark
+    public ByteBuf passthroughAll() throws Exception {
+        final PacketWrapperImpl wrapper = new PacketWrapperImpl(1, input.duplicate(), connection);
+        wrapper.passthroughAll();
+        output.clear();
+        wrapper.writeToBuffer(output);
+        return output;
+    }
+
+    @Benchmark
+    public ByteBuf passthroughFields() throws Exception {
+        final PacketWrapperImpl wrapper = new PacketWrapperImpl(1, input.duplicate(), connection);
+        wrapper.passthrough(Types.VAR_INT); // Entity id
+        wrapper.passthrough(Types.UUID); // Entity UUID
+        wrapper.write(Types.VAR_INT, wrapper.read(Types.VAR_INT) + 1); // Entity type
+        wrapper.passthrough(Types.DOUBLE); // X
+        wrapper.passthrough(Types.DOUBLE); // Y
+        wrapper.passthrough(Types.DOUBLE); // Z
+        output.clear();
+        wrapper.writeToBuffer(output);
+        return output;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.benchmark;
+
+import com.viaversion.nbt.tag.CompoundTag;
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
+import com.viaversion.viaversion.api.type.Types;
+import com.viaversion.viaversion.exception.CancelEncoderException;
+import com.viaversion.viaversion.protocols.v1_20_2to1_20_3.packet.ClientboundPackets1_20_3;
+import com.viaversion.viaversion.protocols.v1_8to1_9.packet.ClientboundPackets1_8;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Full clientbound transformation of encoded server packets through the connection, including the passthrough
+ * and packet id remapping fast paths of the connection.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProtocolPipelineBenchmark {
+
+    // Server version -> client version
+    @Param({"1.20.3->1.20.5", "1.20.3->1.21", "1.8->1.9"})
+    private String versions;
+    private UserConnection connection;
+    private ByteBuf remappedPacket;
+    private ByteBuf transformedPacket;
+
+    @Setup
+    public void setup() {
+        final String[] split = versions.split("->");
+        final ProtocolVersion serverVersion = ProtocolVersion.getClosest(split[0]);
+        connection = BenchmarkSetup.connection(ProtocolVersion.getClosest(split[1]), serverVersion);
+
+        remappedPacket = Unpooled.buffer();
+        transformedPacket = Unpooled.buffer();
+        if (serverVersion.olderThanOrEqualTo(ProtocolVersion.v1_8)) {
+            Types.VAR_INT.writePrimitive(remappedPacket, ClientboundPackets1_8.SET_TIME.getId());
+            remappedPacket.writeLong(24000L * 100).writeLong(6000L);
+
+            Types.VAR_INT.writePrimitive(transformedPacket, ClientboundPackets1_8.MOVE_ENTITY_POS.getId());
+            Types.VAR_INT.writePrimitive(transformedPacket, 1); // Entity id
+            transformedPacket.writeByte(4).writeByte(-2).writeByte(8);
+            transformedPacket.writeBoolean(true); // On ground
+        } else {
+            Types.VAR_INT.writePrimitive(remappedPacket, ClientboundPackets1_20_3.SET_TIME.getId());
+            remappedPacket.writeLong(24000L * 100).writeLong(6000L);
+
+            final CompoundTag message = new CompoundTag();
+            message.putString("text", "Hello there");
+            message.putString("color", "yellow");
+            Types.VAR_INT.writePrimitive(transformedPacket, ClientboundPackets1_20_3.SYSTEM_CHAT.getId());
+            Types.TAG.write(transformedPacket, message);
+            transformedPacket.writeBoolean(false); // Overlay
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        remappedPacket.release();
+        transformedPacket.release();
+    }
+
+    @Benchmark
+    public void remappedPacket(final Blackhole blackhole) throws Exception {
+        transform(remappedPacket, blackhole);
+    }
+
+    @Benchmark
+    public void transformedPacket(final Blackhole blackhole) throws Exception {
+        transform(transformedPacket, blackhole);
+    }
+
+    private void transform(final ByteBuf input, final Blackhole blackhole) throws Exception {
+        final ByteBuf output = connection.transformClientboundDirect(input.duplicate(), CancelEncoderException::generate);
+        try {
+            blackhole.consume(output.readableBytes());
+        } finally {
+            output.release();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.benchmark;
+
+import com.viaversion.viaversion.api.type.Types;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringTypeBenchmark {
+
+    @Param({"minecraft:stone", "{\"text\":\"Welcome to the server, have fun!\",\"color\":\"gold\"}", "Grüße aus Köln 🧽"})
+    private String value;
+    @Param({"heap", "direct"})
+    private String bufferType;
+    private ByteBuf buffer;
+
+    @Setup
+    public void setup() {
+        buffer = bufferType.equals("heap") ? Unpooled.buffer(256) : Unpooled.directBuffer(256);
+    }
+
+    @TearDown
+    public void tearDown() {
+        buffer.release();
+    }
+
+    @Benchmark
+    public ByteBuf write() {
+        buffer.clear();
+        Types.STRING.write(buffer, value);
+        return buffer;
+    }
+
+    /**
+     * Previous implementation, encoding into an intermediary byte array first.
+     */
+    @Benchmark
+    public ByteBuf writeGetBytes() {
+        buffer.clear();
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        Types.VAR_INT.writePrimitive(buffer, bytes.length);
+        buffer.writeBytes(bytes);
+        return buffer;
+    }
+
+    @Benchmark
+    public String writeRead() {
+        buffer.clear();
+        Types.STRING.write(buffer, value);
+        return Types.STRING.read(buffer);
+    }
+
+    /**
+     * Previous implementation, decoding through Netty's charset decoder.
+     */
+    @Benchmark
+    public String writeReadToString() {
+        buffer.clear();
+        Types.STRING.write(buffer, value);
+        final int length = Types.VAR_INT.readPrimitive(buffer);
+        final String string = buffer.toString(buffer.readerIndex(), length, StandardCharsets.UTF_8);
+        buffer.skipBytes(length);
+        return string;
+    }
+
+    @Benchmark
+    public String writeReadIdentifier() {
+        buffer.clear();
+        Types.STRING.write(buffer, value);
+        return Types.IDENTIFIER.read(buffer);
+    }
+}
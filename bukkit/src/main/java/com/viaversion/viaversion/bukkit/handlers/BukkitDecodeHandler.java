@@ -48,13 +48,7 @@ public final class BukkitDecodeHandler extends MessageToMessageDecoder<ByteBuf>
             return;
         }
 
-        final ByteBuf transformedBuf = ctx.alloc().buffer().writeBytes(bytebuf);
-        try {
-            connection.transformIncoming(transformedBuf, CancelDecoderException::generate);
-            out.add(transformedBuf.retain());
-        } finally {
-            transformedBuf.release();
-        }
+        out.add(connection.transformIncomingDirect(bytebuf, CancelDecoderException::generate));
     }
 
     @Override
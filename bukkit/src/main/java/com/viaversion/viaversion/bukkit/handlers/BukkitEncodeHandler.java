@@ -31,6 +31,7 @@ import io.netty.handler.codec.ByteToMessageDecoder;
 import io.netty.handler.codec.MessageToByteEncoder;
 import io.netty.handler.codec.MessageToMessageEncoder;
 import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 @ChannelHandler.Sharable
 public final class BukkitEncodeHandler extends MessageToMessageEncoder<ByteBuf> {
@@ -52,50 +53,56 @@ public final class BukkitEncodeHandler extends MessageToMessageEncoder<ByteBuf>
             return;
         }
 
-        final ByteBuf transformedBuf = ctx.alloc().buffer().writeBytes(bytebuf);
-        try {
-            final boolean needsCompression = !handledCompression && handleCompressionOrder(ctx, transformedBuf);
-            connection.transformClientbound(transformedBuf, CancelEncoderException::generate);
-            if (needsCompression) {
-                recompress(ctx, transformedBuf);
+        if (!handledCompression) {
+            final ByteBuf decompressed = handleCompressionOrder(ctx, bytebuf);
+            if (decompressed != null) {
+                try {
+                    final ByteBuf transformedBuf = connection.transformClientboundDirect(decompressed, CancelEncoderException::generate);
+                    try {
+                        out.add(recompress(ctx, transformedBuf));
+                    } finally {
+                        transformedBuf.release();
+                    }
+                } finally {
+                    decompressed.release();
+                }
+                return;
             }
-
-            out.add(transformedBuf.retain());
-        } finally {
-            transformedBuf.release();
         }
+
+        out.add(connection.transformClientboundDirect(bytebuf, CancelEncoderException::generate));
     }
 
-    private boolean handleCompressionOrder(final ChannelHandlerContext ctx, final ByteBuf buf) throws Exception {
+    /**
+     * Fixes the handler order if compression has been enabled.
+     *
+     * @return decompressed packet if it had already been compressed due to bad handler order, else null
+     */
+    private @Nullable ByteBuf handleCompressionOrder(final ChannelHandlerContext ctx, final ByteBuf buf) throws Exception {
         final ChannelPipeline pipeline = ctx.pipeline();
         final List<String> names = pipeline.names();
         final int compressorIndex = names.indexOf(BukkitChannelInitializer.MINECRAFT_COMPRESSOR);
         if (compressorIndex == -1) {
-            return false;
+            return null;
         }
 
         handledCompression = true;
         if (compressorIndex > names.indexOf(BukkitChannelInitializer.VIA_ENCODER)) {
             // Need to decompress this packet due to bad order
             final ByteBuf decompressed = (ByteBuf) PipelineUtil.callDecode((ByteToMessageDecoder) pipeline.get(BukkitChannelInitializer.MINECRAFT_DECOMPRESSOR), ctx, buf).get(0);
-            try {
-                buf.clear().writeBytes(decompressed);
-            } finally {
-                decompressed.release();
-            }
 
             pipeline.addAfter(BukkitChannelInitializer.MINECRAFT_COMPRESSOR, BukkitChannelInitializer.VIA_ENCODER, pipeline.remove(BukkitChannelInitializer.VIA_ENCODER));
             pipeline.addAfter(BukkitChannelInitializer.MINECRAFT_DECOMPRESSOR, BukkitChannelInitializer.VIA_DECODER, pipeline.remove(BukkitChannelInitializer.VIA_DECODER));
-            return true;
+            return decompressed;
         }
-        return false;
+        return null;
     }
 
-    private void recompress(final ChannelHandlerContext ctx, final ByteBuf buf) throws Exception {
+    private ByteBuf recompress(final ChannelHandlerContext ctx, final ByteBuf buf) throws Exception {
         final ByteBuf compressed = ctx.alloc().buffer();
         try {
             PipelineUtil.callEncode((MessageToByteEncoder<ByteBuf>) ctx.pipeline().get(BukkitChannelInitializer.MINECRAFT_COMPRESSOR), ctx, buf, compressed);
-            buf.clear().writeBytes(compressed);
+            return compressed.retain();
         } finally {
             compressed.release();
         }
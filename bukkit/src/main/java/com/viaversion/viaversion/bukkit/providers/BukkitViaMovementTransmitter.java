@@ -27,12 +27,16 @@ import io.netty.channel.ChannelHandlerContext;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
 public class BukkitViaMovementTransmitter extends MovementTransmitterProvider {
     private static boolean USE_NMS = true;
+    // Connections with a main thread tick already queued
+    private final Set<UserConnection> pendingTicks = ConcurrentHashMap.newKeySet();
     // Used for packet mode
     private Object idlePacket;
     private Object idlePacket2;
@@ -97,20 +101,16 @@ public class BukkitViaMovementTransmitter extends MovementTransmitterProvider {
     @Override
     public void sendPlayer(UserConnection info) {
         if (USE_NMS) {
-            Player player = Bukkit.getPlayer(info.getProtocolInfo().getUuid());
-            if (player != null) {
-                try {
-                    // Tick player
-                    Object entityPlayer = getHandle.invoke(player);
-                    Object pc = connection.get(entityPlayer);
-                    if (pc != null) {
-                        handleFlying.invoke(pc, (info.get(MovementTracker.class).isGround() ? idlePacket2 : idlePacket));
-                        // Tick world
-                        info.get(MovementTracker.class).incrementIdlePacket();
+            // Called from the connection's event loop, but ticking the player has to happen on the main thread.
+            // Only keep one tick queued per connection so they don't pile up while the server is lagging
+            if (pendingTicks.add(info)) {
+                Via.getPlatform().runSync(() -> {
+                    try {
+                        tickPlayer(info);
+                    } finally {
+                        pendingTicks.remove(info);
                     }
-                } catch (IllegalAccessException | InvocationTargetException e) {
-                    Via.getPlatform().getLogger().log(Level.WARNING, "Failed to handle idle packet", e);
-                }
+                });
             }
         } else {
             ChannelHandlerContext context = PipelineUtil.getContextBefore("decoder", info.getChannel().pipeline());
@@ -124,4 +124,28 @@ public class BukkitViaMovementTransmitter extends MovementTransmitterProvider {
             }
         }
     }
+
+    private void tickPlayer(UserConnection info) {
+        MovementTracker movementTracker = info.get(MovementTracker.class);
+        // Skip if another scheduled tick already caught up
+        if (movementTracker == null || movementTracker.getNextIdlePacket() > System.currentTimeMillis()) {
+            return;
+        }
+
+        Player player = Bukkit.getPlayer(info.getProtocolInfo().getUuid());
+        if (player != null) {
+            try {
+                // Tick player
+                Object entityPlayer = getHandle.invoke(player);
+                Object pc = connection.get(entityPlayer);
+                if (pc != null) {
+                    handleFlying.invoke(pc, (movementTracker.isGround() ? idlePacket2 : idlePacket));
+                    // Tick world
+                    movementTracker.incrementIdlePacket();
+                }
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                Via.getPlatform().getLogger().log(Level.WARNING, "Failed to handle idle packet", e);
+            }
+        }
+    }
 }
@@ -23,6 +23,8 @@ import com.viaversion.viaversion.api.configuration.ConfigurationProvider;
 import com.viaversion.viaversion.api.connection.ConnectionManager;
 import com.viaversion.viaversion.api.data.MappingDataLoader;
 import com.viaversion.viaversion.api.debug.DebugHandler;
+import com.viaversion.viaversion.api.debug.PacketCapture;
+import com.viaversion.viaversion.api.debug.TransformMetrics;
 import com.viaversion.viaversion.api.platform.PlatformTask;
 import com.viaversion.viaversion.api.platform.UnsupportedSoftware;
 import com.viaversion.viaversion.api.platform.ViaInjector;
@@ -37,19 +39,21 @@ import com.viaversion.viaversion.commands.ViaCommandHandler;
 import com.viaversion.viaversion.configuration.ConfigurationProviderImpl;
 import com.viaversion.viaversion.connection.ConnectionManagerImpl;
 import com.viaversion.viaversion.debug.DebugHandlerImpl;
+import com.viaversion.viaversion.debug.PacketCaptureImpl;
+import com.viaversion.viaversion.debug.TransformMetricsImpl;
 import com.viaversion.viaversion.protocol.ProtocolManagerImpl;
 import com.viaversion.viaversion.protocol.ServerProtocolVersionRange;
 import com.viaversion.viaversion.protocol.ServerProtocolVersionSingleton;
-import com.viaversion.viaversion.protocols.v1_12_2to1_13.task.TabCompleteTask;
-import com.viaversion.viaversion.protocols.v1_8to1_9.task.IdlePacketTask;
 import com.viaversion.viaversion.scheduler.TaskScheduler;
 import com.viaversion.viaversion.update.UpdateUtil;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.SortedSet;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -59,6 +63,8 @@ public class ViaManagerImpl implements ViaManager {
     private final ConnectionManager connectionManager = new ConnectionManagerImpl();
     private final ConfigurationProvider configurationProvider = new ConfigurationProviderImpl();
     private final DebugHandler debugHandler = new DebugHandlerImpl();
+    private final TransformMetrics transformMetrics = new TransformMetricsImpl();
+    private final PacketCapture packetCapture = new PacketCaptureImpl();
     private final ViaProviders providers = new ViaProviders();
     private final Scheduler scheduler = new TaskScheduler();
     private final ViaPlatform<?> platform;
@@ -170,18 +176,6 @@ public class ViaManagerImpl implements ViaManager {
             }
         }, 10L);
 
-        final ProtocolVersion serverProtocolVersion = protocolManager.getServerProtocolVersion().lowestSupportedProtocolVersion();
-        if (serverProtocolVersion.olderThan(ProtocolVersion.v1_9)) {
-            if (Via.getConfig().isSimulatePlayerTick()) {
-                Via.getPlatform().runRepeatingSync(new IdlePacketTask(), 1L);
-            }
-        }
-        if (serverProtocolVersion.olderThan(ProtocolVersion.v1_13)) {
-            if (Via.getConfig().get1_13TabCompleteDelay() > 0) {
-                Via.getPlatform().runRepeatingSync(new TabCompleteTask(), 1L);
-            }
-        }
-
         // Refresh Versions
         protocolManager.refreshVersions();
     }
@@ -214,6 +208,11 @@ public class ViaManagerImpl implements ViaManager {
 
         loader.unload();
         scheduler.shutdown();
+        final CompletableFuture<Path> capture = packetCapture.stop();
+        if (capture != null) {
+            // Finish writing the file before the capture thread is stopped with the server
+            capture.exceptionally(e -> null).join();
+        }
     }
 
     private void checkJavaVersion() { // Stolen from Paper
@@ -291,6 +290,16 @@ public class ViaManagerImpl implements ViaManager {
         return debugHandler;
     }
 
+    @Override
+    public TransformMetrics transformMetrics() {
+        return transformMetrics;
+    }
+
+    @Override
+    public PacketCapture packetCapture() {
+        return packetCapture;
+    }
+
     @Override
     public ViaInjector getInjector() {
         return injector;
@@ -23,6 +23,7 @@ import com.viaversion.viaversion.api.command.ViaCommandSender;
 import com.viaversion.viaversion.api.command.ViaSubCommand;
 import com.viaversion.viaversion.api.command.ViaVersionCommand;
 import com.viaversion.viaversion.commands.defaultsubs.AutoTeamSubCmd;
+import com.viaversion.viaversion.commands.defaultsubs.CaptureSubCmd;
 import com.viaversion.viaversion.commands.defaultsubs.DebugSubCmd;
 import com.viaversion.viaversion.commands.defaultsubs.DisplayLeaksSubCmd;
 import com.viaversion.viaversion.commands.defaultsubs.DontBugMeSubCmd;
@@ -31,6 +32,7 @@ import com.viaversion.viaversion.commands.defaultsubs.ListSubCmd;
 import com.viaversion.viaversion.commands.defaultsubs.PPSSubCmd;
 import com.viaversion.viaversion.commands.defaultsubs.ReloadSubCmd;
 import com.viaversion.viaversion.commands.defaultsubs.PlayerSubCmd;
+import com.viaversion.viaversion.commands.defaultsubs.StatsSubCmd;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -194,6 +196,8 @@ public abstract class ViaCommandHandler implements ViaVersionCommand {
     private void registerDefaults() {
         registerSubCommand(new ListSubCmd());
         registerSubCommand(new PPSSubCmd());
+        registerSubCommand(new StatsSubCmd());
+        registerSubCommand(new CaptureSubCmd());
         registerSubCommand(new DebugSubCmd());
         registerSubCommand(new DumpSubCmd());
         registerSubCommand(new DisplayLeaksSubCmd());
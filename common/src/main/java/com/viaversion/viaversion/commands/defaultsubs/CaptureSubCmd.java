@@ -0,0 +1,147 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.commands.defaultsubs;
+
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.command.ViaCommandSender;
+import com.viaversion.viaversion.api.command.ViaSubCommand;
+import com.viaversion.viaversion.api.connection.ProtocolInfo;
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.debug.PacketCapture;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+public class CaptureSubCmd implements ViaSubCommand {
+
+    @Override
+    public String name() {
+        return "capture";
+    }
+
+    @Override
+    public String description() {
+        return "Captures raw packets before and after transformation into a file.";
+    }
+
+    @Override
+    public String usage() {
+        return "capture <start [player]|stop|status>";
+    }
+
+    @Override
+    public boolean execute(final ViaCommandSender sender, final String[] args) {
+        if (args.length == 0) {
+            return false;
+        }
+
+        final PacketCapture capture = Via.getManager().packetCapture();
+        switch (args[0].toLowerCase()) {
+            case "start" -> {
+                if (args.length > 2) {
+                    return false;
+                }
+                if (capture.enabled()) {
+                    sendMessage(sender, "&cA packet capture is already running, stop it with /viaversion capture stop");
+                    return true;
+                }
+
+                UUID player = null;
+                if (args.length == 2) {
+                    player = findPlayer(args[1]);
+                    if (player == null) {
+                        sendMessage(sender, "&cNo player with the name %s found", args[1]);
+                        return true;
+                    }
+                }
+
+                final Path directory = Via.getPlatform().getDataFolder().toPath().resolve("captures");
+                final Path file = directory.resolve("capture-" + new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date()) + ".bin");
+                try {
+                    Files.createDirectories(directory);
+                    capture.start(file, player);
+                } catch (final IOException | IllegalStateException e) {
+                    Via.getPlatform().getLogger().log(Level.SEVERE, "Failed to start packet capture", e);
+                    sendMessage(sender, "&cFailed to start packet capture: %s", e.getMessage());
+                    return true;
+                }
+                sendMessage(sender, "&6Capturing packets%s into &f%s", player != null ? " of " + args[1] : "", file);
+            }
+            case "stop" -> {
+                final CompletableFuture<Path> future = capture.stop();
+                if (future == null) {
+                    sendMessage(sender, "&cNo packet capture is running");
+                    return true;
+                }
+                sendMessage(sender, "&6Stopping packet capture, &f%d&6 packets captured, &f%d&6 dropped",
+                    capture.capturedPackets(), capture.droppedPackets());
+                future.whenComplete((file, throwable) -> {
+                    if (throwable != null) {
+                        sendMessage(sender, "&cFailed to write packet capture: %s", throwable.getMessage());
+                    } else {
+                        sendMessage(sender, "&6Packet capture written to &f%s", file);
+                    }
+                });
+            }
+            case "status" -> sendMessage(sender, "&6Packet capture is %s&6, &f%d&6 packets captured, &f%d&6 dropped",
+                capture.enabled() ? "&arunning" : "&cstopped", capture.capturedPackets(), capture.droppedPackets());
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private @Nullable UUID findPlayer(final String name) {
+        for (final UserConnection connection : Via.getManager().getConnectionManager().getConnections()) {
+            final ProtocolInfo info = connection.getProtocolInfo();
+            if (name.equalsIgnoreCase(info.getUsername())) {
+                return info.getUuid();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public List<String> onTabComplete(final ViaCommandSender sender, final String[] args) {
+        if (args.length == 1) {
+            return Arrays.asList("start", "stop", "status");
+        } else if (args.length == 2 && args[0].equalsIgnoreCase("start")) {
+            final String input = args[1].toLowerCase();
+            final List<String> matches = new ArrayList<>();
+            for (final UserConnection connection : Via.getManager().getConnectionManager().getConnections()) {
+                final String name = connection.getProtocolInfo().getUsername();
+                if (name != null && name.toLowerCase().startsWith(input)) {
+                    matches.add(name);
+                }
+            }
+            return matches;
+        }
+        return Collections.emptyList();
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.commands.defaultsubs;
+
+import com.google.common.cache.CacheStats;
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.command.ViaCommandSender;
+import com.viaversion.viaversion.api.command.ViaSubCommand;
+import com.viaversion.viaversion.api.debug.TransformMetrics;
+import com.viaversion.viaversion.api.protocol.Protocol;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.PacketType;
+import com.viaversion.viaversion.util.ComponentUtil;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+public class StatsSubCmd implements ViaSubCommand {
+    private static final int DEFAULT_ENTRIES = 10;
+
+    @Override
+    public String name() {
+        return "stats";
+    }
+
+    @Override
+    public String description() {
+        return "Shows the protocols and packets taking the most time to transform.";
+    }
+
+    @Override
+    public String usage() {
+        return "stats [enable|disable|reset|<entries>]";
+    }
+
+    @Override
+    public boolean execute(final ViaCommandSender sender, final String[] args) {
+        final TransformMetrics metrics = Via.getManager().transformMetrics();
+        int entries = DEFAULT_ENTRIES;
+        if (args.length == 1) {
+            if (args[0].equalsIgnoreCase("enable") || args[0].equalsIgnoreCase("disable")) {
+                metrics.setEnabled(args[0].equalsIgnoreCase("enable"));
+                sendMessage(sender, "&6Transform metrics are now %s", (metrics.enabled() ? "&aenabled" : "&cdisabled"));
+                return true;
+            } else if (args[0].equalsIgnoreCase("reset")) {
+                metrics.reset();
+                sendMessage(sender, "&6Cleared transform metrics");
+                return true;
+            }
+
+            try {
+                entries = Integer.parseInt(args[0]);
+            } catch (final NumberFormatException e) {
+                return false;
+            }
+        } else if (args.length > 1) {
+            return false;
+        }
+
+        if (!metrics.enabled()) {
+            sendMessage(sender, "&cTransform metrics are disabled, enable them with /viaversion stats enable");
+        }
+
+        final List<TransformMetrics.Entry> sortedEntries = metrics.entries();
+        if (sortedEntries.isEmpty()) {
+            sendMessage(sender, "&cNo transform metrics recorded.");
+        } else {
+            sortedEntries.sort(Comparator.comparingLong(TransformMetrics.Entry::nanos).reversed());
+            sendMessage(sender, "&4Packet transformations by total time");
+            for (int i = 0; i < Math.min(entries, sortedEntries.size()); i++) {
+                final TransformMetrics.Entry entry = sortedEntries.get(i);
+                sendMessage(sender, "&8[&6%s&8] &b%s %s %s&7: &f%d&7 calls, &f%.2fms&7 total, &f%dns&7 avg, &f%d&7 cancelled, &f%d&7/&f%d&7 bytes in/out",
+                    entry.protocol().getSimpleName(), entry.direction(), entry.state(), packetName(entry),
+                    entry.invocations(), entry.nanos() / 1_000_000D, entry.averageNanos(), entry.cancels(), entry.bytesIn(), entry.bytesOut());
+            }
+        }
+
+        final CacheStats componentCacheStats = ComponentUtil.conversionCacheStats();
+        sendMessage(sender, "&4Component conversion cache&7: &f%d&7 hits, &f%d&7 misses, &f%.1f%%&7 hit rate",
+            componentCacheStats.hitCount(), componentCacheStats.missCount(), componentCacheStats.hitRate() * 100);
+        return true;
+    }
+
+    private String packetName(final TransformMetrics.Entry entry) {
+        final Protocol<?, ?, ?, ?> protocol = Via.getManager().getProtocolManager().getProtocol(entry.protocol());
+        if (protocol != null) {
+            final PacketType packetType = entry.direction() == Direction.CLIENTBOUND
+                ? protocol.getPacketTypesProvider().unmappedClientboundType(entry.state(), entry.packetId())
+                : protocol.getPacketTypesProvider().unmappedServerboundType(entry.state(), entry.packetId());
+            if (packetType != null) {
+                return packetType.getName();
+            }
+        }
+        return "0x" + Integer.toHexString(entry.packetId());
+    }
+
+    @Override
+    public List<String> onTabComplete(final ViaCommandSender sender, final String[] args) {
+        if (args.length == 1) {
+            return Arrays.asList("enable", "disable", "reset");
+        }
+        return Collections.emptyList();
+    }
+}
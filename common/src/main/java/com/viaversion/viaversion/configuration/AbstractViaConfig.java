@@ -91,6 +91,8 @@ public abstract class AbstractViaConfig extends Config implements ViaVersionConf
     private boolean translateOcelotToCat;
     private boolean enforceSecureChat;
     private boolean handleInvalidItemCount;
+    private boolean cacheMappings;
+    private boolean cacheBroadcastTransforms;
 
     protected AbstractViaConfig(final File configFile, final Logger logger) {
         super(configFile, logger);
@@ -161,6 +163,8 @@ public abstract class AbstractViaConfig extends Config implements ViaVersionConf
         translateOcelotToCat = getBoolean("translate-ocelot-to-cat", true);
         enforceSecureChat = getBoolean("enforce-secure-chat", false);
         handleInvalidItemCount = getBoolean("handle-invalid-item-count", false);
+        cacheMappings = getBoolean("cache-mappings", false);
+        cacheBroadcastTransforms = getBoolean("cache-broadcast-transforms", false);
     }
 
     private BlockedProtocolVersions loadBlockedProtocolVersions() {
@@ -542,4 +546,14 @@ public abstract class AbstractViaConfig extends Config implements ViaVersionConf
     public boolean handleInvalidItemCount() {
         return handleInvalidItemCount;
     }
+
+    @Override
+    public boolean cacheMappings() {
+        return cacheMappings;
+    }
+
+    @Override
+    public boolean cacheBroadcastTransforms() {
+        return cacheBroadcastTransforms;
+    }
 }
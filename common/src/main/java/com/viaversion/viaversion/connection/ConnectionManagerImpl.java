@@ -20,6 +20,8 @@ package com.viaversion.viaversion.connection;
 import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.connection.ConnectionManager;
 import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.protocol.Protocol;
+import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFutureListener;
 import java.util.Collections;
@@ -33,6 +35,10 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 public class ConnectionManagerImpl implements ConnectionManager {
     protected final Map<UUID, UserConnection> clients = new ConcurrentHashMap<>();
     protected final Set<UserConnection> connections = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    protected final Map<Class<? extends Protocol>, Set<UserConnection>> connectionsByProtocol = new ConcurrentHashMap<>();
+    protected final Map<ProtocolVersion, Set<UserConnection>> connectionsByVersion = new ConcurrentHashMap<>();
+    // Guards registration changes together with the indexes, so a disconnect can't interleave with an index insert
+    private final Object indexLock = new Object();
 
     @Override
     public void onLoginSuccess(UserConnection connection) {
@@ -42,7 +48,13 @@ public class ConnectionManagerImpl implements ConnectionManager {
         // This user has already disconnected...
         if (channel != null && !channel.isOpen()) return;
 
-        boolean newlyAdded = connections.add(connection);
+        boolean newlyAdded;
+        synchronized (indexLock) {
+            newlyAdded = connections.add(connection);
+            if (newlyAdded) {
+                addToIndex(connection);
+            }
+        }
 
         if (isFrontEnd(connection)) {
             UUID id = connection.getProtocolInfo().getUuid();
@@ -66,7 +78,11 @@ public class ConnectionManagerImpl implements ConnectionManager {
     @Override
     public void onDisconnect(UserConnection connection) {
         Objects.requireNonNull(connection, "connection is null!");
-        connections.remove(connection);
+        synchronized (indexLock) {
+            connections.remove(connection);
+            removeFromIndex(connectionsByProtocol, connection);
+            removeFromIndex(connectionsByVersion, connection);
+        }
 
         if (isFrontEnd(connection)) {
             UUID id = connection.getProtocolInfo().getUuid();
@@ -103,6 +119,56 @@ public class ConnectionManagerImpl implements ConnectionManager {
         return Collections.unmodifiableSet(connections);
     }
 
+    // Live views of the indexes once a connection has been indexed under the key, only containing registered connections
+    @Override
+    public Set<UserConnection> getConnections(Class<? extends Protocol> protocolClass) {
+        return Collections.unmodifiableSet(connectionsByProtocol.getOrDefault(protocolClass, Set.of()));
+    }
+
+    @Override
+    public Set<UserConnection> getConnections(ProtocolVersion protocolVersion) {
+        return Collections.unmodifiableSet(connectionsByVersion.getOrDefault(protocolVersion, Set.of()));
+    }
+
+    @Override
+    public void onProtocolAdded(UserConnection connection, Protocol protocol) {
+        synchronized (indexLock) {
+            // Unregistered connections are indexed once they are registered
+            if (connections.contains(connection)) {
+                indexedSet(connectionsByProtocol, protocol.getClass()).add(connection);
+            }
+        }
+    }
+
+    @Override
+    public void onPipelineCleared(UserConnection connection) {
+        synchronized (indexLock) {
+            removeFromIndex(connectionsByProtocol, connection);
+        }
+    }
+
+    private void addToIndex(UserConnection connection) {
+        for (Protocol protocol : connection.getProtocolInfo().getPipeline().pipes()) {
+            indexedSet(connectionsByProtocol, protocol.getClass()).add(connection);
+        }
+
+        ProtocolVersion protocolVersion = connection.getProtocolInfo().protocolVersion();
+        if (protocolVersion != null) {
+            indexedSet(connectionsByVersion, protocolVersion).add(connection);
+        }
+    }
+
+    private static <K> Set<UserConnection> indexedSet(Map<K, Set<UserConnection>> index, K key) {
+        // Sets are kept once created, there is only a limited number of protocols and versions
+        return index.computeIfAbsent(key, k -> Collections.newSetFromMap(new ConcurrentHashMap<>()));
+    }
+
+    private static void removeFromIndex(Map<?, Set<UserConnection>> index, UserConnection connection) {
+        for (Set<UserConnection> set : index.values()) {
+            set.remove(connection);
+        }
+    }
+
     @Override
     public boolean isClientConnected(UUID playerId) {
         return clients.containsKey(playerId);
@@ -23,6 +23,8 @@ import com.viaversion.viaversion.api.connection.ProtocolInfo;
 import com.viaversion.viaversion.api.connection.StorableObject;
 import com.viaversion.viaversion.api.connection.UserConnection;
 import com.viaversion.viaversion.api.data.entity.EntityTracker;
+import com.viaversion.viaversion.api.debug.PacketCapture;
+import com.viaversion.viaversion.api.debug.TransformMetrics;
 import com.viaversion.viaversion.api.platform.ViaInjector;
 import com.viaversion.viaversion.api.protocol.Protocol;
 import com.viaversion.viaversion.api.protocol.packet.Direction;
@@ -30,8 +32,12 @@ import com.viaversion.viaversion.api.protocol.packet.PacketTracker;
 import com.viaversion.viaversion.api.protocol.packet.PacketWrapper;
 import com.viaversion.viaversion.api.protocol.packet.State;
 import com.viaversion.viaversion.api.type.Types;
+import com.viaversion.viaversion.api.type.types.VarIntType;
 import com.viaversion.viaversion.exception.CancelException;
 import com.viaversion.viaversion.exception.InformativeException;
+import com.viaversion.viaversion.protocol.ProtocolChain;
+import com.viaversion.viaversion.protocol.ProtocolPipelineImpl;
+import com.viaversion.viaversion.protocol.TransformCache;
 import com.viaversion.viaversion.protocol.packet.PacketWrapperImpl;
 import com.viaversion.viaversion.util.ChatColorUtil;
 import com.viaversion.viaversion.util.PipelineUtil;
@@ -318,36 +324,163 @@ public class UserConnectionImpl implements UserConnection {
         transform(buf, Direction.SERVERBOUND, cancelSupplier);
     }
 
+    @Override
+    public ByteBuf transformClientboundDirect(ByteBuf buf, Function<Throwable, CodecException> cancelSupplier) throws InformativeException, CodecException {
+        return transformDirect(buf, Direction.CLIENTBOUND, cancelSupplier);
+    }
+
+    @Override
+    public ByteBuf transformServerboundDirect(ByteBuf buf, Function<Throwable, CodecException> cancelSupplier) throws InformativeException, CodecException {
+        return transformDirect(buf, Direction.SERVERBOUND, cancelSupplier);
+    }
+
     private void transform(ByteBuf buf, Direction direction, Function<Throwable, CodecException> cancelSupplier) throws InformativeException, CodecException {
+        final ByteBuf transformed = transformDirect(buf, direction, cancelSupplier);
+        try {
+            if (transformed != buf) {
+                buf.clear().writeBytes(transformed);
+            }
+        } finally {
+            transformed.release();
+        }
+    }
+
+    private ByteBuf transformDirect(ByteBuf buf, Direction direction, Function<Throwable, CodecException> cancelSupplier) throws InformativeException, CodecException {
+        final PacketCapture capture = Via.getManager().packetCapture();
+        if (!buf.isReadable() || !capture.shouldCapture(this)) {
+            return transformPacket(buf, direction, cancelSupplier);
+        }
+
+        // Copy the input before it is read or modified in place
+        final int captureId = capture.captureInput(this, direction, protocolInfo.getState(direction), buf);
+        ByteBuf transformed = null;
+        try {
+            transformed = transformPacket(buf, direction, cancelSupplier);
+            return transformed;
+        } finally {
+            capture.captureOutput(this, captureId, transformed);
+        }
+    }
+
+    private ByteBuf transformPacket(ByteBuf buf, Direction direction, Function<Throwable, CodecException> cancelSupplier) throws InformativeException, CodecException {
         if (!buf.isReadable()) {
-            return;
+            return buf.retain();
         }
 
-        int id = Types.VAR_INT.readPrimitive(buf);
+        final int readerIndex = buf.readerIndex();
+        final int length = buf.readableBytes();
+        final int id = Types.VAR_INT.readPrimitive(buf);
         if (id == PacketWrapper.PASSTHROUGH_ID) {
             if (!passthroughTokens.remove(Types.UUID.read(buf))) {
                 throw new IllegalArgumentException("Invalid token");
             }
-            return;
+            return buf.retain();
+        }
+
+        final State state = protocolInfo.getState(direction);
+        final int mappedId = passthroughPacketId(direction, state, id);
+        if (mappedId == id) {
+            // Not touched by any protocol
+            buf.readerIndex(readerIndex);
+            return buf.retain();
+        } else if (mappedId != Protocol.TRANSFORM_PACKET) {
+            return remapPacketId(buf, mappedId);
         }
 
-        PacketWrapper wrapper = new PacketWrapperImpl(id, buf, this);
-        State state = protocolInfo.getState(direction);
+        final TransformMetrics metrics = Via.getManager().transformMetrics();
+        final boolean recordMetrics = metrics.enabled();
+        final long start = recordMetrics ? System.nanoTime() : 0L;
+
+        // Packets broadcast to many players only need to be transformed once per protocol chain
+        final ProtocolChain sharedChain = sharedTransformChain(direction, state, id, length);
+        TransformCache.Key cacheKey = null;
+        if (sharedChain != null) {
+            cacheKey = TransformCache.key(state, buf.slice(readerIndex, length));
+            final byte[] cached = sharedChain.transformCache().get(cacheKey);
+            if (cached != null) {
+                final boolean cancelled = TransformCache.isCancelled(cached);
+                if (recordMetrics) {
+                    metrics.recordPipelineTransform(direction, state, id, System.nanoTime() - start, cancelled, length, cached.length);
+                }
+                if (cancelled) {
+                    throw cancelSupplier.apply(CancelException.generate());
+                }
+                return buf.alloc().buffer(cached.length).writeBytes(cached);
+            }
+        }
+
+        final PacketWrapper wrapper = new PacketWrapperImpl(id, buf, this);
         try {
             protocolInfo.getPipeline().transform(direction, state, wrapper);
         } catch (CancelException ex) {
+            if (recordMetrics) {
+                metrics.recordPipelineTransform(direction, state, id, System.nanoTime() - start, true, length, 0);
+            }
+            if (cacheKey != null && sharedChain.isConnectionIndependent(state, id)) {
+                sharedChain.transformCache().putCancelled(cacheKey);
+            }
             throw cancelSupplier.apply(ex);
         }
 
-        ByteBuf transformed = buf.alloc().buffer();
+        // Write the output once into the buffer that is handed back, using the input size as an estimate
+        final ByteBuf transformed = buf.alloc().buffer(length);
         try {
             wrapper.writeToBuffer(transformed);
-            buf.clear().writeBytes(transformed);
+            if (recordMetrics) {
+                metrics.recordPipelineTransform(direction, state, id, System.nanoTime() - start, false, length, transformed.readableBytes());
+            }
+            if (cacheKey != null && sharedChain.isConnectionIndependent(state, id)) {
+                sharedChain.transformCache().put(cacheKey, transformed);
+            }
+            return transformed.retain();
         } finally {
             transformed.release();
         }
     }
 
+    /**
+     * Returns the protocol chain whose transform cache may be used for the packet, or null if it has to be transformed for this connection.
+     */
+    private @Nullable ProtocolChain sharedTransformChain(final Direction direction, final State state, final int id, final int length) {
+        if (direction != Direction.CLIENTBOUND || length > TransformCache.MAX_PACKET_LENGTH || !Via.getConfig().cacheBroadcastTransforms()) {
+            return null;
+        }
+        if (Via.getManager().debugHandler().enabled()) {
+            // Let packets be logged by the pipeline
+            return null;
+        }
+        if (!(protocolInfo.getPipeline() instanceof ProtocolPipelineImpl pipeline)) {
+            return null;
+        }
+
+        // The first transformation determines whether the packet can be shared
+        final ProtocolChain chain = pipeline.protocolChainFor(direction);
+        return chain.isConnectionIndependent(state, id) ? chain : null;
+    }
+
+    private int passthroughPacketId(final Direction direction, final State state, final int id) {
+        if (Via.getManager().debugHandler().enabled()) {
+            // Let packets be logged by the pipeline
+            return Protocol.TRANSFORM_PACKET;
+        }
+        return protocolInfo.getPipeline().mappedPassthroughPacketId(direction, state, id);
+    }
+
+    /**
+     * Writes the packet with a new leading packet id into a new buffer, copying the rest of the packet.
+     *
+     * @param buf      buffer with its reader index after the packet id
+     * @param mappedId new packet id
+     * @return new buffer containing the packet with the new id
+     */
+    private ByteBuf remapPacketId(final ByteBuf buf, final int mappedId) {
+        // The input buffer may share its memory with others, never modify it
+        final ByteBuf remapped = buf.alloc().buffer(VarIntType.byteLength(mappedId) + buf.readableBytes());
+        Types.VAR_INT.writePrimitive(remapped, mappedId);
+        remapped.writeBytes(buf);
+        return remapped;
+    }
+
     @Override
     public long getId() {
         return id;
@@ -0,0 +1,353 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.debug;
+
+import com.google.common.base.Preconditions;
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.connection.ProtocolInfo;
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.debug.PacketCapture;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
+import io.netty.buffer.ByteBuf;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Writes captured packets as a sequence of length-prefixed records after a file header.
+ * <p>
+ * Header: int {@link #MAGIC}, short {@link #FORMAT_VERSION}, long start epoch millis, long start nano time.
+ * <p>
+ * Record: int length of the remaining record, byte type, long nano time, long connection id, int capture id, followed by
+ * <ul>
+ *     <li>{@link #INPUT}: int client protocol version, int server protocol version, byte direction, byte state, packet bytes</li>
+ *     <li>{@link #OUTPUT}: transformed packet bytes</li>
+ *     <li>{@link #CANCELLED}: nothing</li>
+ * </ul>
+ * Output records follow their input record, but packets sent during the transformation of another packet may come in between.
+ */
+public final class PacketCaptureImpl implements PacketCapture {
+
+    public static final int MAGIC = 0x56564350; // VVCP
+    public static final short FORMAT_VERSION = 1;
+    public static final byte INPUT = 0;
+    public static final byte OUTPUT = 1;
+    public static final byte CANCELLED = 2;
+    private static final int RECORD_HEADER_LENGTH = Integer.BYTES + Byte.BYTES + Long.BYTES * 2 + Integer.BYTES;
+    private static final int INPUT_HEADER_LENGTH = RECORD_HEADER_LENGTH + Integer.BYTES * 2 + Byte.BYTES * 2;
+    private static final int RING_CAPACITY = 1 << 22;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private final int ringCapacity;
+    private volatile @Nullable Session session;
+    // Counters of the last capture, only the summary is kept after stopping
+    private volatile long lastCapturedPackets;
+    private volatile long lastDroppedPackets;
+
+    public PacketCaptureImpl() {
+        this(RING_CAPACITY);
+    }
+
+    /**
+     * @param ringCapacity capacity of the per-thread ring buffers in bytes, must be a power of two
+     */
+    public PacketCaptureImpl(final int ringCapacity) {
+        Preconditions.checkArgument(ringCapacity > 0 && (ringCapacity & (ringCapacity - 1)) == 0, "Ring capacity must be a power of two");
+        this.ringCapacity = ringCapacity;
+    }
+
+    @Override
+    public boolean enabled() {
+        return session != null;
+    }
+
+    @Override
+    public synchronized void start(final Path file, @Nullable final UUID player) throws IOException {
+        Preconditions.checkState(session == null, "Packet capture is already running");
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        try {
+            final ByteBuffer header = ByteBuffer.allocate(Integer.BYTES + Short.BYTES + Long.BYTES * 2);
+            header.putInt(MAGIC).putShort(FORMAT_VERSION).putLong(System.currentTimeMillis()).putLong(System.nanoTime()).flip();
+            writeFully(channel, header);
+        } catch (final IOException e) {
+            channel.close();
+            throw e;
+        }
+
+        final Session session = new Session(file, channel, player);
+        lastCapturedPackets = 0;
+        lastDroppedPackets = 0;
+        this.session = session;
+        session.thread.start();
+    }
+
+    @Override
+    public synchronized @Nullable CompletableFuture<Path> stop() {
+        final Session session = this.session;
+        if (session == null) {
+            return null;
+        }
+
+        // The remaining packets are written by the capture thread, which completes the future once done
+        this.session = null;
+        session.summarize();
+        session.running = false;
+        LockSupport.unpark(session.thread);
+        return session.future;
+    }
+
+    @Override
+    public boolean shouldCapture(final UserConnection connection) {
+        final Session session = this.session;
+        return session != null && (session.player == null || session.player.equals(connection.getProtocolInfo().getUuid()));
+    }
+
+    @Override
+    public int captureInput(final UserConnection connection, final Direction direction, final State state, final ByteBuf buf) {
+        final Session session = this.session;
+        if (session == null) {
+            return -1;
+        }
+
+        final Ring ring = session.ring.get();
+        // Connections may be handled on different threads, so the id is shared by all rings
+        final int captureId = session.nextCaptureId.getAndIncrement();
+        final ProtocolInfo info = connection.getProtocolInfo();
+        final int length = buf.readableBytes();
+        final ByteBuffer header = ring.header;
+        header.clear();
+        header.putInt(INPUT_HEADER_LENGTH - Integer.BYTES + length)
+            .put(INPUT)
+            .putLong(System.nanoTime())
+            .putLong(connection.getId())
+            .putInt(captureId)
+            .putInt(version(info.protocolVersion()))
+            .putInt(version(info.serverProtocolVersion()))
+            .put((byte) direction.ordinal())
+            .put((byte) state.ordinal());
+        ring.write(header, buf, length);
+        return captureId;
+    }
+
+    @Override
+    public void captureOutput(final UserConnection connection, final int captureId, @Nullable final ByteBuf buf) {
+        final Session session = this.session;
+        if (session == null || captureId == -1) {
+            return;
+        }
+
+        final Ring ring = session.ring.get();
+        final int length = buf != null ? buf.readableBytes() : 0;
+        final ByteBuffer header = ring.header;
+        header.clear();
+        header.putInt(RECORD_HEADER_LENGTH - Integer.BYTES + length)
+            .put(buf != null ? OUTPUT : CANCELLED)
+            .putLong(System.nanoTime())
+            .putLong(connection.getId())
+            .putInt(captureId);
+        ring.write(header, buf, length);
+    }
+
+    @Override
+    public long capturedPackets() {
+        final Session session = this.session;
+        return session != null ? session.capturedPackets() : lastCapturedPackets;
+    }
+
+    @Override
+    public long droppedPackets() {
+        final Session session = this.session;
+        return session != null ? session.droppedPackets() : lastDroppedPackets;
+    }
+
+    private static int version(@Nullable final ProtocolVersion version) {
+        return version != null ? version.getVersion() : -1;
+    }
+
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private final class Session implements Runnable {
+        private final List<Ring> rings = new CopyOnWriteArrayList<>();
+        private final ThreadLocal<Ring> ring = ThreadLocal.withInitial(() -> {
+            final Ring ring = new Ring(ringCapacity);
+            rings.add(ring);
+            return ring;
+        });
+        private final AtomicInteger nextCaptureId = new AtomicInteger();
+        private final CompletableFuture<Path> future = new CompletableFuture<>();
+        private final Path file;
+        private final FileChannel channel;
+        private final @Nullable UUID player;
+        private final Thread thread;
+        private volatile boolean running = true;
+
+        private Session(final Path file, final FileChannel channel, @Nullable final UUID player) {
+            this.file = file;
+            this.channel = channel;
+            this.player = player;
+            this.thread = new Thread(this, "Via-PacketCapture");
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            try (channel) {
+                while (running) {
+                    if (drain() == 0) {
+                        LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    }
+                }
+                drain();
+                future.complete(file);
+            } catch (final IOException e) {
+                Via.getPlatform().getLogger().log(Level.SEVERE, "Failed to write packet capture to " + file, e);
+                synchronized (PacketCaptureImpl.this) {
+                    if (session == this) {
+                        session = null;
+                        summarize();
+                    }
+                }
+                future.completeExceptionally(e);
+            } finally {
+                // Threads keep their ring until the thread local is collected, only the buffers can be released right away
+                for (final Ring ring : rings) {
+                    ring.release();
+                }
+                rings.clear();
+            }
+        }
+
+        private void summarize() {
+            lastCapturedPackets = capturedPackets();
+            lastDroppedPackets = droppedPackets();
+        }
+
+        private long capturedPackets() {
+            long captured = 0;
+            for (final Ring ring : rings) {
+                captured += ring.records;
+            }
+            return captured;
+        }
+
+        private long droppedPackets() {
+            long dropped = 0;
+            for (final Ring ring : rings) {
+                dropped += ring.dropped;
+            }
+            return dropped;
+        }
+
+        private long drain() throws IOException {
+            long drained = 0;
+            for (final Ring ring : rings) {
+                drained += ring.drainTo(channel);
+            }
+            return drained;
+        }
+    }
+
+    /**
+     * Single producer, single consumer byte ring buffer, only written to by the thread owning it.
+     */
+    private static final class Ring {
+        private final ByteBuffer header = ByteBuffer.allocate(INPUT_HEADER_LENGTH);
+        private final AtomicLong head = new AtomicLong();
+        private final AtomicLong tail = new AtomicLong();
+        private final int mask;
+        private volatile byte @Nullable [] buffer;
+        private volatile long records;
+        private volatile long dropped;
+
+        private Ring(final int capacity) {
+            this.buffer = new byte[capacity];
+            this.mask = capacity - 1;
+        }
+
+        private void write(final ByteBuffer header, @Nullable final ByteBuf buf, final int length) {
+            final byte[] buffer = this.buffer;
+            final int headerLength = header.position();
+            final long tail = this.tail.get();
+            if (buffer == null || headerLength + length > buffer.length - (tail - head.get())) {
+                dropped++;
+                return;
+            }
+
+            long position = put(buffer, tail, header.array(), headerLength);
+            if (buf != null) {
+                final int offset = (int) (position & mask);
+                final int first = Math.min(length, buffer.length - offset);
+                buf.getBytes(buf.readerIndex(), buffer, offset, first);
+                if (first < length) {
+                    buf.getBytes(buf.readerIndex() + first, buffer, 0, length - first);
+                }
+                position += length;
+            }
+            this.tail.lazySet(position);
+            records++;
+        }
+
+        private long put(final byte[] buffer, final long position, final byte[] src, final int length) {
+            final int offset = (int) (position & mask);
+            final int first = Math.min(length, buffer.length - offset);
+            System.arraycopy(src, 0, buffer, offset, first);
+            System.arraycopy(src, first, buffer, 0, length - first);
+            return position + length;
+        }
+
+        private int drainTo(final FileChannel channel) throws IOException {
+            final byte[] buffer = this.buffer;
+            final long head = this.head.get();
+            final long tail = this.tail.get();
+            if (buffer == null || head == tail) {
+                return 0;
+            }
+
+            final int offset = (int) (head & mask);
+            final int length = (int) (tail - head);
+            final int first = Math.min(length, buffer.length - offset);
+            writeFully(channel, ByteBuffer.wrap(buffer, offset, first));
+            if (first < length) {
+                writeFully(channel, ByteBuffer.wrap(buffer, 0, length - first));
+            }
+            this.head.lazySet(tail);
+            return length;
+        }
+
+        private void release() {
+            buffer = null;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.debug;
+
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Reads files written by {@link PacketCaptureImpl}.
+ */
+public final class PacketCaptureReader implements Closeable {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final State[] STATES = State.values();
+    private final DataInputStream input;
+    private final long startMillis;
+    private final long startNanos;
+
+    public PacketCaptureReader(final Path file) throws IOException {
+        this.input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+        try {
+            final int magic = input.readInt();
+            if (magic != PacketCaptureImpl.MAGIC) {
+                throw new IOException("Not a packet capture file: " + file);
+            }
+
+            final short formatVersion = input.readShort();
+            if (formatVersion != PacketCaptureImpl.FORMAT_VERSION) {
+                throw new IOException("Unsupported packet capture format version " + formatVersion);
+            }
+
+            this.startMillis = input.readLong();
+            this.startNanos = input.readLong();
+        } catch (final IOException e) {
+            input.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the next record, or null if the end of the file has been reached.
+     *
+     * @return next record, or null if the end of the file has been reached
+     * @throws IOException if the file could not be read or is truncated
+     */
+    public @Nullable Entry next() throws IOException {
+        final int length;
+        try {
+            length = input.readInt();
+        } catch (final EOFException e) {
+            return null;
+        }
+
+        final byte type = input.readByte();
+        final long nanoTime = input.readLong();
+        final long connectionId = input.readLong();
+        final int captureId = input.readInt();
+        int remaining = length - Byte.BYTES - Long.BYTES * 2 - Integer.BYTES;
+        if (type == PacketCaptureImpl.INPUT) {
+            final int clientVersion = input.readInt();
+            final int serverVersion = input.readInt();
+            final Direction direction = DIRECTIONS[input.readByte()];
+            final State state = STATES[input.readByte()];
+            remaining -= Integer.BYTES * 2 + Byte.BYTES * 2;
+            return new Entry(type, nanoTime, connectionId, captureId, clientVersion, serverVersion, direction, state, readBytes(remaining));
+        }
+        return new Entry(type, nanoTime, connectionId, captureId, -1, -1, null, null, readBytes(remaining));
+    }
+
+    private byte[] readBytes(final int length) throws IOException {
+        final byte[] data = new byte[length];
+        input.readFully(data);
+        return data;
+    }
+
+    /**
+     * Returns the epoch millis the capture was started at.
+     *
+     * @return epoch millis the capture was started at
+     */
+    public long startMillis() {
+        return startMillis;
+    }
+
+    /**
+     * Converts the nano time of a record to epoch millis.
+     *
+     * @param nanoTime nano time of a record
+     * @return epoch millis
+     */
+    public long toMillis(final long nanoTime) {
+        return startMillis + (nanoTime - startNanos) / 1_000_000L;
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+
+    /**
+     * A single capture record. Client and server version, direction, and state are only set for input records.
+     *
+     * @param type          one of {@link PacketCaptureImpl#INPUT}, {@link PacketCaptureImpl#OUTPUT}, or {@link PacketCaptureImpl#CANCELLED}
+     * @param nanoTime      nano time the packet was captured at
+     * @param connectionId  id of the connection
+     * @param captureId     id pairing input and output records of a connection
+     * @param clientVersion client protocol version, or -1
+     * @param serverVersion server protocol version, or -1
+     * @param direction     packet direction, or null
+     * @param state         protocol state, or null
+     * @param data          packet bytes, including the packet id
+     */
+    public record Entry(byte type, long nanoTime, long connectionId, int captureId, int clientVersion, int serverVersion,
+                        @Nullable Direction direction, @Nullable State state, byte[] data) {
+
+        public boolean input() {
+            return type == PacketCaptureImpl.INPUT;
+        }
+    }
+}
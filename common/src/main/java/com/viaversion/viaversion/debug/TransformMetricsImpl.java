@@ -0,0 +1,137 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.debug;
+
+import com.viaversion.viaversion.api.debug.TransformMetrics;
+import com.viaversion.viaversion.api.protocol.Protocol;
+import com.viaversion.viaversion.api.protocol.ProtocolPipeline;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+public final class TransformMetricsImpl implements TransformMetrics {
+
+    // Packet ids are used as slot indices, anything outside of this range is not recorded
+    private static final int MAX_PACKET_ID = 0xFF;
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final State[] STATES = State.values();
+    private static final int SLOTS_PER_DIRECTION = STATES.length * (MAX_PACKET_ID + 1);
+    private final Map<Class<? extends Protocol>, Slots> slots = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+
+    @Override
+    public boolean enabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void recordTransform(final Class<? extends Protocol> protocol, final Direction direction, final State state, final int packetId, final long nanos, final boolean cancelled) {
+        final Counters counters = counters(protocol, direction, state, packetId);
+        if (counters != null) {
+            counters.record(nanos, cancelled);
+        }
+    }
+
+    @Override
+    public void recordPipelineTransform(final Direction direction, final State state, final int packetId, final long nanos, final boolean cancelled, final int bytesIn, final int bytesOut) {
+        final Counters counters = counters(ProtocolPipeline.class, direction, state, packetId);
+        if (counters != null) {
+            counters.record(nanos, cancelled);
+            counters.bytesIn.add(bytesIn);
+            counters.bytesOut.add(bytesOut);
+        }
+    }
+
+    private @Nullable Counters counters(final Class<? extends Protocol> protocol, final Direction direction, final State state, final int packetId) {
+        if (packetId < 0 || packetId > MAX_PACKET_ID) {
+            return null;
+        }
+        return slots.computeIfAbsent(protocol, key -> new Slots()).counters(direction.ordinal() * SLOTS_PER_DIRECTION + state.ordinal() * (MAX_PACKET_ID + 1) + packetId);
+    }
+
+    @Override
+    public List<Entry> entries() {
+        final List<Entry> entries = new ArrayList<>();
+        for (final Map.Entry<Class<? extends Protocol>, Slots> entry : slots.entrySet()) {
+            final AtomicReferenceArray<Counters> counters = entry.getValue().counters;
+            for (int i = 0; i < counters.length(); i++) {
+                final Counters slot = counters.get(i);
+                if (slot == null) {
+                    continue;
+                }
+
+                final Direction direction = DIRECTIONS[i / SLOTS_PER_DIRECTION];
+                final State state = STATES[(i % SLOTS_PER_DIRECTION) / (MAX_PACKET_ID + 1)];
+                final int packetId = i % (MAX_PACKET_ID + 1);
+                entries.add(new Entry(entry.getKey(), direction, state, packetId,
+                    slot.invocations.sum(), slot.nanos.sum(), slot.cancels.sum(), slot.bytesIn.sum(), slot.bytesOut.sum()));
+            }
+        }
+        return entries;
+    }
+
+    @Override
+    public void reset() {
+        slots.clear();
+    }
+
+    /**
+     * Counters of a single protocol, indexed by direction, state, and packet id.
+     * Counters are only allocated the first time their slot is recorded to.
+     */
+    private static final class Slots {
+        private final AtomicReferenceArray<Counters> counters = new AtomicReferenceArray<>(DIRECTIONS.length * SLOTS_PER_DIRECTION);
+
+        private Counters counters(final int index) {
+            final Counters counters = this.counters.get(index);
+            if (counters != null) {
+                return counters;
+            }
+
+            final Counters created = new Counters();
+            return this.counters.compareAndSet(index, null, created) ? created : this.counters.get(index);
+        }
+    }
+
+    private static final class Counters {
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder cancels = new LongAdder();
+        private final LongAdder bytesIn = new LongAdder();
+        private final LongAdder bytesOut = new LongAdder();
+
+        private void record(final long nanos, final boolean cancelled) {
+            invocations.increment();
+            this.nanos.add(nanos);
+            if (cancelled) {
+                cancels.increment();
+            }
+        }
+    }
+}
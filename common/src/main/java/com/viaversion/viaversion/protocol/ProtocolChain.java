@@ -0,0 +1,256 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.protocol;
+
+import com.viaversion.viaversion.api.protocol.Protocol;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.PacketType;
+import com.viaversion.viaversion.api.protocol.packet.PacketWrapper;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import com.viaversion.viaversion.exception.CancelException;
+import com.viaversion.viaversion.exception.InformativeException;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Compiled form of an ordered protocol list for a single direction, letting packets skip protocols that do not
+ * do anything other than changing their id.
+ * <p>
+ * For every state, protocol index and packet id, the index of the next protocol that needs to fully transform the
+ * packet is lazily computed together with the packet id and type it will have at that point. Instances are immutable
+ * apart from that cache and may be shared between connections with the same protocol list, until they are
+ * {@link #invalidate() invalidated} by changes to the packet mappings of their protocols.
+ * <p>
+ * The chain also records whether packets have only been transformed by connection independent handlers, in which
+ * case their transformed form may be shared through the {@link #transformCache()}.
+ *
+ * @see Protocol#mappedPassthroughPacketId(Direction, State, int)
+ */
+public final class ProtocolChain {
+    private static final int MAX_CACHED_PACKET_ID = 0x100;
+    private static final byte CONNECTION_DEPENDENT = 1;
+    private static final byte CONNECTION_INDEPENDENT = 2;
+    private final Protocol[] protocols;
+    private final Direction direction;
+    // [state][protocol index][packet id] -> next transforming protocol, null if not yet computed
+    private final NextTransform[][][] nextTransforms;
+    // [state][packet id] -> CONNECTION_INDEPENDENT or CONNECTION_DEPENDENT, 0 if not yet transformed
+    private final byte[][] connectionIndependence;
+    private volatile @Nullable TransformCache transformCache;
+    private volatile boolean valid = true;
+
+    public ProtocolChain(final List<Protocol> protocols, final Direction direction) {
+        this.protocols = protocols.toArray(new Protocol[0]);
+        this.direction = direction;
+        this.nextTransforms = new NextTransform[State.values().length][this.protocols.length][];
+        this.connectionIndependence = new byte[State.values().length][MAX_CACHED_PACKET_ID];
+    }
+
+    /**
+     * Transforms the packet, only calling the protocols that do more than changing the packet id.
+     *
+     * @param state   protocol state
+     * @param wrapper packet wrapper
+     * @throws InformativeException if packet transforming failed
+     * @throws CancelException      if the packet is cancelled
+     * @see PacketWrapper#apply(Direction, State, List)
+     */
+    public void apply(State state, final PacketWrapper wrapper) throws InformativeException, CancelException {
+        final State initialState = state;
+        final int initialId = wrapper.getId();
+        // Only checked once per packet id, chains are replaced once handlers of their protocols change
+        final boolean checkIndependence = initialId >= 0 && initialId < MAX_CACHED_PACKET_ID
+            && connectionIndependence[initialState.ordinal()][initialId] == 0;
+        boolean connectionIndependent = true;
+        boolean transformed = false;
+        try {
+            int index = 0;
+            while (index < protocols.length) {
+                final int unmappedId = wrapper.getId();
+                final int nextIndex;
+                if (unmappedId >= 0) {
+                    final NextTransform next = nextTransform(state, index, unmappedId);
+                    nextIndex = next.index();
+                    if (next.packetType() != null) {
+                        // Set the type the skipped protocols would have set
+                        wrapper.setPacketType(next.packetType());
+                    } else if (next.typeDropped()) {
+                        // Also clears the previous type like the id mappings of the skipped protocols would
+                        //noinspection deprecation
+                        wrapper.setId(next.id());
+                    }
+                    if (nextIndex == protocols.length) {
+                        break;
+                    }
+                } else {
+                    nextIndex = index;
+                }
+
+                final Protocol protocol = protocols[nextIndex];
+                if (checkIndependence && connectionIndependent) {
+                    connectionIndependent = protocol.isConnectionIndependent(direction, state, wrapper.getId());
+                }
+                protocol.transform(direction, state, wrapper);
+                wrapper.resetReader();
+
+                final PacketType packetType = wrapper.getPacketType();
+                if (packetType != null) {
+                    state = packetType.state();
+                }
+                index = nextIndex + 1;
+            }
+            transformed = true;
+        } catch (final CancelException e) {
+            // Cancellations are shared as well, the protocols run until then decide whether they depend on the connection
+            transformed = true;
+            throw e;
+        } finally {
+            if (checkIndependence && transformed) {
+                connectionIndependence[initialState.ordinal()][initialId] = connectionIndependent ? CONNECTION_INDEPENDENT : CONNECTION_DEPENDENT;
+            }
+        }
+    }
+
+    /**
+     * Returns whether a previous transformation of the packet only ran connection independent handlers.
+     *
+     * @param state      protocol state
+     * @param unmappedId unmapped packet id
+     * @return whether the packet is known to be transformed independently of the connection
+     * @see Protocol#isConnectionIndependent(Direction, State, int)
+     */
+    public boolean isConnectionIndependent(final State state, final int unmappedId) {
+        return unmappedId >= 0 && unmappedId < MAX_CACHED_PACKET_ID
+            && connectionIndependence[state.ordinal()][unmappedId] == CONNECTION_INDEPENDENT;
+    }
+
+    /**
+     * Returns the cache of recently transformed packets shared by all connections using this chain.
+     *
+     * @return transform cache
+     */
+    public TransformCache transformCache() {
+        TransformCache cache = transformCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = transformCache;
+                if (cache == null) {
+                    cache = new TransformCache();
+                    transformCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Returns the final packet id if no protocol in the chain needs to transform the packet.
+     *
+     * @param state      protocol state
+     * @param unmappedId unmapped packet id
+     * @return final packet id, or {@link Protocol#TRANSFORM_PACKET} if the packet needs to be transformed
+     */
+    public int mappedPassthroughPacketId(final State state, final int unmappedId) {
+        if (protocols.length == 0) {
+            return unmappedId;
+        } else if (unmappedId < 0) {
+            return Protocol.TRANSFORM_PACKET;
+        }
+
+        final NextTransform next = nextTransform(state, 0, unmappedId);
+        return next.index() == protocols.length ? next.id() : Protocol.TRANSFORM_PACKET;
+    }
+
+    private NextTransform nextTransform(final State state, final int index, final int id) {
+        if (id >= MAX_CACHED_PACKET_ID) {
+            return computeNextTransform(state, index, id);
+        }
+
+        final NextTransform[][] stateTransforms = nextTransforms[state.ordinal()];
+        NextTransform[] transforms = stateTransforms[index];
+        if (transforms == null) {
+            // Racy initialization is fine, all values can be recomputed
+            transforms = new NextTransform[MAX_CACHED_PACKET_ID];
+            stateTransforms[index] = transforms;
+        }
+
+        NextTransform next = transforms[id];
+        if (next == null) {
+            next = computeNextTransform(state, index, id);
+            transforms[id] = next;
+        }
+        return next;
+    }
+
+    private NextTransform computeNextTransform(final State state, final int index, int id) {
+        PacketType packetType = null;
+        boolean typeDropped = false;
+        for (int i = index; i < protocols.length; i++) {
+            final Protocol protocol = protocols[i];
+            final int mappedId = protocol.mappedPassthroughPacketId(direction, state, id);
+            if (mappedId == Protocol.TRANSFORM_PACKET) {
+                return new NextTransform(i, id, packetType, typeDropped);
+            }
+
+            final PacketType mappedPacketType = protocol.mappedPassthroughPacketType(direction, state, id);
+            if (mappedPacketType != null) {
+                packetType = mappedPacketType;
+                typeDropped = false;
+            } else if (mappedId != id) {
+                // Id based mappings drop the packet type, even if a later one maps back to the original id
+                packetType = null;
+                typeDropped = true;
+            }
+            id = mappedId;
+        }
+        return new NextTransform(protocols.length, id, packetType, typeDropped);
+    }
+
+    /**
+     * Marks the chain as outdated after the packet mappings of its protocols have changed.
+     */
+    public void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * Returns whether the chain has not been invalidated and can still be used.
+     *
+     * @return whether the chain is still valid
+     */
+    public boolean valid() {
+        return valid;
+    }
+
+    public Direction direction() {
+        return direction;
+    }
+
+    public int size() {
+        return protocols.length;
+    }
+
+    /**
+     * @param index       index of the next protocol to transform the packet, or the protocol count if there is none
+     * @param id          packet id after the skipped protocols
+     * @param packetType  packet type set by the skipped protocols, or null if not set or dropped by an id mapping
+     * @param typeDropped whether an id mapping after the last type mapping of the skipped protocols dropped the packet type
+     */
+    private record NextTransform(int index, int id, @Nullable PacketType packetType, boolean typeDropped) {
+    }
+}
@@ -27,8 +27,8 @@ import com.viaversion.viaversion.api.data.MappingDataLoader;
 import com.viaversion.viaversion.api.protocol.Protocol;
 import com.viaversion.viaversion.api.protocol.ProtocolManager;
 import com.viaversion.viaversion.api.protocol.ProtocolPathEntry;
-import com.viaversion.viaversion.api.protocol.ProtocolPathKey;
 import com.viaversion.viaversion.api.protocol.packet.ClientboundPacketType;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
 import com.viaversion.viaversion.api.protocol.packet.PacketType;
 import com.viaversion.viaversion.api.protocol.packet.PacketWrapper;
 import com.viaversion.viaversion.api.protocol.packet.ServerboundPacketType;
@@ -81,11 +81,8 @@ import com.viaversion.viaversion.protocols.v1_9_3to1_10.Protocol1_9_3To1_10;
 import com.viaversion.viaversion.protocols.v1_9to1_9_1.Protocol1_9To1_9_1;
 import com.viaversion.viaversion.util.Pair;
 import io.netty.buffer.ByteBuf;
-import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.objects.Object2ObjectSortedMap;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -114,7 +111,7 @@ public class ProtocolManagerImpl implements ProtocolManager {
     // Input Version -> Output Version & Protocol (Allows fast lookup)
     private final Object2ObjectMap<ProtocolVersion, Object2ObjectMap<ProtocolVersion, Protocol>> registryMap = new Object2ObjectOpenHashMap<>(32);
     private final Map<Class<? extends Protocol>, Protocol<?, ?, ?, ?>> protocols = new HashMap<>(64);
-    private final Map<ProtocolPathKey, List<ProtocolPathEntry>> pathCache = new ConcurrentHashMap<>();
+    private final Map<Pair<Direction, List<Protocol>>, ProtocolChain> chainCache = new ConcurrentHashMap<>();
     private final Set<ProtocolVersion> supportedVersions = new HashSet<>();
     private final List<Pair<Range<ProtocolVersion>, Protocol>> baseProtocols = Lists.newCopyOnWriteArrayList();
 
@@ -126,6 +123,7 @@ public class ProtocolManagerImpl implements ProtocolManager {
     private ServerProtocolVersion serverProtocolVersion = new ServerProtocolVersionSingleton(ProtocolVersion.unknown);
     private int maxPathDeltaIncrease; // Only allow lowering path entries by default
     private int maxProtocolPathSize = 50;
+    private volatile ProtocolPathTable pathTable;
 
     public ProtocolManagerImpl() {
         ThreadFactory threadFactory = new ThreadFactoryBuilder().setNameFormat("Via-Mappingloader-%d").build();
@@ -203,9 +201,8 @@ public class ProtocolManagerImpl implements ProtocolManager {
         protocol.initialize();
 
         // Clear cache as this may make new routes.
-        if (!pathCache.isEmpty()) {
-            pathCache.clear();
-        }
+        pathTable = null;
+        clearProtocolChains();
 
         protocols.put(protocol.getClass(), protocol);
 
@@ -242,6 +239,7 @@ public class ProtocolManagerImpl implements ProtocolManager {
         Preconditions.checkArgument(upper == null || upper.getVersionType() != VersionType.SPECIAL, "Base protocol versions cannot contain a special version");
 
         baseProtocol.initialize();
+        clearProtocolChains();
 
         baseProtocols.add(new Pair<>(supportedProtocols, baseProtocol));
         baseProtocol.register(Via.getManager().getProviders());
@@ -252,6 +250,7 @@ public class ProtocolManagerImpl implements ProtocolManager {
 
     public void refreshVersions() {
         supportedVersions.clear();
+        pathTable = createPathTable();
 
         supportedVersions.add(serverProtocolVersion.lowestSupportedProtocolVersion());
         for (ProtocolVersion version : ProtocolVersion.getProtocols()) {
@@ -269,25 +268,40 @@ public class ProtocolManagerImpl implements ProtocolManager {
     public @Nullable List<ProtocolPathEntry> getProtocolPath(ProtocolVersion clientVersion, ProtocolVersion serverVersion) {
         if (clientVersion == serverVersion) return null; // Nothing to do!
 
-        // Check cache
-        ProtocolPathKey protocolKey = new ProtocolPathKeyImpl(clientVersion, serverVersion);
-        List<ProtocolPathEntry> protocolList = pathCache.get(protocolKey);
-        if (protocolList != null) {
-            return protocolList;
+        ProtocolPathTable pathTable = this.pathTable;
+        if (pathTable == null) {
+            pathTable = createPathTable();
+            this.pathTable = pathTable;
         }
+        return pathTable.path(clientVersion, serverVersion);
+    }
 
-        // Calculate path
-        Object2ObjectSortedMap<ProtocolVersion, Protocol> outputPath = getProtocolPath(new Object2ObjectLinkedOpenHashMap<>(), clientVersion, serverVersion);
-        if (outputPath == null) {
-            return null;
-        }
+    private ProtocolPathTable createPathTable() {
+        return new ProtocolPathTable(registryMap, maxPathDeltaIncrease, maxProtocolPathSize);
+    }
 
-        List<ProtocolPathEntry> path = new ArrayList<>(outputPath.size());
-        for (Map.Entry<ProtocolVersion, Protocol> entry : outputPath.entrySet()) {
-            path.add(new ProtocolPathEntryImpl(entry.getKey(), entry.getValue()));
+    /**
+     * Returns the compiled protocol chain for the given protocol list, shared by all pipelines with the same protocols.
+     *
+     * @param protocols protocols in the order they are applied in
+     * @param direction direction the protocols are applied for
+     * @return compiled protocol chain
+     */
+    public ProtocolChain getProtocolChain(final List<Protocol> protocols, final Direction direction) {
+        return chainCache.computeIfAbsent(new Pair<>(direction, List.copyOf(protocols)), key -> new ProtocolChain(key.value(), key.key()));
+    }
+
+    @Override
+    public void onPacketMappingChange(final Protocol protocol) {
+        clearProtocolChains();
+    }
+
+    private void clearProtocolChains() {
+        // Pipelines still holding on to the chains fetch new ones
+        for (final ProtocolChain chain : chainCache.values()) {
+            chain.invalidate();
         }
-        pathCache.put(protocolKey, path);
-        return path;
+        chainCache.clear();
     }
 
     @Override
@@ -300,59 +314,6 @@ public class ProtocolManagerImpl implements ProtocolManager {
         return new VersionedPacketTransformerImpl<>(inputVersion, clientboundPacketsClass, serverboundPacketsClass);
     }
 
-    /**
-     * Calculates a path to get from an input protocol to the server's protocol.
-     *
-     * @param current       current items in the path
-     * @param clientVersion current input version
-     * @param serverVersion desired output version
-     * @return path that has been generated, null if failed
-     */
-    private @Nullable Object2ObjectSortedMap<ProtocolVersion, Protocol> getProtocolPath(Object2ObjectSortedMap<ProtocolVersion, Protocol> current, ProtocolVersion clientVersion, ProtocolVersion serverVersion) {
-        if (current.size() > maxProtocolPathSize) return null; // Fail-safe, protocol too complicated.
-
-        // First, check if there is any protocols for this
-        Object2ObjectMap<ProtocolVersion, Protocol> toServerProtocolMap = registryMap.get(clientVersion);
-        if (toServerProtocolMap == null) {
-            return null; // Not supported
-        }
-
-        // Next, check if there is a direct, single Protocol path
-        Protocol protocol = toServerProtocolMap.get(serverVersion);
-        if (protocol != null) {
-            current.put(serverVersion, protocol);
-            return current; // Easy solution
-        }
-
-        // There might be a more advanced solution... So we'll see if any of the others can get us there
-        Object2ObjectSortedMap<ProtocolVersion, Protocol> shortest = null;
-        for (Map.Entry<ProtocolVersion, Protocol> entry : toServerProtocolMap.entrySet()) {
-            // Ensure we don't go back to already contained versions
-            ProtocolVersion translatedToVersion = entry.getKey();
-            if (current.containsKey(translatedToVersion)) continue;
-
-            // Check if the new version is farther away than the current client version
-            if (maxPathDeltaIncrease != -1 && translatedToVersion.getVersionType() == clientVersion.getVersionType()) {
-                final int delta = Math.abs(serverVersion.getVersion() - translatedToVersion.getVersion()) - Math.abs(serverVersion.getVersion() - clientVersion.getVersion());
-                if (delta > maxPathDeltaIncrease) {
-                    continue;
-                }
-            }
-
-            // Create a copy
-            Object2ObjectSortedMap<ProtocolVersion, Protocol> newCurrent = new Object2ObjectLinkedOpenHashMap<>(current);
-            newCurrent.put(translatedToVersion, entry.getValue());
-
-            // Calculate the rest of the protocol starting from translatedToVersion and take the shortest
-            newCurrent = getProtocolPath(newCurrent, translatedToVersion, serverVersion);
-            if (newCurrent != null && (shortest == null || newCurrent.size() < shortest.size())) {
-                shortest = newCurrent;
-            }
-        }
-
-        return shortest; // null if none found
-    }
-
     @Override
     public @Nullable <T extends Protocol> T getProtocol(Class<T> protocolClass) {
         return (T) protocols.get(protocolClass);
@@ -408,6 +369,7 @@ public class ProtocolManagerImpl implements ProtocolManager {
     @Override
     public void setMaxPathDeltaIncrease(final int maxPathDeltaIncrease) {
         this.maxPathDeltaIncrease = Math.max(-1, maxPathDeltaIncrease);
+        this.pathTable = null;
     }
 
     @Override
@@ -423,6 +385,7 @@ public class ProtocolManagerImpl implements ProtocolManager {
     @Override
     public void setMaxProtocolPathSize(int maxProtocolPathSize) {
         this.maxProtocolPathSize = maxProtocolPathSize;
+        this.pathTable = null;
     }
 
     @Override
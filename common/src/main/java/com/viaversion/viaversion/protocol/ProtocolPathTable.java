@@ -0,0 +1,182 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.protocol;
+
+import com.viaversion.viaversion.api.protocol.Protocol;
+import com.viaversion.viaversion.api.protocol.ProtocolPathEntry;
+import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Dense next-hop table of the shortest protocol paths between all pairs of registered protocol versions.
+ * <p>
+ * Built with a breadth-first search towards every possible server version over the reversed protocol graph,
+ * respecting the maximum path delta increase of the protocol manager. Between equally short paths, the same one as
+ * the previous recursive search is chosen. Paths are materialized lazily and reused.
+ */
+final class ProtocolPathTable {
+    private final Object2IntMap<ProtocolVersion> indexes = new Object2IntOpenHashMap<>();
+    private final ProtocolVersion[] versions;
+    // [server version index][client version index]
+    private final int[][] nextVersions;
+    private final Protocol[][] nextProtocols;
+    private final int[][] distances;
+    private final List<ProtocolPathEntry>[][] paths;
+    private final int maxProtocolPathSize;
+
+    ProtocolPathTable(final Map<ProtocolVersion, Object2ObjectMap<ProtocolVersion, Protocol>> registryMap, final int maxPathDeltaIncrease, final int maxProtocolPathSize) {
+        this.maxProtocolPathSize = maxProtocolPathSize;
+        indexes.defaultReturnValue(-1);
+
+        // Collect all versions with protocols from or to them
+        final List<ProtocolVersion> versionList = new ArrayList<>();
+        for (final Map.Entry<ProtocolVersion, Object2ObjectMap<ProtocolVersion, Protocol>> entry : registryMap.entrySet()) {
+            addVersion(versionList, entry.getKey());
+            for (final ProtocolVersion serverVersion : entry.getValue().keySet()) {
+                addVersion(versionList, serverVersion);
+            }
+        }
+        versions = versionList.toArray(new ProtocolVersion[0]);
+
+        final int size = versions.length;
+        final IntArrayList[] reversedEdges = new IntArrayList[size];
+        for (int i = 0; i < size; i++) {
+            reversedEdges[i] = new IntArrayList();
+        }
+        for (final Map.Entry<ProtocolVersion, Object2ObjectMap<ProtocolVersion, Protocol>> entry : registryMap.entrySet()) {
+            final int clientIndex = indexes.getInt(entry.getKey());
+            for (final ProtocolVersion serverVersion : entry.getValue().keySet()) {
+                reversedEdges[indexes.getInt(serverVersion)].add(clientIndex);
+            }
+        }
+
+        nextVersions = new int[size][size];
+        nextProtocols = new Protocol[size][size];
+        distances = new int[size][size];
+        //noinspection unchecked
+        paths = new List[size][size];
+
+        final int[] queue = new int[size];
+        for (int serverIndex = 0; serverIndex < size; serverIndex++) {
+            final ProtocolVersion serverVersion = versions[serverIndex];
+            final int[] next = nextVersions[serverIndex];
+            final Protocol[] nextProtocol = nextProtocols[serverIndex];
+            final int[] distance = distances[serverIndex];
+            Arrays.fill(next, -1);
+            Arrays.fill(distance, -1);
+            distance[serverIndex] = 0;
+
+            // Find the distances towards the server version
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = serverIndex;
+            while (head < tail) {
+                final int outputIndex = queue[head++];
+                final IntArrayList inputs = reversedEdges[outputIndex];
+                for (int i = 0; i < inputs.size(); i++) {
+                    final int inputIndex = inputs.getInt(i);
+                    if (distance[inputIndex] == -1 && withinDelta(serverVersion, versions[inputIndex], versions[outputIndex], maxPathDeltaIncrease)) {
+                        distance[inputIndex] = distance[outputIndex] + 1;
+                        queue[tail++] = inputIndex;
+                    }
+                }
+            }
+
+            // Of the protocols leading one step closer, pick the first in the client version's protocol map,
+            // which is the one the recursive search used to choose between equally long paths
+            for (int clientIndex = 0; clientIndex < size; clientIndex++) {
+                if (distance[clientIndex] <= 0) {
+                    continue;
+                }
+
+                final ProtocolVersion clientVersion = versions[clientIndex];
+                for (final Map.Entry<ProtocolVersion, Protocol> entry : registryMap.get(clientVersion).entrySet()) {
+                    final int outputIndex = indexes.getInt(entry.getKey());
+                    if (distance[outputIndex] == distance[clientIndex] - 1 && withinDelta(serverVersion, clientVersion, entry.getKey(), maxPathDeltaIncrease)) {
+                        next[clientIndex] = outputIndex;
+                        nextProtocol[clientIndex] = entry.getValue();
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns whether the new version is not farther away from the server version than the current one by more than the max delta increase.
+     */
+    private static boolean withinDelta(final ProtocolVersion serverVersion, final ProtocolVersion version, final ProtocolVersion newVersion, final int maxPathDeltaIncrease) {
+        if (maxPathDeltaIncrease == -1 || version.getVersionType() != newVersion.getVersionType()) {
+            return true;
+        }
+
+        final int delta = Math.abs(serverVersion.getVersion() - newVersion.getVersion()) - Math.abs(serverVersion.getVersion() - version.getVersion());
+        return delta <= maxPathDeltaIncrease;
+    }
+
+    private void addVersion(final List<ProtocolVersion> versionList, final ProtocolVersion version) {
+        if (!indexes.containsKey(version)) {
+            indexes.put(version, versionList.size());
+            versionList.add(version);
+        }
+    }
+
+    /**
+     * Returns the shortest protocol path from the client version to the server version.
+     *
+     * @param clientVersion input version
+     * @param serverVersion desired output version
+     * @return unmodifiable path, or null if there is none
+     */
+    @Nullable List<ProtocolPathEntry> path(final ProtocolVersion clientVersion, final ProtocolVersion serverVersion) {
+        final int clientIndex = indexes.getInt(clientVersion);
+        final int serverIndex = indexes.getInt(serverVersion);
+        if (clientIndex == -1 || serverIndex == -1) {
+            return null;
+        }
+
+        final int distance = distances[serverIndex][clientIndex];
+        if (distance <= 0 || distance > maxProtocolPathSize + 1) {
+            return null; // Fail-safe, protocol too complicated
+        }
+
+        List<ProtocolPathEntry> path = paths[serverIndex][clientIndex];
+        if (path == null) {
+            final ProtocolPathEntry[] entries = new ProtocolPathEntry[distance];
+            int index = clientIndex;
+            for (int i = 0; i < distance; i++) {
+                final int nextIndex = nextVersions[serverIndex][index];
+                entries[i] = new ProtocolPathEntryImpl(versions[nextIndex], nextProtocols[serverIndex][index]);
+                index = nextIndex;
+            }
+
+            // Racy initialization is fine, immutable lists are safely published
+            path = List.of(entries);
+            paths[serverIndex][clientIndex] = path;
+        }
+        return path;
+    }
+}
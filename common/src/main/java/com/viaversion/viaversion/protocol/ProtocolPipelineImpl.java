@@ -45,6 +45,10 @@ public class ProtocolPipelineImpl extends AbstractSimpleProtocol implements Prot
     private final Set<Class<? extends Protocol>> protocolSet = new HashSet<>();
     private final UserConnection userConnection;
     private List<Protocol> reversedProtocolList = new ArrayList<>();
+    /**
+     * Lazily fetched compiled protocol chains per direction, reset whenever the protocol list changes.
+     */
+    private ProtocolChain[] protocolChains = new ProtocolChain[Direction.values().length];
     private int baseProtocols;
 
     public ProtocolPipelineImpl(UserConnection userConnection) {
@@ -77,6 +81,8 @@ public class ProtocolPipelineImpl extends AbstractSimpleProtocol implements Prot
 
         protocolSet.add(protocol.getClass());
         protocol.init(userConnection);
+        protocolChains = new ProtocolChain[Direction.values().length];
+        Via.getManager().getConnectionManager().onProtocolAdded(userConnection, protocol);
     }
 
     @Override
@@ -92,6 +98,10 @@ public class ProtocolPipelineImpl extends AbstractSimpleProtocol implements Prot
         protocolList.addAll(protocols);
 
         refreshReversedList();
+        protocolChains = new ProtocolChain[Direction.values().length];
+        for (final Protocol protocol : protocols) {
+            Via.getManager().getConnectionManager().onProtocolAdded(userConnection, protocol);
+        }
     }
 
     private void refreshReversedList() {
@@ -118,8 +128,8 @@ public class ProtocolPipelineImpl extends AbstractSimpleProtocol implements Prot
             logPacket(direction, state, packetWrapper, originalID);
         }
 
-        // Apply protocols
-        packetWrapper.apply(direction, state, protocolListFor(direction));
+        // Apply protocols, skipping the ones not transforming the packet
+        protocolChainFor(direction).apply(state, packetWrapper);
         super.transform(direction, state, packetWrapper);
 
         if (debug && debugHandler.logPostPacketTransform() && debugHandler.shouldLog(packetWrapper, direction)) {
@@ -127,6 +137,30 @@ public class ProtocolPipelineImpl extends AbstractSimpleProtocol implements Prot
         }
     }
 
+    @Override
+    public int mappedPassthroughPacketId(final Direction direction, final State state, final int unmappedId) {
+        // The pipeline itself has no mappings
+        return protocolChainFor(direction).mappedPassthroughPacketId(state, unmappedId);
+    }
+
+    /**
+     * Returns the protocol chain for the given direction, shared with all pipelines using the same protocols.
+     *
+     * @param direction packet direction
+     * @return protocol chain
+     */
+    public ProtocolChain protocolChainFor(final Direction direction) {
+        ProtocolChain chain = protocolChains[direction.ordinal()];
+        if (chain == null || !chain.valid()) {
+            final List<Protocol> protocols = protocolListFor(direction);
+            chain = Via.getManager().getProtocolManager() instanceof ProtocolManagerImpl protocolManager
+                ? protocolManager.getProtocolChain(protocols, direction)
+                : new ProtocolChain(protocols, direction);
+            protocolChains[direction.ordinal()] = chain;
+        }
+        return chain;
+    }
+
     private List<Protocol> protocolListFor(final Direction direction) {
         return direction == Direction.SERVERBOUND ? protocolList : reversedProtocolList;
     }
@@ -233,6 +267,8 @@ public class ProtocolPipelineImpl extends AbstractSimpleProtocol implements Prot
         reversedProtocolList.clear();
         protocolSet.clear();
         baseProtocols = 0;
+        protocolChains = new ProtocolChain[Direction.values().length];
+        Via.getManager().getConnectionManager().onPipelineCleared(userConnection);
 
         registerPackets();
     }
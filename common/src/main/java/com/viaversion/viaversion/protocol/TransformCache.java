@@ -0,0 +1,123 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.protocol;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import io.netty.buffer.ByteBuf;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Short-lived cache of transformed packets shared between all connections using the same {@link ProtocolChain},
+ * so that packets broadcast to many players only have to be transformed once.
+ * <p>
+ * Only to be used for packets the chain has found to be transformed by connection independent handlers.
+ *
+ * @see ProtocolChain#isConnectionIndependent(State, int)
+ */
+public final class TransformCache {
+    public static final int MAX_PACKET_LENGTH = 16 * 1024;
+    private static final byte[] CANCELLED = new byte[0];
+    private final Cache<Key, byte[]> cache = CacheBuilder.newBuilder()
+        .expireAfterWrite(1, TimeUnit.SECONDS)
+        .maximumWeight(4 * 1024 * 1024)
+        .weigher((Key key, byte[] value) -> key.data.length + value.length)
+        .build();
+
+    /**
+     * Creates a key from the readable bytes of the given packet buffer without modifying its reader index.
+     *
+     * @param state protocol state
+     * @param buf   buffer of the full packet, including its id
+     * @return cache key
+     */
+    public static Key key(final State state, final ByteBuf buf) {
+        final byte[] data = new byte[buf.readableBytes()];
+        buf.getBytes(buf.readerIndex(), data);
+        return new Key(state, data, 31 * state.ordinal() + Arrays.hashCode(data));
+    }
+
+    /**
+     * Returns the transformed packet for the given key if present. Use {@link #isCancelled(byte[])} to check whether the packet was cancelled.
+     * The returned array must not be modified.
+     *
+     * @param key cache key
+     * @return transformed packet, or null if not present
+     */
+    public byte @Nullable [] get(final Key key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Stores a copy of the readable bytes of the transformed packet without modifying its reader index.
+     *
+     * @param key         cache key of the untransformed packet
+     * @param transformed buffer of the full transformed packet, including its id
+     */
+    public void put(final Key key, final ByteBuf transformed) {
+        final byte[] data = new byte[transformed.readableBytes()];
+        transformed.getBytes(transformed.readerIndex(), data);
+        cache.put(key, data);
+    }
+
+    /**
+     * Stores that the packet has been cancelled during transformation.
+     *
+     * @param key cache key of the untransformed packet
+     */
+    public void putCancelled(final Key key) {
+        cache.put(key, CANCELLED);
+    }
+
+    /**
+     * Returns whether the cached value marks a cancelled packet rather than transformed packet bytes.
+     *
+     * @param transformed value returned by {@link #get(Key)}
+     * @return whether the packet was cancelled
+     */
+    public static boolean isCancelled(final byte[] transformed) {
+        return transformed == CANCELLED;
+    }
+
+    public static final class Key {
+        private final State state;
+        private final byte[] data;
+        private final int hash;
+
+        private Key(final State state, final byte[] data, final int hash) {
+            this.state = state;
+            this.data = data;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return hash == key.hash && state == key.state && Arrays.equals(data, key.data);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
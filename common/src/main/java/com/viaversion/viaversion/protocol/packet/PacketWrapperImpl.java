@@ -18,9 +18,11 @@
 package com.viaversion.viaversion.protocol.packet;
 
 import com.google.common.base.Preconditions;
+import com.viaversion.nbt.tag.CompoundTag;
 import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.connection.ProtocolInfo;
 import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.minecraft.LazyCompoundTag;
 import com.viaversion.viaversion.api.protocol.Protocol;
 import com.viaversion.viaversion.api.protocol.packet.Direction;
 import com.viaversion.viaversion.api.protocol.packet.PacketType;
@@ -36,16 +38,18 @@ import com.viaversion.viaversion.util.PipelineUtil;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelFuture;
 import java.io.IOException;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Deque;
 import java.util.List;
 import java.util.Objects;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class PacketWrapperImpl implements PacketWrapper {
-    private final Deque<PacketValue<?>> readableObjects = new ArrayDeque<>();
-    private final List<PacketValue<?>> packetValues = new ArrayList<>();
+    /**
+     * Values written by the previous protocol, read from {@link #readerIndex} onwards.
+     */
+    private List<PacketValue<?>> readableObjects = new ArrayList<>();
+    private List<PacketValue<?>> packetValues = new ArrayList<>();
+    private int readerIndex;
     private final ByteBuf inputBuffer;
     private final UserConnection userConnection;
     private boolean send = true;
@@ -70,39 +74,24 @@ public class PacketWrapperImpl implements PacketWrapper {
 
     @Override
     public <T> T get(Type<T> type, int index) throws InformativeException {
-        int currentIndex = 0;
-        for (PacketValue<?> packetValue : packetValues) {
-            if (packetValue.type() != type) {
-                continue;
-            }
-            if (currentIndex == index) {
-                //noinspection unchecked
-                return (T) packetValue.value();
-            }
-            currentIndex++;
+        final PacketValue<?> packetValue = packetValue(type, index);
+        if (packetValue == null) {
+            throw createInformativeException(new ArrayIndexOutOfBoundsException("Could not find type " + type.getTypeName() + " at " + index), type, index);
         }
-        throw createInformativeException(new ArrayIndexOutOfBoundsException("Could not find type " + type.getTypeName() + " at " + index), type, index);
+        //noinspection unchecked
+        return (T) packetValue.value();
     }
 
     @Override
     public boolean is(Type type, int index) {
-        int currentIndex = 0;
-        for (PacketValue<?> packetValue : packetValues) {
-            if (packetValue.type() != type) {
-                continue;
-            }
-            if (currentIndex == index) {
-                return true;
-            }
-            currentIndex++;
-        }
-        return false;
+        return packetValue(type, index) != null;
     }
 
     @Override
     public boolean isReadable(Type type, int index) {
         int currentIndex = 0;
-        for (PacketValue<?> packetValue : readableObjects) {
+        for (int i = readerIndex; i < readableObjects.size(); i++) {
+            final PacketValue<?> packetValue = readableObjects.get(i);
             if (packetValue.type().getBaseClass() != type.getBaseClass()) {
                 continue;
             }
@@ -117,23 +106,31 @@ public class PacketWrapperImpl implements PacketWrapper {
 
     @Override
     public <T> void set(Type<T> type, int index, @Nullable T value) throws InformativeException {
+        //noinspection unchecked
+        final PacketValue<T> packetValue = (PacketValue<T>) packetValue(type, index);
+        if (packetValue == null) {
+            throw createInformativeException(new ArrayIndexOutOfBoundsException("Could not find type " + type.getTypeName() + " at " + index), type, index);
+        }
+        packetValue.setValue(attemptTransform(type, value));
+    }
+
+    private @Nullable PacketValue<?> packetValue(final Type<?> type, final int index) {
         int currentIndex = 0;
-        for (PacketValue packetValue : packetValues) {
+        for (final PacketValue<?> packetValue : packetValues) {
             if (packetValue.type() != type) {
                 continue;
             }
             if (currentIndex == index) {
-                packetValue.setValue(attemptTransform(type, value));
-                return;
+                return packetValue;
             }
             currentIndex++;
         }
-        throw createInformativeException(new ArrayIndexOutOfBoundsException("Could not find type " + type.getTypeName() + " at " + index), type, index);
+        return null;
     }
 
     @Override
     public <T> T read(Type<T> type) {
-        if (readableObjects.isEmpty()) {
+        if (readerIndex == readableObjects.size()) {
             Preconditions.checkNotNull(inputBuffer, "This packet does not have an input buffer.");
             // We could in the future log input read values, but honestly for things like bulk maps, mem waste D:
             try {
@@ -143,21 +140,30 @@ public class PacketWrapperImpl implements PacketWrapper {
             }
         }
 
-        PacketValue readValue = readableObjects.poll();
+        PacketValue readValue = readableObjects.get(readerIndex++);
         Type<?> readType = readValue.type();
         if (readType == type
             || (type.getBaseClass() == readType.getBaseClass()
             && type.getOutputClass() == readType.getOutputClass())) {
             //noinspection unchecked
             return (T) readValue.value();
-        } else {
-            throw createInformativeException(new IOException("Unable to read type " + type.getTypeName() + ", found " + readValue.type().getTypeName()), type, readableObjects.size());
+        } else if (type instanceof TypeConverter<?> converter && readType.getOutputClass() != type.getOutputClass()
+            && isCompoundTagType(type) && isCompoundTagType(readType)) {
+            // Written as the other representation by a previous protocol
+            //noinspection unchecked
+            return (T) converter.from(readValue.value());
         }
+        throw createInformativeException(new IOException("Unable to read type " + type.getTypeName() + ", found " + readValue.type().getTypeName()), type, readableObjects.size() - readerIndex);
+    }
+
+    private static boolean isCompoundTagType(final Type<?> type) {
+        return type.getOutputClass() == CompoundTag.class || type.getOutputClass() == LazyCompoundTag.class;
     }
 
     @Override
     public <T> void write(Type<T> type, T value) {
-        packetValues.add(new PacketValue<>(type, attemptTransform(type, value)));
+        final PacketValue<T> packetValue = new PacketValue<>(type, attemptTransform(type, value));
+        packetValues.add(packetValue);
     }
 
     /**
@@ -190,8 +196,7 @@ public class PacketWrapperImpl implements PacketWrapper {
     @Override
     public void passthroughAll() throws InformativeException {
         // Copy previous objects
-        packetValues.addAll(readableObjects);
-        readableObjects.clear();
+        moveReadableToPacketValues();
         // If the buffer has readable bytes, copy them.
         if (inputBuffer.isReadable()) {
             passthrough(Types.REMAINING_BYTES);
@@ -203,9 +208,8 @@ public class PacketWrapperImpl implements PacketWrapper {
         if (id != -1) {
             Types.VAR_INT.writePrimitive(buffer, id);
         }
-        if (!readableObjects.isEmpty()) {
-            packetValues.addAll(readableObjects);
-            readableObjects.clear();
+        if (readerIndex != readableObjects.size()) {
+            moveReadableToPacketValues();
         }
 
         for (int i = 0; i < packetValues.size(); i++) {
@@ -219,6 +223,30 @@ public class PacketWrapperImpl implements PacketWrapper {
         writeRemaining(buffer);
     }
 
+    private void moveReadableToPacketValues() {
+        if (packetValues.isEmpty() && readerIndex == 0) {
+            // Take over the readable values without copying them
+            final List<PacketValue<?>> packetValues = this.packetValues;
+            this.packetValues = readableObjects;
+            this.readableObjects = packetValues;
+        } else {
+            packetValues.addAll(readableObjects.subList(readerIndex, readableObjects.size()));
+            readableObjects.clear();
+            readerIndex = 0;
+        }
+    }
+
+    /**
+     * Swaps the readable and written values, clearing the now written values.
+     */
+    private void swapValues() {
+        final List<PacketValue<?>> readableObjects = this.readableObjects;
+        this.readableObjects = packetValues;
+        this.packetValues = readableObjects;
+        readableObjects.clear();
+        readerIndex = 0;
+    }
+
     private InformativeException createInformativeException(final Exception cause, final Type<?> type, final int index) {
         return new InformativeException(cause)
             .set("Index", index)
@@ -234,6 +262,7 @@ public class PacketWrapperImpl implements PacketWrapper {
             inputBuffer.clear();
         }
         readableObjects.clear(); // :(
+        readerIndex = 0;
     }
 
     @Override
@@ -392,10 +421,21 @@ public class PacketWrapperImpl implements PacketWrapper {
     @Override
     public void resetReader() {
         // Move all packet values to the readable for next Protocol
-        for (int i = packetValues.size() - 1; i >= 0; i--) {
-            this.readableObjects.addFirst(this.packetValues.get(i));
+        final int written = packetValues.size();
+        if (readerIndex == readableObjects.size()) {
+            // Everything has been read, the written values simply become the readable ones
+            swapValues();
+        } else if (written <= readerIndex) {
+            // Put them in front of the remaining values, reusing the slots of already read values
+            readerIndex -= written;
+            for (int i = 0; i < written; i++) {
+                readableObjects.set(readerIndex + i, packetValues.get(i));
+            }
+            packetValues.clear();
+        } else {
+            packetValues.addAll(readableObjects.subList(readerIndex, readableObjects.size()));
+            swapValues();
         }
-        this.packetValues.clear();
     }
 
     @Override
@@ -506,7 +546,7 @@ public class PacketWrapperImpl implements PacketWrapper {
             "type=" + packetType +
             ", id=" + id +
             ", values=" + packetValues +
-            ", readable=" + readableObjects +
+            ", readable=" + readableObjects.subList(readerIndex, readableObjects.size()) +
             '}';
     }
 
@@ -0,0 +1,67 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.protocol.packet;
+
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.minecraft.RegistryEntry;
+import com.viaversion.viaversion.api.protocol.Protocol;
+import com.viaversion.viaversion.api.protocol.packet.PacketType;
+import com.viaversion.viaversion.api.protocol.packet.PacketWrapper;
+import com.viaversion.viaversion.api.type.Types;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.function.Consumer;
+
+/**
+ * Packet content serialized once to be sent to any number of connections, e.g. registry data that does not depend on the connection.
+ *
+ * @param packetType packet type
+ * @param data       serialized packet content without the packet id
+ */
+public record SerializedPacket(PacketType packetType, byte[] data) {
+
+    public static SerializedPacket of(final PacketType packetType, final Consumer<ByteBuf> writer) {
+        final ByteBuf buffer = Unpooled.buffer();
+        try {
+            writer.accept(buffer);
+            final byte[] data = new byte[buffer.readableBytes()];
+            buffer.readBytes(data);
+            return new SerializedPacket(packetType, data);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    public static SerializedPacket registryData(final PacketType packetType, final String registryKey, final RegistryEntry[] entries) {
+        return of(packetType, buffer -> {
+            Types.STRING.write(buffer, registryKey);
+            Types.REGISTRY_ENTRY_ARRAY.write(buffer, entries);
+        });
+    }
+
+    /**
+     * Sends the packet through the pipeline after the given protocol. The content is read again by every
+     * following protocol, so no values are shared between connections.
+     *
+     * @param connection    connection to send the packet to
+     * @param protocolClass protocol class to send the packet from
+     */
+    public void send(final UserConnection connection, final Class<? extends Protocol> protocolClass) {
+        PacketWrapper.create(packetType, Unpooled.wrappedBuffer(data), connection).send(protocolClass);
+    }
+}
@@ -152,6 +152,14 @@ public class BaseProtocol extends AbstractProtocol<BaseClientboundPacket, BaseCl
         }
     }
 
+    @Override
+    public int mappedPassthroughPacketId(Direction direction, State state, int unmappedId) {
+        if (direction == Direction.SERVERBOUND && state == State.HANDSHAKE) {
+            return TRANSFORM_PACKET;
+        }
+        return super.mappedPassthroughPacketId(direction, state, unmappedId);
+    }
+
     @Override
     protected PacketTypesProvider<BaseClientboundPacket, BaseClientboundPacket, BaseServerboundPacket, BaseServerboundPacket> createPacketTypesProvider() {
         return BasePacketTypesProvider.INSTANCE;
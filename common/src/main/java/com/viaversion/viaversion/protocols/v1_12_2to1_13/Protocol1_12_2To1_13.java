@@ -61,6 +61,7 @@ import com.viaversion.viaversion.protocols.v1_12_2to1_13.rewriter.WorldPacketRew
 import com.viaversion.viaversion.protocols.v1_12_2to1_13.storage.BlockConnectionStorage;
 import com.viaversion.viaversion.protocols.v1_12_2to1_13.storage.BlockStorage;
 import com.viaversion.viaversion.protocols.v1_12_2to1_13.storage.TabCompleteTracker;
+import com.viaversion.viaversion.protocols.v1_12_2to1_13.task.TabCompleteTask;
 import com.viaversion.viaversion.protocols.v1_12to1_12_1.packet.ClientboundPackets1_12_1;
 import com.viaversion.viaversion.protocols.v1_12to1_12_1.packet.ServerboundPackets1_12_1;
 import com.viaversion.viaversion.rewriter.SoundRewriter;
@@ -74,6 +75,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 public class Protocol1_12_2To1_13 extends AbstractProtocol<ClientboundPackets1_12_1, ClientboundPackets1_13, ServerboundPackets1_12_1, ServerboundPackets1_13> {
@@ -837,10 +839,6 @@ public class Protocol1_12_2To1_13 extends AbstractProtocol<ClientboundPackets1_1
             .reader(11, ParticleType.Readers.DUST)
             .reader(27, ParticleType.Readers.ITEM1_13);
 
-        if (Via.getConfig().isServersideBlockConnections() && Via.getManager().getProviders().get(BlockConnectionProvider.class) instanceof PacketBlockConnectionProvider) {
-            BlockConnectionStorage.init();
-        }
-
         super.onMappingDataLoaded();
     }
 
@@ -848,6 +846,11 @@ public class Protocol1_12_2To1_13 extends AbstractProtocol<ClientboundPackets1_1
     public void init(UserConnection userConnection) {
         userConnection.addEntityTracker(this.getClass(), new EntityTrackerBase(userConnection, EntityTypes1_13.EntityType.PLAYER));
         userConnection.put(new TabCompleteTracker());
+        if (Via.getConfig().get1_13TabCompleteDelay() > 0) {
+            TabCompleteTask task = new TabCompleteTask(userConnection);
+            userConnection.put(task);
+            task.start(50, TimeUnit.MILLISECONDS);
+        }
         if (!userConnection.has(ClientWorld.class))
             userConnection.put(new ClientWorld());
         userConnection.put(new BlockStorage());
@@ -358,11 +358,13 @@ public class WorldPacketRewriter1_13 {
                     }
                     for (int idx = 0; idx < ChunkSection.SIZE; idx++) {
                         int id = blocks.idAt(idx);
-                        BlockPosition position = new BlockPosition(ChunkSection.xFromIndex(idx) + (chunk.getX() << 4), ChunkSection.yFromIndex(idx) + (s << 4), ChunkSection.zFromIndex(idx) + (chunk.getZ() << 4));
+                        int x = ChunkSection.xFromIndex(idx) + (chunk.getX() << 4);
+                        int y = ChunkSection.yFromIndex(idx) + (s << 4);
+                        int z = ChunkSection.zFromIndex(idx) + (chunk.getZ() << 4);
                         if (storage.isWelcome(id)) {
-                            storage.store(position, id);
+                            storage.store(x, y, z, id);
                         } else if (!chunk.isFullChunk()) { // Update
-                            storage.remove(position);
+                            storage.remove(x, y, z);
                         }
                     }
                 }
@@ -19,15 +19,14 @@ package com.viaversion.viaversion.protocols.v1_12_2to1_13.storage;
 
 import com.viaversion.viaversion.api.connection.StorableObject;
 import com.viaversion.viaversion.api.minecraft.BlockPosition;
+import com.viaversion.viaversion.util.LongObjectMap;
 import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
-import java.util.HashMap;
-import java.util.Map;
 
 // TODO Fix memory leak lolz (only a smol one tho)
 public class BlockStorage implements StorableObject {
     private static final IntSet WHITELIST = new IntOpenHashSet(46, .99F);
-    private final Map<BlockPosition, ReplacementData> blocks = new HashMap<>();
+    private final LongObjectMap<ReplacementData> blocks = new LongObjectMap<>();
 
     static {
         // Flower pots
@@ -59,10 +58,18 @@ public class BlockStorage implements StorableObject {
     }
 
     public void store(BlockPosition position, int block, int replacementId) {
+        store(position.x(), position.y(), position.z(), block, replacementId);
+    }
+
+    public void store(int x, int y, int z, int block) {
+        store(x, y, z, block, -1);
+    }
+
+    public void store(int x, int y, int z, int block, int replacementId) {
         if (!WHITELIST.contains(block))
             return;
 
-        blocks.put(position, new ReplacementData(block, replacementId));
+        blocks.put(BlockPosition.blockKey(x, y, z), new ReplacementData(block, replacementId));
     }
 
     public boolean isWelcome(int block) {
@@ -70,15 +77,19 @@ public class BlockStorage implements StorableObject {
     }
 
     public boolean contains(BlockPosition position) {
-        return blocks.containsKey(position);
+        return blocks.containsKey(position.blockKey());
     }
 
     public ReplacementData get(BlockPosition position) {
-        return blocks.get(position);
+        return blocks.get(position.blockKey());
     }
 
     public ReplacementData remove(BlockPosition position) {
-        return blocks.remove(position);
+        return blocks.remove(position.blockKey());
+    }
+
+    public ReplacementData remove(int x, int y, int z) {
+        return blocks.remove(BlockPosition.blockKey(x, y, z));
     }
 
     public static final class ReplacementData {
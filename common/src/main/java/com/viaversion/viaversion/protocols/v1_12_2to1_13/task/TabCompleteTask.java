@@ -17,19 +17,21 @@
  */
 package com.viaversion.viaversion.protocols.v1_12_2to1_13.task;
 
-import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.connection.UserConnection;
-import com.viaversion.viaversion.protocols.v1_12_2to1_13.Protocol1_12_2To1_13;
 import com.viaversion.viaversion.protocols.v1_12_2to1_13.storage.TabCompleteTracker;
+import com.viaversion.viaversion.scheduler.RepeatingConnectionTask;
+
+public class TabCompleteTask extends RepeatingConnectionTask {
+
+    public TabCompleteTask(UserConnection connection) {
+        super(connection);
+    }
 
-public class TabCompleteTask implements Runnable {
     @Override
     public void run() {
-        for (UserConnection info : Via.getManager().getConnectionManager().getConnections()) {
-            if (info.getProtocolInfo() == null) continue;
-            if (info.getProtocolInfo().getPipeline().contains(Protocol1_12_2To1_13.class) && info.getChannel().isOpen()) {
-                info.get(TabCompleteTracker.class).sendPacketToServer(info);
-            }
+        TabCompleteTracker tracker = connection.get(TabCompleteTracker.class);
+        if (tracker != null) {
+            tracker.sendPacketToServer(connection);
         }
     }
 }
@@ -17,6 +17,7 @@
  */
 package com.viaversion.viaversion.protocols.v1_17_1to1_18;
 
+import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.connection.UserConnection;
 import com.viaversion.viaversion.api.data.MappingData;
 import com.viaversion.viaversion.api.data.MappingDataBase;
@@ -34,6 +35,7 @@ import com.viaversion.viaversion.protocols.v1_17_1to1_18.rewriter.EntityPacketRe
 import com.viaversion.viaversion.protocols.v1_17_1to1_18.rewriter.ItemPacketRewriter1_18;
 import com.viaversion.viaversion.protocols.v1_17_1to1_18.rewriter.WorldPacketRewriter1_18;
 import com.viaversion.viaversion.protocols.v1_17_1to1_18.storage.ChunkLightStorage;
+import com.viaversion.viaversion.protocols.v1_17_1to1_18.storage.LightSectionStore;
 import com.viaversion.viaversion.protocols.v1_17to1_17_1.packet.ClientboundPackets1_17_1;
 import com.viaversion.viaversion.rewriter.SoundRewriter;
 import com.viaversion.viaversion.rewriter.StatisticsRewriter;
@@ -47,6 +49,7 @@ public final class Protocol1_17_1To1_18 extends AbstractProtocol<ClientboundPack
     private final EntityPacketRewriter1_18 entityRewriter = new EntityPacketRewriter1_18(this);
     private final ItemPacketRewriter1_18 itemRewriter = new ItemPacketRewriter1_18(this);
     private final TagRewriter<ClientboundPackets1_17_1> tagRewriter = new TagRewriter<>(this);
+    private final LightSectionStore lightSectionStore = new LightSectionStore();
 
     public Protocol1_17_1To1_18() {
         super(ClientboundPackets1_17_1.class, ClientboundPackets1_18.class, ServerboundPackets1_17.class, ServerboundPackets1_17.class);
@@ -110,7 +113,8 @@ public final class Protocol1_17_1To1_18 extends AbstractProtocol<ClientboundPack
     @Override
     public void init(final UserConnection connection) {
         addEntityTracker(connection, new EntityTrackerBase(connection, EntityTypes1_17.PLAYER));
-        connection.put(new ChunkLightStorage());
+        // Light is only kept for longer than until its chunk is sent with caching enabled, nothing to share otherwise
+        connection.put(new ChunkLightStorage(Via.getConfig().cache1_17Light() ? lightSectionStore : null));
     }
 
     @Override
@@ -127,4 +131,8 @@ public final class Protocol1_17_1To1_18 extends AbstractProtocol<ClientboundPack
     public TagRewriter<ClientboundPackets1_17_1> getTagRewriter() {
         return tagRewriter;
     }
+
+    public LightSectionStore getLightSectionStore() {
+        return lightSectionStore;
+    }
 }
\ No newline at end of file
@@ -18,23 +18,40 @@
 package com.viaversion.viaversion.protocols.v1_17_1to1_18.storage;
 
 import com.viaversion.viaversion.api.connection.StorableObject;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import com.viaversion.viaversion.util.LongObjectMap;
+import com.viaversion.viaversion.util.LongSet;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 public final class ChunkLightStorage implements StorableObject {
 
-    private final Map<Long, ChunkLight> lightPackets = new HashMap<>();
-    private final Set<Long> loadedChunks = new HashSet<>();
+    private final LongObjectMap<ChunkLight> lightPackets = new LongObjectMap<>();
+    private final LongSet loadedChunks = new LongSet();
+    private final @Nullable LightSectionStore sectionStore;
+
+    /**
+     * @param sectionStore store to share light sections with other connections, or null to keep them as they are
+     */
+    public ChunkLightStorage(@Nullable final LightSectionStore sectionStore) {
+        this.sectionStore = sectionStore;
+    }
 
     public void storeLight(final int x, final int z, final ChunkLight chunkLight) {
-        lightPackets.put(getChunkSectionIndex(x, z), chunkLight);
+        intern(chunkLight.skyLight());
+        intern(chunkLight.blockLight());
+        release(lightPackets.put(getChunkSectionIndex(x, z), chunkLight));
     }
 
+    /**
+     * Removes and returns the light of the given chunk. The section arrays stay valid, but are shared and must not be modified.
+     *
+     * @param x chunk x
+     * @param z chunk z
+     * @return removed chunk light if present
+     */
     public @Nullable ChunkLight removeLight(final int x, final int z) {
-        return lightPackets.remove(getChunkSectionIndex(x, z));
+        final ChunkLight light = lightPackets.remove(getChunkSectionIndex(x, z));
+        release(light);
+        return light;
     }
 
     public @Nullable ChunkLight getLight(final int x, final int z) {
@@ -51,15 +68,45 @@ public final class ChunkLightStorage implements StorableObject {
 
     public void clear(final int x, final int z) {
         final long index = getChunkSectionIndex(x, z);
-        lightPackets.remove(index);
+        release(lightPackets.remove(index));
         loadedChunks.remove(index);
     }
 
     public void clear() {
         loadedChunks.clear();
+        lightPackets.forEachValue(this::release);
+        lightPackets.clear();
+    }
+
+    @Override
+    public void onRemove() {
+        lightPackets.forEachValue(this::release);
         lightPackets.clear();
     }
 
+    private void intern(final byte[][] sections) {
+        if (sectionStore == null) {
+            return;
+        }
+
+        for (int i = 0; i < sections.length; i++) {
+            sections[i] = sectionStore.intern(sections[i]);
+        }
+    }
+
+    private void release(@Nullable final ChunkLight light) {
+        if (light == null || sectionStore == null) {
+            return;
+        }
+
+        for (final byte[] section : light.skyLight()) {
+            sectionStore.release(section);
+        }
+        for (final byte[] section : light.blockLight()) {
+            sectionStore.release(section);
+        }
+    }
+
     private long getChunkSectionIndex(final int x, final int z) {
         return ((x & 0x3FFFFFFL) << 38) | (z & 0x3FFFFFFL);
     }
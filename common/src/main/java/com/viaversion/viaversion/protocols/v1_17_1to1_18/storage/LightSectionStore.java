@@ -0,0 +1,136 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.protocols.v1_17_1to1_18.storage;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Server-wide store deduplicating light section arrays between connections, as players near each other
+ * usually receive the exact same light data.
+ * <p>
+ * Arrays returned by {@link #intern(byte[])} are shared and must not be modified.
+ */
+public final class LightSectionStore {
+
+    private static final int SECTION_LENGTH = 2048;
+    private static final byte[] EMPTY_SECTION = new byte[SECTION_LENGTH];
+    private static final byte[] FULL_SECTION = new byte[SECTION_LENGTH];
+    private final Map<SectionKey, Entry> sections = new ConcurrentHashMap<>();
+
+    static {
+        Arrays.fill(FULL_SECTION, (byte) 0xFF);
+    }
+
+    /**
+     * Returns a shared array with the same contents as the given one, increasing its reference count.
+     * Every call has to be paired with a {@link #release(byte[])} call once the array is no longer used.
+     *
+     * @param section light section data
+     * @return shared array with the same contents
+     */
+    public byte[] intern(final byte[] section) {
+        final byte[] constant = constant(section);
+        if (constant != null) {
+            return constant;
+        }
+
+        final Entry entry = sections.compute(new SectionKey(section), (key, value) -> {
+            if (value == null) {
+                return new Entry(key.data);
+            }
+            value.references++;
+            return value;
+        });
+        return entry.data;
+    }
+
+    /**
+     * Decreases the reference count of a previously interned array, removing it once unreferenced.
+     *
+     * @param section shared array as returned by {@link #intern(byte[])}
+     */
+    public void release(final byte[] section) {
+        if (section == EMPTY_SECTION || section == FULL_SECTION) {
+            return;
+        }
+
+        sections.computeIfPresent(new SectionKey(section), (key, value) -> --value.references == 0 ? null : value);
+    }
+
+    /**
+     * Returns the number of distinct sections currently stored, excluding the shared empty and full sections.
+     *
+     * @return number of distinct sections
+     */
+    public int size() {
+        return sections.size();
+    }
+
+    private static byte @Nullable [] constant(final byte[] section) {
+        if (section.length != SECTION_LENGTH) {
+            return null;
+        }
+
+        final byte first = section[0];
+        if (first != 0 && first != (byte) 0xFF) {
+            return null;
+        }
+        for (int i = 1; i < section.length; i++) {
+            if (section[i] != first) {
+                return null;
+            }
+        }
+        return first == 0 ? EMPTY_SECTION : FULL_SECTION;
+    }
+
+    private static final class Entry {
+
+        private final byte[] data;
+        private int references = 1;
+
+        private Entry(final byte[] data) {
+            this.data = data;
+        }
+    }
+
+    private static final class SectionKey {
+
+        private final byte[] data;
+        private final int hashCode;
+
+        private SectionKey(final byte[] data) {
+            this.data = data;
+            this.hashCode = Arrays.hashCode(data);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof SectionKey other)) return false;
+            return hashCode == other.hashCode && Arrays.equals(data, other.data);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -75,6 +75,7 @@ import com.viaversion.viaversion.api.minecraft.item.data.ToolProperties;
 import com.viaversion.viaversion.api.minecraft.item.data.ToolRule;
 import com.viaversion.viaversion.api.minecraft.item.data.Unbreakable;
 import com.viaversion.viaversion.api.minecraft.item.data.WrittenBook;
+import com.viaversion.viaversion.api.type.Type;
 import com.viaversion.viaversion.api.type.Types;
 import com.viaversion.viaversion.api.type.types.chunk.ChunkType1_20_2;
 import com.viaversion.viaversion.api.type.types.version.Types1_20_3;
@@ -98,6 +99,7 @@ import com.viaversion.viaversion.protocols.v1_20_3to1_20_5.data.TrimPatterns1_20
 import com.viaversion.viaversion.protocols.v1_20_3to1_20_5.packet.ServerboundPacket1_20_5;
 import com.viaversion.viaversion.protocols.v1_20_3to1_20_5.packet.ServerboundPackets1_20_5;
 import com.viaversion.viaversion.protocols.v1_20_3to1_20_5.storage.BannerPatternStorage;
+import com.viaversion.viaversion.protocols.v1_20_3to1_20_5.storage.ItemConversionCache;
 import com.viaversion.viaversion.rewriter.BlockRewriter;
 import com.viaversion.viaversion.rewriter.ItemRewriter;
 import com.viaversion.viaversion.util.ComponentUtil;
@@ -105,6 +107,8 @@ import com.viaversion.viaversion.util.Either;
 import com.viaversion.viaversion.util.Key;
 import com.viaversion.viaversion.util.SerializerVersion;
 import com.viaversion.viaversion.util.UUIDUtil;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
@@ -369,7 +373,7 @@ public final class BlockItemPacketRewriter1_20_5 extends ItemRewriter<Clientboun
             tag.putBoolean(nbtTagName(), true);
         }
 
-        final Item structuredItem = toStructuredItem(connection, item);
+        final Item structuredItem = tag != null ? toStructuredItemCached(connection, item) : toStructuredItem(connection, item);
 
         if (Via.getConfig().handleInvalidItemCount()) {
             // Server can send amounts which are higher than vanilla's default, and 1.20.4 will still accept them,
@@ -381,6 +385,69 @@ public final class BlockItemPacketRewriter1_20_5 extends ItemRewriter<Clientboun
         return super.handleItemToClient(connection, structuredItem);
     }
 
+    private Item toStructuredItemCached(final UserConnection connection, final Item item) {
+        final ItemConversionCache cache = connection.get(ItemConversionCache.class);
+        if (cache == null) {
+            return toStructuredItem(connection, item);
+        }
+
+        // Has to be serialized before the conversion, as it modifies the tag
+        final byte[] input = serialize(Types.ITEM1_20_2, item);
+        if (input.length > ItemConversionCache.MAX_ITEM_BYTES) {
+            return toStructuredItem(connection, item);
+        }
+
+        final BannerPatternStorage patternStorage = connection.get(BannerPatternStorage.class);
+        final byte[] output = cache.get(input, patternStorage != null ? patternStorage.bannerPatterns() : null);
+        if (output != null) {
+            final ByteBuf buffer = Unpooled.wrappedBuffer(output);
+            try {
+                final Item structuredItem = Types1_20_5.ITEM.read(buffer);
+                setIdLookup(structuredItem);
+                return structuredItem;
+            } finally {
+                buffer.release();
+            }
+        }
+
+        final Item structuredItem = toStructuredItem(connection, item);
+        if (!structuredItem.isEmpty()) {
+            cache.put(input, serialize(Types1_20_5.ITEM, structuredItem));
+        }
+        return structuredItem;
+    }
+
+    private void setIdLookup(final Item item) {
+        final StructuredDataContainer data = item.dataContainer();
+        data.setIdLookup(protocol, true);
+        setIdLookup(data.getNonEmpty(StructuredDataKey.CONTAINER1_20_5));
+        setIdLookup(data.getNonEmpty(StructuredDataKey.BUNDLE_CONTENTS1_20_5));
+        setIdLookup(data.getNonEmpty(StructuredDataKey.CHARGED_PROJECTILES1_20_5));
+    }
+
+    private void setIdLookup(@Nullable final StructuredData<Item[]> itemsData) {
+        if (itemsData == null) {
+            return;
+        }
+        for (final Item item : itemsData.value()) {
+            if (!item.isEmpty()) {
+                setIdLookup(item);
+            }
+        }
+    }
+
+    private static <T> byte[] serialize(final Type<T> type, final T value) {
+        final ByteBuf buffer = Unpooled.buffer();
+        try {
+            type.write(buffer, value);
+            final byte[] bytes = new byte[buffer.readableBytes()];
+            buffer.readBytes(bytes);
+            return bytes;
+        } finally {
+            buffer.release();
+        }
+    }
+
     @Override
     public @Nullable Item handleItemToServer(UserConnection connection, final Item item) {
         if (item.isEmpty()) {
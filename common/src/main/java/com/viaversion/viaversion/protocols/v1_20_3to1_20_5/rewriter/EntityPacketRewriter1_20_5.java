@@ -17,6 +17,8 @@
  */
 package com.viaversion.viaversion.protocols.v1_20_3to1_20_5.rewriter;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.viaversion.nbt.tag.CompoundTag;
 import com.viaversion.nbt.tag.ListTag;
 import com.viaversion.nbt.tag.StringTag;
@@ -24,6 +26,7 @@ import com.viaversion.nbt.tag.Tag;
 import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.connection.UserConnection;
 import com.viaversion.viaversion.api.data.entity.DimensionData;
+import com.viaversion.viaversion.api.minecraft.LazyCompoundTag;
 import com.viaversion.viaversion.api.minecraft.Particle;
 import com.viaversion.viaversion.api.minecraft.RegistryEntry;
 import com.viaversion.viaversion.api.minecraft.entities.EntityType;
@@ -35,6 +38,7 @@ import com.viaversion.viaversion.api.protocol.remapper.PacketHandlers;
 import com.viaversion.viaversion.api.type.Types;
 import com.viaversion.viaversion.api.type.types.version.Types1_20_3;
 import com.viaversion.viaversion.api.type.types.version.Types1_20_5;
+import com.viaversion.viaversion.protocol.packet.SerializedPacket;
 import com.viaversion.viaversion.protocols.v1_20_2to1_20_3.packet.ClientboundConfigurationPackets1_20_3;
 import com.viaversion.viaversion.protocols.v1_20_2to1_20_3.packet.ClientboundPacket1_20_3;
 import com.viaversion.viaversion.protocols.v1_20_2to1_20_3.packet.ClientboundPackets1_20_3;
@@ -49,9 +53,14 @@ import com.viaversion.viaversion.rewriter.EntityRewriter;
 import com.viaversion.viaversion.rewriter.entitydata.EntityDataHandler;
 import com.viaversion.viaversion.util.Key;
 import com.viaversion.viaversion.util.TagUtil;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import it.unimi.dsi.fastutil.ints.IntArraySet;
 import it.unimi.dsi.fastutil.ints.IntSet;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -63,6 +72,12 @@ public final class EntityPacketRewriter1_20_5 extends EntityRewriter<Clientbound
     private static final UUID CREATIVE_BLOCK_INTERACTION_RANGE = UUID.fromString("736565d2-e1a7-403d-a3f8-1aeb3e302542");
     private static final UUID CREATIVE_ENTITY_INTERACTION_RANGE = UUID.fromString("98491ef6-97b1-4584-ae82-71a8cc85cf73");
     private static final int CREATIVE_MODE_ID = 1;
+    private static final int MAX_REGISTRY_DATA_CACHE_WEIGHT = 16 * 1024 * 1024;
+    private final Cache<RegistryDataKey, ConvertedRegistryData> registryDataCache = CacheBuilder.newBuilder()
+        .concurrencyLevel(1) // Keep the full weight available to single large registries
+        .maximumWeight(MAX_REGISTRY_DATA_CACHE_WEIGHT)
+        .weigher((RegistryDataKey key, ConvertedRegistryData value) -> key.payload().length + value.weight())
+        .build();
 
     public EntityPacketRewriter1_20_5(final Protocol1_20_3To1_20_5 protocol) {
         super(protocol);
@@ -75,136 +90,26 @@ public final class EntityPacketRewriter1_20_5 extends EntityRewriter<Clientbound
         registerRemoveEntities(ClientboundPackets1_20_3.REMOVE_ENTITIES);
 
         protocol.registerClientbound(ClientboundConfigurationPackets1_20_3.REGISTRY_DATA, wrapper -> {
+            wrapper.cancel();
+
             final PacketWrapper knownPacksPacket = wrapper.create(ClientboundConfigurationPackets1_20_5.SELECT_KNOWN_PACKS);
             knownPacksPacket.write(Types.VAR_INT, 0); // No known packs, everything is sent here
             knownPacksPacket.send(Protocol1_20_3To1_20_5.class);
 
-            final CompoundTag registryData = wrapper.read(Types.COMPOUND_TAG);
-            cacheDimensionData(wrapper.user(), registryData);
-            trackBiomeSize(wrapper.user(), registryData);
-
-            // Update format of height provider
-            final ListTag<CompoundTag> dimensionTypes = TagUtil.getRegistryEntries(registryData, "dimension_type");
-            for (final CompoundTag dimensionType : dimensionTypes) {
-                final CompoundTag elementTag = dimensionType.getCompoundTag("element");
-                final CompoundTag monsterSpawnLightLevel = elementTag.getCompoundTag("monster_spawn_light_level");
-                if (monsterSpawnLightLevel != null) {
-                    final CompoundTag value = monsterSpawnLightLevel.removeUnchecked("value");
-                    monsterSpawnLightLevel.putInt("min_inclusive", value.getInt("min_inclusive"));
-                    monsterSpawnLightLevel.putInt("max_inclusive", value.getInt("max_inclusive"));
-                }
-            }
-
-            // Changes in biomes
-            final ListTag<CompoundTag> biomes = TagUtil.getRegistryEntries(registryData, "worldgen/biome");
-            for (final CompoundTag biome : biomes) {
-                final CompoundTag effects = biome.getCompoundTag("element").getCompoundTag("effects");
-
-                // Fixup sound ids that are now hard checked against the registry
-                checkSoundTag(effects.getCompoundTag("mood_sound"), "sound");
-                checkSoundTag(effects.getCompoundTag("additions_sound"), "sound");
-                checkSoundTag(effects.getCompoundTag("music"), "sound");
-                checkSoundTag(effects, "ambient_sound");
-
-                // Particle format changes
-                final CompoundTag particle = effects.getCompoundTag("particle");
-                if (particle != null) {
-                    final CompoundTag particleOptions = particle.getCompoundTag("options");
-                    final String particleType = particleOptions.getString("type");
-                    updateParticleFormat(particleOptions, Key.stripMinecraftNamespace(particleType));
-                }
-            }
-
-            for (final Map.Entry<String, Tag> entry : registryData.entrySet()) {
-                final CompoundTag entryTag = (CompoundTag) entry.getValue();
-                final String type = entryTag.getString("type");
-                final ListTag<CompoundTag> valueTag = entryTag.getListTag("value", CompoundTag.class);
-
-                // Calculate number of entries (exclude duplicated ids)
-                RegistryEntry[] registryEntries = new RegistryEntry[valueTag.stream().map(e -> e.getInt("id")).distinct().toArray().length];
-                boolean requiresDummyValues = false;
-                int highestId = -1;
-                final IntSet ids = new IntArraySet();
-                for (final CompoundTag tag : valueTag) {
-                    final String name = tag.getString("name");
-                    final int id = tag.getInt("id");
-                    if (ids.add(id)) { // Override duplicated id without incrementing entries length
-                        highestId = Math.max(highestId, id);
-                        if (id >= registryEntries.length) {
-                            // It was previously possible to have arbitrary ids, increase array length if needed
-                            registryEntries = Arrays.copyOf(registryEntries, Math.max(registryEntries.length * 2, id + 1));
-                            requiresDummyValues = true;
-                        }
-                    }
-
-                    registryEntries[id] = new RegistryEntry(name, tag.get("element"));
-                }
-
-                if (Key.stripMinecraftNamespace(type).equals("damage_type")) {
-                    // Add spit damage type
-                    highestId++;
-                    registryEntries = Arrays.copyOf(registryEntries, highestId + 1);
-                    final CompoundTag spitData = new CompoundTag();
-                    spitData.putString("scaling", "when_caused_by_living_non_player");
-                    spitData.putString("message_id", "mob");
-                    spitData.putFloat("exhaustion", 0.1F);
-                    registryEntries[highestId] = new RegistryEntry("minecraft:spit", spitData);
-
-                    // Fill in missing damage types with 1.20.3/4 defaults
-                    final Set<String> registryEntryKeys = Arrays.stream(registryEntries).map(e -> Key.stripMinecraftNamespace(e.key())).collect(Collectors.toSet());
-                    for (final String key : DamageTypes1_20_3.keys()) {
-                        if (registryEntryKeys.contains(key)) {
-                            continue;
-                        }
-
-                        highestId++;
-                        registryEntries = Arrays.copyOf(registryEntries, highestId + 1);
-                        registryEntries[highestId] = new RegistryEntry(Key.namespaced(key), DamageTypes1_20_3.get(key));
-                    }
-                }
-
-                if (requiresDummyValues) {
-                    // Truncate and replace null values
-                    final int finalLength = highestId + 1;
-                    if (registryEntries.length != finalLength) {
-                        registryEntries = Arrays.copyOf(registryEntries, finalLength);
-                    }
-                    replaceNullValues(registryEntries);
-                }
-
-                final PacketWrapper registryPacket = wrapper.create(ClientboundConfigurationPackets1_20_5.REGISTRY_DATA);
-                registryPacket.write(Types.STRING, type);
-                registryPacket.write(Types.REGISTRY_ENTRY_ARRAY, registryEntries);
-                registryPacket.send(Protocol1_20_3To1_20_5.class);
+            // The registries are usually the same for every player, so reuse the converted packets if the input is unchanged
+            final LazyCompoundTag registryTag = wrapper.read(Types.LAZY_COMPOUND_TAG);
+            final RegistryDataKey key = RegistryDataKey.of(registryTag);
+            ConvertedRegistryData registryData = registryDataCache.getIfPresent(key);
+            if (registryData == null) {
+                registryData = convertRegistryData(registryTag.tag());
+                registryDataCache.put(key, registryData);
             }
 
-            wrapper.cancel();
-
-            // Send banner patterns and default wolf variant
-            final PacketWrapper wolfVariantsPacket = wrapper.create(ClientboundConfigurationPackets1_20_5.REGISTRY_DATA);
-            wolfVariantsPacket.write(Types.STRING, "minecraft:wolf_variant");
-            final CompoundTag paleWolf = new CompoundTag();
-            paleWolf.putString("wild_texture", "entity/wolf/wolf");
-            paleWolf.putString("tame_texture", "entity/wolf/wolf_tame");
-            paleWolf.putString("angry_texture", "entity/wolf/wolf_angry");
-            paleWolf.put("biomes", new ListTag<>(StringTag.class));
-            wolfVariantsPacket.write(Types.REGISTRY_ENTRY_ARRAY, new RegistryEntry[]{new RegistryEntry("minecraft:pale", paleWolf)});
-            wolfVariantsPacket.send(Protocol1_20_3To1_20_5.class);
-
-            final PacketWrapper bannerPatternsPacket = wrapper.create(ClientboundConfigurationPackets1_20_5.REGISTRY_DATA);
-            bannerPatternsPacket.write(Types.STRING, "minecraft:banner_pattern");
-            final RegistryEntry[] patternEntries = new RegistryEntry[BannerPatterns1_20_5.keys().length];
-            final String[] keys = BannerPatterns1_20_5.keys();
-            for (int i = 0; i < keys.length; i++) {
-                final CompoundTag pattern = new CompoundTag();
-                final String key = keys[i];
-                final String resourceLocation = "minecraft:" + key;
-                pattern.putString("asset_id", key);
-                pattern.putString("translation_key", "block.minecraft.banner." + key);
-                patternEntries[i] = new RegistryEntry(resourceLocation, pattern);
+            tracker(wrapper.user()).setDimensions(registryData.dimensions());
+            tracker(wrapper.user()).setBiomesSent(registryData.biomes());
+            for (final SerializedPacket packet : registryData.packets()) {
+                packet.send(wrapper.user(), Protocol1_20_3To1_20_5.class);
             }
-            bannerPatternsPacket.write(Types.REGISTRY_ENTRY_ARRAY, patternEntries);
-            bannerPatternsPacket.send(Protocol1_20_3To1_20_5.class);
         });
 
         protocol.registerClientbound(ClientboundPackets1_20_3.LOGIN, new PacketHandlers() {
@@ -312,6 +217,127 @@ public final class EntityPacketRewriter1_20_5 extends EntityRewriter<Clientbound
         });
     }
 
+    private ConvertedRegistryData convertRegistryData(final CompoundTag registryData) {
+        // Shared between all connections with the same registry data
+        final Map<String, DimensionData> dimensions = Collections.unmodifiableMap(dimensionDataMap(registryData));
+        final int biomeCount = TagUtil.getRegistryEntries(registryData, "worldgen/biome").size();
+        final List<SerializedPacket> packets = new ArrayList<>();
+
+        // Update format of height provider
+        final ListTag<CompoundTag> dimensionTypes = TagUtil.getRegistryEntries(registryData, "dimension_type");
+        for (final CompoundTag dimensionType : dimensionTypes) {
+            final CompoundTag elementTag = dimensionType.getCompoundTag("element");
+            final CompoundTag monsterSpawnLightLevel = elementTag.getCompoundTag("monster_spawn_light_level");
+            if (monsterSpawnLightLevel != null) {
+                final CompoundTag value = monsterSpawnLightLevel.removeUnchecked("value");
+                monsterSpawnLightLevel.putInt("min_inclusive", value.getInt("min_inclusive"));
+                monsterSpawnLightLevel.putInt("max_inclusive", value.getInt("max_inclusive"));
+            }
+        }
+
+        // Changes in biomes
+        final ListTag<CompoundTag> biomes = TagUtil.getRegistryEntries(registryData, "worldgen/biome");
+        for (final CompoundTag biome : biomes) {
+            final CompoundTag effects = biome.getCompoundTag("element").getCompoundTag("effects");
+
+            // Fixup sound ids that are now hard checked against the registry
+            checkSoundTag(effects.getCompoundTag("mood_sound"), "sound");
+            checkSoundTag(effects.getCompoundTag("additions_sound"), "sound");
+            checkSoundTag(effects.getCompoundTag("music"), "sound");
+            checkSoundTag(effects, "ambient_sound");
+
+            // Particle format changes
+            final CompoundTag particle = effects.getCompoundTag("particle");
+            if (particle != null) {
+                final CompoundTag particleOptions = particle.getCompoundTag("options");
+                final String particleType = particleOptions.getString("type");
+                updateParticleFormat(particleOptions, Key.stripMinecraftNamespace(particleType));
+            }
+        }
+
+        for (final Map.Entry<String, Tag> entry : registryData.entrySet()) {
+            final CompoundTag entryTag = (CompoundTag) entry.getValue();
+            final String type = entryTag.getString("type");
+            final ListTag<CompoundTag> valueTag = entryTag.getListTag("value", CompoundTag.class);
+
+            // Calculate number of entries (exclude duplicated ids)
+            RegistryEntry[] registryEntries = new RegistryEntry[valueTag.stream().map(e -> e.getInt("id")).distinct().toArray().length];
+            boolean requiresDummyValues = false;
+            int highestId = -1;
+            final IntSet ids = new IntArraySet();
+            for (final CompoundTag tag : valueTag) {
+                final String name = tag.getString("name");
+                final int id = tag.getInt("id");
+                if (ids.add(id)) { // Override duplicated id without incrementing entries length
+                    highestId = Math.max(highestId, id);
+                    if (id >= registryEntries.length) {
+                        // It was previously possible to have arbitrary ids, increase array length if needed
+                        registryEntries = Arrays.copyOf(registryEntries, Math.max(registryEntries.length * 2, id + 1));
+                        requiresDummyValues = true;
+                    }
+                }
+
+                registryEntries[id] = new RegistryEntry(name, tag.get("element"));
+            }
+
+            if (Key.stripMinecraftNamespace(type).equals("damage_type")) {
+                // Add spit damage type
+                highestId++;
+                registryEntries = Arrays.copyOf(registryEntries, highestId + 1);
+                final CompoundTag spitData = new CompoundTag();
+                spitData.putString("scaling", "when_caused_by_living_non_player");
+                spitData.putString("message_id", "mob");
+                spitData.putFloat("exhaustion", 0.1F);
+                registryEntries[highestId] = new RegistryEntry("minecraft:spit", spitData);
+
+                // Fill in missing damage types with 1.20.3/4 defaults
+                final Set<String> registryEntryKeys = Arrays.stream(registryEntries).map(e -> Key.stripMinecraftNamespace(e.key())).collect(Collectors.toSet());
+                for (final String key : DamageTypes1_20_3.keys()) {
+                    if (registryEntryKeys.contains(key)) {
+                        continue;
+                    }
+
+                    highestId++;
+                    registryEntries = Arrays.copyOf(registryEntries, highestId + 1);
+                    registryEntries[highestId] = new RegistryEntry(Key.namespaced(key), DamageTypes1_20_3.get(key));
+                }
+            }
+
+            if (requiresDummyValues) {
+                // Truncate and replace null values
+                final int finalLength = highestId + 1;
+                if (registryEntries.length != finalLength) {
+                    registryEntries = Arrays.copyOf(registryEntries, finalLength);
+                }
+                replaceNullValues(registryEntries);
+            }
+
+            packets.add(SerializedPacket.registryData(ClientboundConfigurationPackets1_20_5.REGISTRY_DATA, type, registryEntries));
+        }
+
+        // Add banner patterns and default wolf variant
+        final CompoundTag paleWolf = new CompoundTag();
+        paleWolf.putString("wild_texture", "entity/wolf/wolf");
+        paleWolf.putString("tame_texture", "entity/wolf/wolf_tame");
+        paleWolf.putString("angry_texture", "entity/wolf/wolf_angry");
+        paleWolf.put("biomes", new ListTag<>(StringTag.class));
+        packets.add(SerializedPacket.registryData(ClientboundConfigurationPackets1_20_5.REGISTRY_DATA, "minecraft:wolf_variant", new RegistryEntry[]{new RegistryEntry("minecraft:pale", paleWolf)}));
+
+        final RegistryEntry[] patternEntries = new RegistryEntry[BannerPatterns1_20_5.keys().length];
+        final String[] keys = BannerPatterns1_20_5.keys();
+        for (int i = 0; i < keys.length; i++) {
+            final CompoundTag pattern = new CompoundTag();
+            final String key = keys[i];
+            final String resourceLocation = "minecraft:" + key;
+            pattern.putString("asset_id", key);
+            pattern.putString("translation_key", "block.minecraft.banner." + key);
+            patternEntries[i] = new RegistryEntry(resourceLocation, pattern);
+        }
+        packets.add(SerializedPacket.registryData(ClientboundConfigurationPackets1_20_5.REGISTRY_DATA, "minecraft:banner_pattern", patternEntries));
+
+        return new ConvertedRegistryData(dimensions, biomeCount, packets.toArray(SerializedPacket[]::new));
+    }
+
     private void updateParticleFormat(final CompoundTag options, final String particleType) {
         if ("block".equals(particleType) || "block_marker".equals(particleType) || "falling_dust".equals(particleType) || "dust_pillar".equals(particleType)) {
             moveTag(options, "value", "block_state");
@@ -515,4 +541,51 @@ public final class EntityPacketRewriter1_20_5 extends EntityRewriter<Clientbound
     public EntityType typeFromId(final int type) {
         return EntityTypes1_20_5.getTypeFromId(type);
     }
+
+    private record ConvertedRegistryData(Map<String, DimensionData> dimensions, int biomes, SerializedPacket[] packets) {
+
+        int weight() {
+            int weight = 0;
+            for (final SerializedPacket packet : packets) {
+                weight += packet.data().length;
+            }
+            return weight;
+        }
+    }
+
+    private record RegistryDataKey(byte[] payload, int hash) {
+
+        RegistryDataKey(final byte[] payload) {
+            this(payload, Arrays.hashCode(payload));
+        }
+
+        static RegistryDataKey of(final LazyCompoundTag tag) {
+            final byte[] payload = tag.payload();
+            if (payload != null) {
+                return new RegistryDataKey(payload);
+            }
+
+            // Already parsed by a previous protocol, e.g. for servers older than 1.20.3, so it has to be serialized again
+            final ByteBuf buffer = Unpooled.buffer();
+            try {
+                tag.write(buffer, false);
+                buffer.skipBytes(Byte.BYTES); // Root tag id, not part of the payload
+                final byte[] data = new byte[buffer.readableBytes()];
+                buffer.readBytes(data);
+                return new RegistryDataKey(data);
+            } finally {
+                buffer.release();
+            }
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof RegistryDataKey key && hash == key.hash && Arrays.equals(payload, key.payload);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,88 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.protocols.v1_20_3to1_20_5.storage;
+
+import com.viaversion.viaversion.api.connection.StorableObject;
+import com.viaversion.viaversion.util.KeyMappings;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Recently converted items by their serialized form, so that the same items sent over and over again
+ * (e.g. full inventories on every click) only need to be converted once.
+ * <p>
+ * Only the serialized results are stored, every lookup creates new item instances that can be modified freely.
+ */
+public final class ItemConversionCache implements StorableObject {
+
+    public static final int MAX_ITEM_BYTES = 8 * 1024;
+    private static final int MAX_ENTRIES = 128;
+    private final Map<ItemKey, byte[]> items = new LinkedHashMap<>(16, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<ItemKey, byte[]> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    private @Nullable KeyMappings bannerPatterns;
+
+    /**
+     * Returns the serialized converted item for the serialized input item if present.
+     *
+     * @param input          serialized input item
+     * @param bannerPatterns banner pattern mappings of the connection if set, used in the conversion
+     * @return serialized converted item, or null if not present
+     */
+    public byte @Nullable [] get(final byte[] input, final @Nullable KeyMappings bannerPatterns) {
+        if (this.bannerPatterns != bannerPatterns) {
+            // Conversion results depend on the registry
+            this.bannerPatterns = bannerPatterns;
+            items.clear();
+            return null;
+        }
+        return items.get(new ItemKey(input));
+    }
+
+    public void put(final byte[] input, final byte[] output) {
+        items.put(new ItemKey(input), output);
+    }
+
+    @Override
+    public void onRemove() {
+        items.clear();
+        bannerPatterns = null;
+    }
+
+    private record ItemKey(byte[] data, int hash) {
+
+        ItemKey(final byte[] data) {
+            this(data, Arrays.hashCode(data));
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof ItemKey key && hash == key.hash && Arrays.equals(data, key.data);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
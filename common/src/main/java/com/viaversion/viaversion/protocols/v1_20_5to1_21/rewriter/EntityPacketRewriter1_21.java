@@ -24,11 +24,11 @@ import com.viaversion.viaversion.api.minecraft.RegistryEntry;
 import com.viaversion.viaversion.api.minecraft.entities.EntityType;
 import com.viaversion.viaversion.api.minecraft.entities.EntityTypes1_20_5;
 import com.viaversion.viaversion.api.minecraft.entitydata.EntityDataType;
-import com.viaversion.viaversion.api.protocol.packet.PacketWrapper;
 import com.viaversion.viaversion.api.protocol.remapper.PacketHandlers;
 import com.viaversion.viaversion.api.type.Types;
 import com.viaversion.viaversion.api.type.types.version.Types1_20_5;
 import com.viaversion.viaversion.api.type.types.version.Types1_21;
+import com.viaversion.viaversion.protocol.packet.SerializedPacket;
 import com.viaversion.viaversion.protocols.v1_20_3to1_20_5.data.Enchantments1_20_5;
 import com.viaversion.viaversion.protocols.v1_20_3to1_20_5.packet.ClientboundConfigurationPackets1_20_5;
 import com.viaversion.viaversion.protocols.v1_20_3to1_20_5.packet.ClientboundPacket1_20_5;
@@ -41,6 +41,8 @@ import com.viaversion.viaversion.util.Key;
 
 public final class EntityPacketRewriter1_21 extends EntityRewriter<ClientboundPacket1_20_5, Protocol1_20_5To1_21> {
 
+    private volatile SerializedPacket[] addedRegistryPackets;
+
     public EntityPacketRewriter1_21(final Protocol1_20_5To1_21 protocol) {
         super(protocol);
     }
@@ -52,7 +54,7 @@ public final class EntityPacketRewriter1_21 extends EntityRewriter<ClientboundPa
         registerRemoveEntities(ClientboundPackets1_20_5.REMOVE_ENTITIES);
 
         protocol.registerClientbound(ClientboundConfigurationPackets1_20_5.REGISTRY_DATA, wrapper -> {
-            final String type = Key.stripMinecraftNamespace(wrapper.passthrough(Types.STRING));
+            final String type = Key.stripMinecraftNamespace(wrapper.passthrough(Types.IDENTIFIER));
             final RegistryEntry[] entries = wrapper.passthrough(Types.REGISTRY_ENTRY_ARRAY);
             if (type.equals("damage_type")) {
                 // Add required damage type
@@ -68,35 +70,9 @@ public final class EntityPacketRewriter1_21 extends EntityRewriter<ClientboundPa
 
         protocol.registerClientbound(ClientboundConfigurationPackets1_20_5.FINISH_CONFIGURATION, wrapper -> {
             // Add new registries
-            final PacketWrapper paintingRegistryPacket = wrapper.create(ClientboundConfigurationPackets1_20_5.REGISTRY_DATA);
-            paintingRegistryPacket.write(Types.STRING, "minecraft:painting_variant");
-            final RegistryEntry[] paintingsRegistry = new RegistryEntry[Paintings1_20_5.PAINTINGS.length];
-            for (int i = 0; i < Paintings1_20_5.PAINTINGS.length; i++) {
-                final PaintingVariant painting = Paintings1_20_5.PAINTINGS[i];
-                final CompoundTag tag = new CompoundTag();
-                tag.putInt("width", painting.width());
-                tag.putInt("height", painting.height());
-                tag.putString("asset_id", painting.assetId());
-                paintingsRegistry[i] = new RegistryEntry(painting.assetId(), tag);
-            }
-            paintingRegistryPacket.write(Types.REGISTRY_ENTRY_ARRAY, paintingsRegistry);
-            paintingRegistryPacket.send(Protocol1_20_5To1_21.class);
-
-            final PacketWrapper enchantmentRegistryPacket = wrapper.create(ClientboundConfigurationPackets1_20_5.REGISTRY_DATA);
-            enchantmentRegistryPacket.write(Types.STRING, "minecraft:enchantment");
-            final RegistryEntry[] enchantmentRegistry = new RegistryEntry[Enchantments1_20_5.ENCHANTMENTS.size()];
-            for (int i = 0; i < Enchantments1_20_5.ENCHANTMENTS.size(); i++) {
-                final String key = Enchantments1_20_5.idToKey(i);
-                final CompoundTag tag = protocol.getMappingData().enchantment(i);
-                enchantmentRegistry[i] = new RegistryEntry(key, tag);
+            for (final SerializedPacket packet : addedRegistryPackets()) {
+                packet.send(wrapper.user(), Protocol1_20_5To1_21.class);
             }
-            enchantmentRegistryPacket.write(Types.REGISTRY_ENTRY_ARRAY, enchantmentRegistry);
-            enchantmentRegistryPacket.send(Protocol1_20_5To1_21.class);
-
-            final PacketWrapper jukeboxSongsPacket = wrapper.create(ClientboundConfigurationPackets1_20_5.REGISTRY_DATA);
-            jukeboxSongsPacket.write(Types.STRING, "minecraft:jukebox_song");
-            jukeboxSongsPacket.write(Types.REGISTRY_ENTRY_ARRAY, protocol.getMappingData().jukeboxSongs());
-            jukeboxSongsPacket.send(Protocol1_20_5To1_21.class);
         });
 
         protocol.registerClientbound(ClientboundPackets1_20_5.LOGIN, new PacketHandlers() {
@@ -126,6 +102,39 @@ public final class EntityPacketRewriter1_21 extends EntityRewriter<ClientboundPa
         });
     }
 
+    private SerializedPacket[] addedRegistryPackets() {
+        // Only depends on mapping data, so serialize it once for all connections
+        SerializedPacket[] packets = addedRegistryPackets;
+        if (packets != null) {
+            return packets;
+        }
+
+        final RegistryEntry[] paintingsRegistry = new RegistryEntry[Paintings1_20_5.PAINTINGS.length];
+        for (int i = 0; i < Paintings1_20_5.PAINTINGS.length; i++) {
+            final PaintingVariant painting = Paintings1_20_5.PAINTINGS[i];
+            final CompoundTag tag = new CompoundTag();
+            tag.putInt("width", painting.width());
+            tag.putInt("height", painting.height());
+            tag.putString("asset_id", painting.assetId());
+            paintingsRegistry[i] = new RegistryEntry(painting.assetId(), tag);
+        }
+
+        final RegistryEntry[] enchantmentRegistry = new RegistryEntry[Enchantments1_20_5.ENCHANTMENTS.size()];
+        for (int i = 0; i < Enchantments1_20_5.ENCHANTMENTS.size(); i++) {
+            final String key = Enchantments1_20_5.idToKey(i);
+            final CompoundTag tag = protocol.getMappingData().enchantment(i);
+            enchantmentRegistry[i] = new RegistryEntry(key, tag);
+        }
+
+        packets = new SerializedPacket[]{
+            SerializedPacket.registryData(ClientboundConfigurationPackets1_20_5.REGISTRY_DATA, "minecraft:painting_variant", paintingsRegistry),
+            SerializedPacket.registryData(ClientboundConfigurationPackets1_20_5.REGISTRY_DATA, "minecraft:enchantment", enchantmentRegistry),
+            SerializedPacket.registryData(ClientboundConfigurationPackets1_20_5.REGISTRY_DATA, "minecraft:jukebox_song", protocol.getMappingData().jukeboxSongs())
+        };
+        addedRegistryPackets = packets;
+        return packets;
+    }
+
     @Override
     protected void registerRewrites() {
         filter().handler((event, data) -> {
@@ -293,6 +293,12 @@ public final class Protocol1_20To1_20_2 extends AbstractProtocol<ClientboundPack
         super.transform(direction, State.CONFIGURATION, packetWrapper);
     }
 
+    @Override
+    public int mappedPassthroughPacketId(final Direction direction, final State state, final int unmappedId) {
+        // Clientbound packets depend on the configuration bridge phase
+        return direction == Direction.SERVERBOUND ? super.mappedPassthroughPacketId(direction, state, unmappedId) : TRANSFORM_PACKET;
+    }
+
     public static void sendConfigurationPackets(final UserConnection connection, final CompoundTag dimensionRegistry, @Nullable final LastResourcePack lastResourcePack) {
         final ProtocolInfo protocolInfo = connection.getProtocolInfo();
         protocolInfo.setServerState(State.CONFIGURATION);
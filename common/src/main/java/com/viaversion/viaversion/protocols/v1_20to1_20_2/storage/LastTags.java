@@ -35,10 +35,10 @@ public class LastTags implements StorableObject {
         final int length = wrapper.passthrough(Types.VAR_INT);
         for (int i = 0; i < length; i++) {
             final List<Tag> tags = new ArrayList<>();
-            final String registryKey = wrapper.passthrough(Types.STRING);
+            final String registryKey = wrapper.passthrough(Types.IDENTIFIER);
             final int tagsSize = wrapper.passthrough(Types.VAR_INT);
             for (int j = 0; j < tagsSize; j++) {
-                final String key = wrapper.passthrough(Types.STRING);
+                final String key = wrapper.passthrough(Types.IDENTIFIER);
                 final int[] ids = wrapper.passthrough(Types.VAR_INT_ARRAY_PRIMITIVE);
                 tags.add(new Tag(key, ids));
             }
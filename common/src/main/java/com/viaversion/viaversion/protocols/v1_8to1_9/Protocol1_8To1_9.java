@@ -18,6 +18,7 @@
 package com.viaversion.viaversion.protocols.v1_8to1_9;
 
 import com.google.gson.JsonElement;
+import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.connection.UserConnection;
 import com.viaversion.viaversion.api.minecraft.ClientWorld;
 import com.viaversion.viaversion.api.platform.providers.ViaProviders;
@@ -48,8 +49,10 @@ import com.viaversion.viaversion.protocols.v1_8to1_9.storage.CommandBlockStorage
 import com.viaversion.viaversion.protocols.v1_8to1_9.storage.EntityTracker1_9;
 import com.viaversion.viaversion.protocols.v1_8to1_9.storage.InventoryTracker;
 import com.viaversion.viaversion.protocols.v1_8to1_9.storage.MovementTracker;
+import com.viaversion.viaversion.protocols.v1_8to1_9.task.IdlePacketTask;
 import com.viaversion.viaversion.util.ComponentUtil;
 import com.viaversion.viaversion.util.SerializerVersion;
+import java.util.concurrent.TimeUnit;
 
 public class Protocol1_8To1_9 extends AbstractProtocol<ClientboundPackets1_8, ClientboundPackets1_9, ServerboundPackets1_8, ServerboundPackets1_9> {
 
@@ -95,6 +98,9 @@ public class Protocol1_8To1_9 extends AbstractProtocol<ClientboundPackets1_8, Cl
         SpawnPacketRewriter1_9.register(this);
         PlayerPacketRewriter1_9.register(this);
         WorldPacketRewriter1_9.register(this);
+
+        // Only rewriting values, so their output can be shared between connections
+        registerConnectionIndependentClientbound(ClientboundPackets1_8.MOVE_ENTITY_POS, ClientboundPackets1_8.MOVE_ENTITY_POS_ROT, ClientboundPackets1_8.ANIMATE);
     }
 
     @Override
@@ -116,6 +122,11 @@ public class Protocol1_8To1_9 extends AbstractProtocol<ClientboundPackets1_8, Cl
         userConnection.put(new ClientChunks());
         // Movement tracker
         userConnection.put(new MovementTracker());
+        if (Via.getConfig().isSimulatePlayerTick()) {
+            IdlePacketTask task = new IdlePacketTask(userConnection);
+            userConnection.put(task);
+            task.start(50, TimeUnit.MILLISECONDS);
+        }
         // Inventory tracker
         userConnection.put(new InventoryTracker());
         // CommandBlock storage
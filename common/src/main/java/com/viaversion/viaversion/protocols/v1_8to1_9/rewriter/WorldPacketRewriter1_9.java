@@ -23,6 +23,7 @@ import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.minecraft.BlockFace;
 import com.viaversion.viaversion.api.minecraft.ClientWorld;
 import com.viaversion.viaversion.api.minecraft.BlockPosition;
+import com.viaversion.viaversion.api.minecraft.LazyCompoundTag;
 import com.viaversion.viaversion.api.minecraft.chunks.BaseChunk;
 import com.viaversion.viaversion.api.minecraft.chunks.Chunk;
 import com.viaversion.viaversion.api.minecraft.chunks.ChunkSection;
@@ -183,11 +184,12 @@ public class WorldPacketRewriter1_9 {
             wrapper.cancel(); // Cancel the packet from being sent
             ClientWorld clientWorld = wrapper.user().get(ClientWorld.class);
             ClientChunks clientChunks = wrapper.user().get(ClientChunks.class);
-            Chunk[] chunks = wrapper.read(BulkChunkType1_8.TYPE);
+            BulkChunkType1_8.ChunkBulkReader chunks = wrapper.read(BulkChunkType1_8.STREAMING_TYPE);
 
             Type<Chunk> chunkType = ChunkType1_9_1.forEnvironment(clientWorld.getEnvironment());
-            // Split into multiple chunk packets
-            for (Chunk chunk : chunks) {
+            // Split into multiple chunk packets, converting each chunk as soon as it has been read
+            while (chunks.hasNext()) {
+                Chunk chunk = chunks.next();
                 PacketWrapper chunkData = wrapper.create(ClientboundPackets1_9.LEVEL_CHUNK);
                 chunkData.write(chunkType, chunk);
                 chunkData.send(Protocol1_8To1_9.class);
@@ -215,12 +217,13 @@ public class WorldPacketRewriter1_9 {
             public void register() {
                 map(Types.BLOCK_POSITION1_8); // 0 - Block Position
                 map(Types.UNSIGNED_BYTE); // 1 - Action
-                map(Types.NAMED_COMPOUND_TAG); // 2 - NBT (Might not be present)
+                map(Types.LAZY_NAMED_COMPOUND_TAG); // 2 - NBT (Might not be present), only parsed if needed
                 handler(wrapper -> {
                     int action = wrapper.get(Types.UNSIGNED_BYTE, 0);
                     if (action == 1) { // Update Spawner
-                        CompoundTag tag = wrapper.get(Types.NAMED_COMPOUND_TAG, 0);
-                        if (tag != null) {
+                        LazyCompoundTag lazyTag = wrapper.get(Types.LAZY_NAMED_COMPOUND_TAG, 0);
+                        if (lazyTag != null) {
+                            CompoundTag tag = lazyTag.tag();
                             StringTag entityId = tag.getStringTag("EntityId");
                             if (entityId != null) {
                                 String entity = entityId.getValue();
@@ -236,7 +239,8 @@ public class WorldPacketRewriter1_9 {
                     }
                     if (action == 2) { // Update Command Block
                         CommandBlockProvider provider = Via.getManager().getProviders().get(CommandBlockProvider.class);
-                        provider.addOrUpdateBlock(wrapper.user(), wrapper.get(Types.BLOCK_POSITION1_8, 0), wrapper.get(Types.NAMED_COMPOUND_TAG, 0));
+                        LazyCompoundTag lazyTag = wrapper.get(Types.LAZY_NAMED_COMPOUND_TAG, 0);
+                        provider.addOrUpdateBlock(wrapper.user(), wrapper.get(Types.BLOCK_POSITION1_8, 0), lazyTag != null ? lazyTag.tag() : null);
 
                         // To prevent window issues don't send updates
                         wrapper.cancel();
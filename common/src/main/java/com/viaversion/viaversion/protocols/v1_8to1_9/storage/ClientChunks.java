@@ -17,18 +17,17 @@
  */
 package com.viaversion.viaversion.protocols.v1_8to1_9.storage;
 
-import com.google.common.collect.Sets;
 import com.viaversion.viaversion.api.connection.StorableObject;
-import java.util.Set;
+import com.viaversion.viaversion.util.LongSet;
 
 public class ClientChunks implements StorableObject {
-    private final Set<Long> loadedChunks = Sets.newConcurrentHashSet();
+    private final LongSet loadedChunks = new LongSet();
 
     public static long toLong(int msw, int lsw) {
         return ((long) msw << 32) + lsw + 2147483648L;
     }
 
-    public Set<Long> getLoadedChunks() {
+    public LongSet getLoadedChunks() {
         return loadedChunks;
     }
 
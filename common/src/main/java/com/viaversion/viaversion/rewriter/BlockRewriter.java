@@ -30,6 +30,7 @@ import com.viaversion.viaversion.api.minecraft.blockentity.BlockEntityImpl;
 import com.viaversion.viaversion.api.minecraft.chunks.Chunk;
 import com.viaversion.viaversion.api.minecraft.chunks.ChunkSection;
 import com.viaversion.viaversion.api.minecraft.chunks.DataPalette;
+import com.viaversion.viaversion.api.minecraft.chunks.PackedDataPalette;
 import com.viaversion.viaversion.api.minecraft.chunks.PaletteType;
 import com.viaversion.viaversion.api.protocol.Protocol;
 import com.viaversion.viaversion.api.protocol.packet.ClientboundPacketType;
@@ -247,15 +248,27 @@ public class BlockRewriter<C extends ClientboundPacketType> {
             MathUtil.ceilLog2(tracker.biomesSent()));
         final Chunk chunk = wrapper.passthrough(chunkType);
         for (final ChunkSection section : chunk.getSections()) {
-            final DataPalette blockPalette = section.palette(PaletteType.BLOCKS);
-            for (int i = 0; i < blockPalette.size(); i++) {
-                final int id = blockPalette.idByIndex(i);
-                blockPalette.setIdByIndex(i, protocol.getMappingData().getNewBlockStateId(id));
-            }
+            handleBlockPalette(section.palette(PaletteType.BLOCKS));
         }
         return chunk;
     }
 
+    public void handleBlockPalette(final DataPalette blockPalette) {
+        final MappingData mappingData = protocol.getMappingData();
+        if (blockPalette instanceof PackedDataPalette packedPalette && packedPalette.global()) {
+            // Remap the packed global ids directly instead of building a palette first
+            final int mappedGlobalPaletteBits = MathUtil.ceilLog2(mappingData.getBlockStateMappings().mappedSize());
+            if (packedPalette.remapGlobalIds(mappingData::getNewBlockStateId, mappedGlobalPaletteBits)) {
+                return;
+            }
+        }
+
+        for (int i = 0; i < blockPalette.size(); i++) {
+            final int id = blockPalette.idByIndex(i);
+            blockPalette.setIdByIndex(i, mappingData.getNewBlockStateId(id));
+        }
+    }
+
     public void registerBlockEntityData(C packetType) {
         registerBlockEntityData(packetType, null);
     }
@@ -47,6 +47,7 @@ import com.viaversion.viaversion.api.type.Type;
 import com.viaversion.viaversion.api.type.Types;
 import com.viaversion.viaversion.data.entity.DimensionDataImpl;
 import com.viaversion.viaversion.rewriter.entitydata.EntityDataFilter;
+import com.viaversion.viaversion.rewriter.entitydata.EntityDataFilterIndex;
 import com.viaversion.viaversion.rewriter.entitydata.EntityDataHandlerEvent;
 import com.viaversion.viaversion.rewriter.entitydata.EntityDataHandlerEventImpl;
 import com.viaversion.viaversion.util.Key;
@@ -63,8 +64,8 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 
 public abstract class EntityRewriter<C extends ClientboundPacketType, T extends Protocol<C, ?, ?, ?>>
     extends RewriterBase<T> implements com.viaversion.viaversion.api.rewriter.EntityRewriter<T> {
-    private static final EntityData[] EMPTY_ARRAY = new EntityData[0];
     protected final List<EntityDataFilter> entityDataFilters = new ArrayList<>();
+    private volatile EntityDataFilterIndex filterIndex;
     protected final boolean trackMappedType;
     protected Mappings typeMappings;
 
@@ -105,15 +106,24 @@ public abstract class EntityRewriter<C extends ClientboundPacketType, T extends
     public void registerFilter(EntityDataFilter filter) {
         Preconditions.checkArgument(!entityDataFilters.contains(filter));
         entityDataFilters.add(filter);
+        filterIndex = null;
     }
 
     @Override
     public void handleEntityData(final int entityId, final List<EntityData> entityDataList, final UserConnection connection) {
         final TrackedEntity entity = tracker(connection).entity(entityId);
         final EntityType type = entity != null ? entity.entityType() : null;
-        for (final EntityData entityData : entityDataList.toArray(EMPTY_ARRAY)) { // Copy the list to allow mutation
+        final EntityDataFilterIndex filters = filterIndex();
+        final int size = entityDataList.size();
+        int listIndex = 0;
+        for (int i = 0; i < size; i++) {
+            // Removed entity data is always the current one, and extra data is appended after the original entries
+            final EntityData entityData = entityDataList.get(listIndex);
             EntityDataHandlerEvent event = null;
-            for (final EntityDataFilter filter : entityDataFilters) {
+            boolean removed = false;
+            // Look up the next filter with the current index, as handlers may change it
+            for (int position = filters.next(entityData.id(), 0); position != -1; position = filters.next(entityData.id(), position + 1)) {
+                final EntityDataFilter filter = filters.filter(position);
                 if (!filter.isFiltered(type, entityData)) {
                     continue;
                 }
@@ -126,17 +136,22 @@ public abstract class EntityRewriter<C extends ClientboundPacketType, T extends
                     filter.handler().handle(event, entityData);
                 } catch (final Exception e) {
                     logException(e, type, entityDataList, entityData);
-                    entityDataList.remove(entityData);
+                    entityDataList.remove(listIndex);
+                    removed = true;
                     break;
                 }
 
                 if (event.cancelled()) {
                     // Remove entity data, and break current filter loop
-                    entityDataList.remove(entityData);
+                    entityDataList.remove(listIndex);
+                    removed = true;
                     break;
                 }
             }
 
+            if (!removed) {
+                listIndex++;
+            }
             if (event != null && event.hasExtraData()) {
                 // Finally, add newly created entity data
                 entityDataList.addAll(event.extraData());
@@ -148,6 +163,16 @@ public abstract class EntityRewriter<C extends ClientboundPacketType, T extends
         }
     }
 
+    private EntityDataFilterIndex filterIndex() {
+        EntityDataFilterIndex filterIndex = this.filterIndex;
+        if (filterIndex == null || filterIndex.size() != entityDataFilters.size()) {
+            // Built once all filters have been registered
+            filterIndex = new EntityDataFilterIndex(entityDataFilters);
+            this.filterIndex = filterIndex;
+        }
+        return filterIndex;
+    }
+
     @Override
     public int newEntityId(int id) {
         return typeMappings != null ? typeMappings.getNewIdOrDefault(id, id) : id;
@@ -509,6 +534,13 @@ public abstract class EntityRewriter<C extends ClientboundPacketType, T extends
      * Caches dimension data, later used to get height values and other important info.
      */
     public void cacheDimensionData(final UserConnection connection, final CompoundTag registry) {
+        tracker(connection).setDimensions(dimensionDataMap(registry));
+    }
+
+    /**
+     * Returns the dimension data from the given registry data, mapped by dimension key without the minecraft namespace.
+     */
+    public Map<String, DimensionData> dimensionDataMap(final CompoundTag registry) {
         final ListTag<CompoundTag> dimensions = TagUtil.getRegistryEntries(registry, "dimension_type");
         final Map<String, DimensionData> dimensionDataMap = new HashMap<>(dimensions.size());
         for (final CompoundTag dimension : dimensions) {
@@ -517,7 +549,7 @@ public abstract class EntityRewriter<C extends ClientboundPacketType, T extends
             final String name = dimension.getStringTag("name").getValue();
             dimensionDataMap.put(Key.stripMinecraftNamespace(name), new DimensionDataImpl(idTag.asInt(), element));
         }
-        tracker(connection).setDimensions(dimensionDataMap);
+        return dimensionDataMap;
     }
 
     public void handleRegistryData1_20_5(final UserConnection connection, final String registryKey, final RegistryEntry[] entries) {
@@ -0,0 +1,94 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.rewriter.entitydata;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entity data filters grouped by the entity data index they apply to, keeping their registration order.
+ * <p>
+ * Handlers may change the index of the entity data they handle, so lookups always continue from a filter position
+ * instead of returning a fixed list of filters.
+ */
+public final class EntityDataFilterIndex {
+
+    private final EntityDataFilter[] filters;
+    private final int[][] positionsByIndex;
+    private final int[] unindexedPositions;
+
+    public EntityDataFilterIndex(final List<EntityDataFilter> filters) {
+        this.filters = filters.toArray(EntityDataFilter[]::new);
+
+        int maxIndex = -1;
+        for (final EntityDataFilter filter : this.filters) {
+            maxIndex = Math.max(maxIndex, filter.index());
+        }
+
+        final IntList unindexed = new IntArrayList();
+        final IntList[] byIndex = new IntList[maxIndex + 1];
+        for (int i = 0; i < byIndex.length; i++) {
+            byIndex[i] = new IntArrayList();
+        }
+        for (int position = 0; position < this.filters.length; position++) {
+            final int index = this.filters[position].index();
+            if (index == -1) {
+                // Applies to every index
+                unindexed.add(position);
+                for (final IntList positions : byIndex) {
+                    positions.add(position);
+                }
+            } else {
+                byIndex[index].add(position);
+            }
+        }
+
+        this.unindexedPositions = unindexed.toIntArray();
+        this.positionsByIndex = new int[byIndex.length][];
+        for (int i = 0; i < byIndex.length; i++) {
+            positionsByIndex[i] = byIndex[i].toIntArray();
+        }
+    }
+
+    /**
+     * Returns the position of the next filter that may apply to entity data with the given index.
+     * The filter still has to be checked with {@link EntityDataFilter#isFiltered}.
+     *
+     * @param index entity data index
+     * @param from  first filter position to consider
+     * @return position of the next filter at or after the given position, or -1 if none
+     */
+    public int next(final int index, final int from) {
+        final int[] positions = index >= 0 && index < positionsByIndex.length ? positionsByIndex[index] : unindexedPositions;
+        int i = Arrays.binarySearch(positions, from);
+        if (i < 0) {
+            i = -i - 1;
+        }
+        return i < positions.length ? positions[i] : -1;
+    }
+
+    public EntityDataFilter filter(final int position) {
+        return filters[position];
+    }
+
+    public int size() {
+        return filters.length;
+    }
+}
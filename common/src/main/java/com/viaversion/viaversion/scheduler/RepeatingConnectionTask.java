@@ -0,0 +1,80 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.scheduler;
+
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.connection.StorableObject;
+import com.viaversion.viaversion.api.connection.UserConnection;
+import io.netty.channel.Channel;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Task repeatedly run on the event loop of a single connection, so that its cost only applies to connections that need it.
+ * Stored in the connection and cancelled once it is removed from it or the channel is closed.
+ */
+public abstract class RepeatingConnectionTask implements StorableObject, Runnable {
+
+    protected final UserConnection connection;
+    private ScheduledFuture<?> future;
+
+    protected RepeatingConnectionTask(final UserConnection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Starts running the task on the connection's event loop if the connection has a channel.
+     *
+     * @param period   period between runs
+     * @param timeUnit time unit of the period
+     */
+    public void start(final long period, final TimeUnit timeUnit) {
+        final Channel channel = connection.getChannel();
+        if (channel == null || future != null) {
+            return;
+        }
+
+        future = channel.eventLoop().scheduleAtFixedRate(this::tick, period, period, timeUnit);
+    }
+
+    public void cancel() {
+        if (future != null) {
+            future.cancel(false);
+        }
+    }
+
+    private void tick() {
+        if (!connection.getChannel().isOpen()) {
+            cancel();
+            return;
+        }
+
+        try {
+            run();
+        } catch (final Throwable t) {
+            // Exceptions would silently stop further executions
+            Via.getPlatform().getLogger().log(Level.WARNING, "Error running " + getClass().getSimpleName(), t);
+        }
+    }
+
+    @Override
+    public void onRemove() {
+        cancel();
+    }
+}
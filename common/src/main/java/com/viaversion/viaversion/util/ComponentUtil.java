@@ -17,13 +17,27 @@
  */
 package com.viaversion.viaversion.util;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.viaversion.nbt.tag.ByteArrayTag;
 import com.viaversion.nbt.tag.CompoundTag;
+import com.viaversion.nbt.tag.IntArrayTag;
+import com.viaversion.nbt.tag.ListTag;
+import com.viaversion.nbt.tag.LongArrayTag;
 import com.viaversion.nbt.tag.StringTag;
 import com.viaversion.nbt.tag.Tag;
 import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.type.Types;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import net.lenni0451.mcstructs.text.ATextComponent;
 import net.lenni0451.mcstructs.text.Style;
@@ -40,6 +54,12 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 public final class ComponentUtil {
 
     private static final int MAX_UNSIGNED_SHORT = 65535;
+    private static final int MAX_CACHED_INPUT_LENGTH = 16 * 1024;
+    private static final Cache<ConversionKey, Object> CONVERSION_CACHE = CacheBuilder.newBuilder()
+        .maximumWeight(8 * 1024 * 1024) // Roughly in bytes, counting the input twice to account for the result
+        .weigher((final ConversionKey key, final Object value) -> key.input().length() * 2)
+        .recordStats()
+        .build();
 
     public static JsonObject emptyJsonComponent() {
         return plainToJson("");
@@ -57,22 +77,36 @@ public final class ComponentUtil {
 
     public static @Nullable JsonElement tagToJson(@Nullable final Tag tag) {
         try {
-            final ATextComponent component = SerializerVersion.V1_20_3.toComponent(tag);
-            return component != null ? SerializerVersion.V1_19_4.toJson(component) : null;
+            final String tagKey = tag != null ? tagKey(tag) : null;
+            final JsonElement json = tagKey != null
+                ? cached(new ConversionKey(Conversion.TAG_TO_JSON, SerializerVersion.V1_20_3, SerializerVersion.V1_19_4, tagKey), () -> convertTagToJson(tag))
+                : convertTagToJson(tag);
+            return json != null ? json.deepCopy() : null;
         } catch (final Exception e) {
             Via.getPlatform().getLogger().log(Level.SEVERE, "Error converting tag: " + tag, e);
             return plainToJson("<error>");
         }
     }
 
+    private static @Nullable JsonElement convertTagToJson(@Nullable final Tag tag) {
+        final ATextComponent component = SerializerVersion.V1_20_3.toComponent(tag);
+        return component != null ? SerializerVersion.V1_19_4.toJson(component) : null;
+    }
+
     public static @Nullable Tag jsonToTag(@Nullable final JsonElement element) {
         if (element == null || element.isJsonNull()) {
             return null;
         }
 
         try {
-            final ATextComponent component = SerializerVersion.V1_19_4.toComponent(element);
-            return trimStrings(SerializerVersion.V1_20_3.toTag(component));
+            final String jsonKey = jsonKey(element);
+            if (jsonKey == null) {
+                return trimStrings(SerializerVersion.V1_20_3.toTag(SerializerVersion.V1_19_4.toComponent(element)));
+            }
+
+            final ConversionKey key = new ConversionKey(Conversion.JSON_TO_TAG, SerializerVersion.V1_19_4, SerializerVersion.V1_20_3, jsonKey);
+            final Tag tag = cached(key, () -> trimStrings(SerializerVersion.V1_20_3.toTag(SerializerVersion.V1_19_4.toComponent(element))));
+            return tag != null ? tag.copy() : null;
         } catch (final Exception e) {
             Via.getPlatform().getLogger().log(Level.SEVERE, "Error converting component: " + element, e);
             return new StringTag("<error>");
@@ -114,7 +148,9 @@ public final class ComponentUtil {
         if (json == null) {
             return null;
         }
-        return to.toTag(from.jsonSerializer.deserialize(json));
+
+        final Tag tag = cached(new ConversionKey(Conversion.JSON_STRING_TO_TAG, from, to, json), () -> to.toTag(from.jsonSerializer.deserialize(json)));
+        return tag != null ? tag.copy() : null;
     }
 
     public static @Nullable JsonElement convertJson(@Nullable final JsonElement element, final SerializerVersion from, final SerializerVersion to) {
@@ -180,4 +216,122 @@ public final class ComponentUtil {
     public static CompoundTag deserializeShowItem(final Tag value, final SerializerVersion version) {
         return (CompoundTag) version.toTag(version.toComponent(value).asUnformattedString());
     }
+
+    /**
+     * Returns the hit and miss statistics of the cache used for json and nbt component conversions.
+     *
+     * @return conversion cache statistics
+     */
+    public static CacheStats conversionCacheStats() {
+        return CONVERSION_CACHE.stats();
+    }
+
+    /**
+     * Returns the cached conversion result or computes and caches it. Results are shared, so callers must return copies.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> @Nullable T cached(final ConversionKey key, final Supplier<@Nullable T> conversion) {
+        if (key.input().length() > MAX_CACHED_INPUT_LENGTH) {
+            return conversion.get();
+        }
+
+        final T cached = (T) CONVERSION_CACHE.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        final T result = conversion.get();
+        if (result != null) {
+            CONVERSION_CACHE.put(key, result);
+        }
+        return result;
+    }
+
+    private static @Nullable String tagKey(final Tag tag) {
+        // Don't serialize tags that are too large to be cached anyway
+        if (remainingSize(tag, MAX_CACHED_INPUT_LENGTH) < 0) {
+            return null;
+        }
+
+        final ByteBuf buffer = Unpooled.buffer();
+        try {
+            Types.TAG.write(buffer, tag);
+            return buffer.toString(StandardCharsets.ISO_8859_1); // One char per byte
+        } finally {
+            buffer.release();
+        }
+    }
+
+    private static @Nullable String jsonKey(final JsonElement element) {
+        // Don't serialize elements that are too large to be cached anyway
+        if (remainingSize(element, MAX_CACHED_INPUT_LENGTH) < 0) {
+            return null;
+        }
+        return element.toString();
+    }
+
+    /**
+     * Subtracts a lower bound of the serialized length of the json element from the given size, stopping once it is negative.
+     */
+    private static int remainingSize(final JsonElement element, int size) {
+        size -= 1; // Shortest possible value
+        if (element instanceof JsonObject object) {
+            for (final Map.Entry<String, JsonElement> entry : object.entrySet()) {
+                size = remainingSize(entry.getValue(), size - entry.getKey().length());
+                if (size < 0) {
+                    return size;
+                }
+            }
+        } else if (element instanceof JsonArray array) {
+            for (final JsonElement value : array) {
+                size = remainingSize(value, size);
+                if (size < 0) {
+                    return size;
+                }
+            }
+        } else if (element instanceof JsonPrimitive primitive && primitive.isString()) {
+            size -= primitive.getAsString().length();
+        }
+        return size;
+    }
+
+    /**
+     * Subtracts a lower bound of the serialized size of the tag from the given size, stopping once it is negative.
+     */
+    private static int remainingSize(final Tag tag, int size) {
+        size -= Byte.BYTES; // Tag id
+        if (tag instanceof CompoundTag compoundTag) {
+            for (final Map.Entry<String, Tag> entry : compoundTag.entrySet()) {
+                size = remainingSize(entry.getValue(), size - entry.getKey().length());
+                if (size < 0) {
+                    return size;
+                }
+            }
+        } else if (tag instanceof ListTag<?> listTag) {
+            for (final Tag element : listTag.getValue()) {
+                size = remainingSize(element, size);
+                if (size < 0) {
+                    return size;
+                }
+            }
+        } else if (tag instanceof StringTag stringTag) {
+            size -= stringTag.getValue().length();
+        } else if (tag instanceof ByteArrayTag byteArrayTag) {
+            size -= byteArrayTag.getValue().length;
+        } else if (tag instanceof IntArrayTag intArrayTag) {
+            size -= intArrayTag.getValue().length * Integer.BYTES;
+        } else if (tag instanceof LongArrayTag longArrayTag) {
+            size -= longArrayTag.getValue().length * Long.BYTES;
+        }
+        return size;
+    }
+
+    private enum Conversion {
+        TAG_TO_JSON,
+        JSON_TO_TAG,
+        JSON_STRING_TO_TAG
+    }
+
+    private record ConversionKey(Conversion conversion, SerializerVersion from, SerializerVersion to, String input) {
+    }
 }
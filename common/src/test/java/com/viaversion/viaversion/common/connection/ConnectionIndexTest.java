@@ -0,0 +1,94 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.connection;
+
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.connection.ConnectionManager;
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.protocol.ProtocolPipeline;
+import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
+import com.viaversion.viaversion.common.dummy.DummyInitializer;
+import com.viaversion.viaversion.connection.UserConnectionImpl;
+import com.viaversion.viaversion.protocol.ProtocolPipelineImpl;
+import com.viaversion.viaversion.protocols.v1_8to1_9.Protocol1_8To1_9;
+import com.viaversion.viaversion.protocols.v1_9to1_9_1.Protocol1_9To1_9_1;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class ConnectionIndexTest {
+
+    @BeforeAll
+    static void init() {
+        DummyInitializer.init();
+    }
+
+    @Test
+    void testRegisteredConnection() {
+        final ConnectionManager connectionManager = Via.getManager().getConnectionManager();
+        final UserConnection connection = createConnection();
+        final ProtocolPipeline pipeline = connection.getProtocolInfo().getPipeline();
+        pipeline.add(Via.getManager().getProtocolManager().getProtocol(Protocol1_8To1_9.class));
+
+        Assertions.assertFalse(connectionManager.getConnections(Protocol1_8To1_9.class).contains(connection));
+
+        connectionManager.onLoginSuccess(connection);
+        final Set<UserConnection> connections = connectionManager.getConnections(Protocol1_8To1_9.class);
+        Assertions.assertTrue(connections.contains(connection));
+        Assertions.assertTrue(connectionManager.getConnections(ProtocolVersion.v1_8).contains(connection));
+        Assertions.assertFalse(connectionManager.getConnections(Protocol1_9To1_9_1.class).contains(connection));
+
+        pipeline.add(Via.getManager().getProtocolManager().getProtocol(Protocol1_9To1_9_1.class));
+        Assertions.assertTrue(connectionManager.getConnections(Protocol1_9To1_9_1.class).contains(connection));
+
+        pipeline.cleanPipes();
+        Assertions.assertFalse(connections.contains(connection));
+        Assertions.assertFalse(connectionManager.getConnections(Protocol1_9To1_9_1.class).contains(connection));
+
+        pipeline.add(Via.getManager().getProtocolManager().getProtocol(Protocol1_8To1_9.class));
+        Assertions.assertTrue(connections.contains(connection));
+
+        connectionManager.onDisconnect(connection);
+        Assertions.assertFalse(connections.contains(connection));
+        Assertions.assertFalse(connectionManager.getConnections(ProtocolVersion.v1_8).contains(connection));
+    }
+
+    @Test
+    void testUnregisteredConnection() {
+        final ConnectionManager connectionManager = Via.getManager().getConnectionManager();
+        final UserConnection connection = createConnection();
+        connection.getProtocolInfo().getPipeline().add(Via.getManager().getProtocolManager().getProtocol(Protocol1_8To1_9.class));
+        Assertions.assertFalse(connectionManager.getConnections(Protocol1_8To1_9.class).contains(connection));
+
+        // Protocols added after a disconnect must not be indexed again
+        connectionManager.onLoginSuccess(connection);
+        connectionManager.onDisconnect(connection);
+        connection.getProtocolInfo().getPipeline().add(Via.getManager().getProtocolManager().getProtocol(Protocol1_9To1_9_1.class));
+        Assertions.assertFalse(connectionManager.getConnections(Protocol1_9To1_9_1.class).contains(connection));
+    }
+
+    private static UserConnection createConnection() {
+        final UserConnection connection = new UserConnectionImpl(null);
+        connection.getProtocolInfo().setUuid(UUID.randomUUID());
+        connection.getProtocolInfo().setProtocolVersion(ProtocolVersion.v1_8);
+        new ProtocolPipelineImpl(connection);
+        return connection;
+    }
+}
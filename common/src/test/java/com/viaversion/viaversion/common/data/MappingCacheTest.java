@@ -0,0 +1,168 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.data;
+
+import com.viaversion.nbt.tag.ByteTag;
+import com.viaversion.nbt.tag.CompoundTag;
+import com.viaversion.nbt.tag.Tag;
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.data.Int2IntMapMappings;
+import com.viaversion.viaversion.api.data.MappingDataLoader;
+import com.viaversion.viaversion.api.data.Mappings;
+import com.viaversion.viaversion.common.dummy.DummyInitializer;
+import com.viaversion.viaversion.common.dummy.TestConfig;
+import com.viaversion.viaversion.common.dummy.TestPlatform;
+import com.viaversion.viaversion.protocols.v1_12_2to1_13.data.MappingData1_13;
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappingCacheTest {
+
+    private static final String DATA_PATH = "assets/viaversion/data/";
+
+    @TempDir
+    Path dataFolder;
+
+    @Test
+    void testBundledMappings() throws IOException, URISyntaxException {
+        final MappingDataLoader resourceLoader = new TestLoader(false);
+        final MappingDataLoader cachingLoader = new TestLoader(true);
+        for (final String name : bundledMappingFiles()) {
+            final CompoundTag tag = resourceLoader.loadNBTFromFile(name);
+            final CompoundTag created = cachingLoader.loadNBTFromFile(name);
+            Assertions.assertTrue(Files.exists(dataFolder.resolve("cache").resolve(name + ".bin")), "Cache not written for " + name);
+
+            // Read from the cache, in the same form as when it was created
+            final CompoundTag cached = cachingLoader.loadNBTFromFile(name);
+            Assertions.assertEquals(created, cached, name);
+            assertSameMappings(resourceLoader, tag, cached, name);
+        }
+    }
+
+    @Test
+    void testMappingDataFromWarmCache() {
+        DummyInitializer.init();
+        final TestPlatform platform = (TestPlatform) Via.getPlatform();
+        final TestConfig config = (TestConfig) Via.getConfig();
+        final MappingData1_13 expected = new MappingData1_13();
+        expected.load();
+
+        platform.setDataFolder(dataFolder.toFile());
+        config.setCacheMappings(true);
+        try {
+            new MappingData1_13().load();
+            Assertions.assertTrue(Files.exists(dataFolder.resolve("cache").resolve("mappings-1.12to1.13.nbt.bin")));
+
+            final MappingData1_13 cached = new MappingData1_13();
+            cached.load();
+            assertSameMappings(expected.getItemMappings(), cached.getItemMappings(), "items");
+            assertSameMappings(expected.getItemMappings().inverse(), cached.getItemMappings().inverse(), "inverse items");
+            assertSameMappings(expected.getBlockMappings(), cached.getBlockMappings(), "blocks");
+        } finally {
+            platform.setDataFolder(null);
+            config.setCacheMappings(false);
+        }
+    }
+
+    private static void assertSameMappings(final MappingDataLoader loader, final CompoundTag expected, final CompoundTag actual, final String path) {
+        Assertions.assertEquals(expected.keySet(), actual.keySet(), path);
+        for (final Map.Entry<String, Tag> entry : expected.entrySet()) {
+            final String key = entry.getKey();
+            final Tag actualTag = actual.get(key);
+            if (entry.getValue().equals(actualTag)) {
+                continue;
+            }
+            if (!(entry.getValue() instanceof CompoundTag expectedTag) || !(actualTag instanceof CompoundTag actualCompound)) {
+                Assertions.fail("Different values at " + path + "/" + key);
+                return;
+            }
+            if (!(expectedTag.get("id") instanceof ByteTag)) {
+                assertSameMappings(loader, expectedTag, actualCompound, path + "/" + key);
+                continue;
+            }
+
+            // Expanded into a direct array
+            assertSameMappings(loader.loadMappings(expected, key), loader.loadMappings(actual, key), path + "/" + key);
+
+            // Loaded into a custom holder
+            assertSameMappings(loadMapMappings(loader, expected, key), loadMapMappings(loader, actual, key), path + "/" + key);
+        }
+    }
+
+    private static Mappings loadMapMappings(final MappingDataLoader loader, final CompoundTag tag, final String key) {
+        return loader.loadMappings(tag, key, size -> {
+            final Int2IntMap map = new Int2IntOpenHashMap(size);
+            map.defaultReturnValue(-1);
+            return map;
+        }, Int2IntMap::put, Int2IntMapMappings::of);
+    }
+
+    private static void assertSameMappings(final Mappings expected, final Mappings actual, final String path) {
+        Assertions.assertEquals(expected.getClass(), actual.getClass(), path);
+        Assertions.assertEquals(expected.size(), actual.size(), path);
+        Assertions.assertEquals(expected.mappedSize(), actual.mappedSize(), path);
+        for (int id = 0; id < expected.size(); id++) {
+            Assertions.assertEquals(expected.getNewId(id), actual.getNewId(id), path + " at " + id);
+        }
+    }
+
+    private static List<String> bundledMappingFiles() throws IOException, URISyntaxException {
+        final Path directory = Paths.get(MappingDataLoader.class.getClassLoader().getResource(DATA_PATH).toURI());
+        try (final Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).filter(name -> name.endsWith(".nbt")).sorted().toList();
+        }
+    }
+
+    private final class TestLoader extends MappingDataLoader {
+
+        private final boolean cacheMappings;
+
+        TestLoader(final boolean cacheMappings) {
+            super(MappingDataLoader.class, DATA_PATH);
+            this.cacheMappings = cacheMappings;
+        }
+
+        @Override
+        protected boolean cacheMappings() {
+            return cacheMappings;
+        }
+
+        @Override
+        public Logger getLogger() {
+            return Logger.getGlobal();
+        }
+
+        @Override
+        public File getDataFolder() {
+            return dataFolder.toFile();
+        }
+    }
+}
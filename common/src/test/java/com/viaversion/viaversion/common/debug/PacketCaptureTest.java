@@ -0,0 +1,172 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.debug;
+
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
+import com.viaversion.viaversion.connection.UserConnectionImpl;
+import com.viaversion.viaversion.debug.PacketCaptureImpl;
+import com.viaversion.viaversion.debug.PacketCaptureReader;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PacketCaptureTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRoundTrip() throws IOException {
+        final UserConnection connection = new UserConnectionImpl(null);
+        connection.getProtocolInfo().setProtocolVersion(ProtocolVersion.v1_21);
+        connection.getProtocolInfo().setServerProtocolVersion(ProtocolVersion.v1_8);
+
+        final Path file = directory.resolve("capture.bin");
+        final PacketCaptureImpl capture = new PacketCaptureImpl();
+        capture.start(file, null);
+        Assertions.assertTrue(capture.shouldCapture(connection));
+
+        final ByteBuf input = Unpooled.wrappedBuffer(new byte[]{1, 2, 3});
+        input.readByte();
+        final int transformedId = capture.captureInput(connection, Direction.CLIENTBOUND, State.PLAY, input);
+        capture.captureOutput(connection, transformedId, Unpooled.wrappedBuffer(new byte[]{4, 5}));
+        final int cancelledId = capture.captureInput(connection, Direction.SERVERBOUND, State.CONFIGURATION, Unpooled.wrappedBuffer(new byte[]{6}));
+        capture.captureOutput(connection, cancelledId, null);
+
+        Assertions.assertEquals(file, capture.stop().join());
+        Assertions.assertFalse(capture.enabled());
+        Assertions.assertEquals(4, capture.capturedPackets());
+        Assertions.assertEquals(0, capture.droppedPackets());
+        Assertions.assertEquals(1, input.readerIndex());
+
+        try (final PacketCaptureReader reader = new PacketCaptureReader(file)) {
+            final PacketCaptureReader.Entry transformedInput = reader.next();
+            Assertions.assertNotNull(transformedInput);
+            Assertions.assertTrue(transformedInput.input());
+            Assertions.assertEquals(connection.getId(), transformedInput.connectionId());
+            Assertions.assertEquals(ProtocolVersion.v1_21.getVersion(), transformedInput.clientVersion());
+            Assertions.assertEquals(ProtocolVersion.v1_8.getVersion(), transformedInput.serverVersion());
+            Assertions.assertEquals(Direction.CLIENTBOUND, transformedInput.direction());
+            Assertions.assertEquals(State.PLAY, transformedInput.state());
+            Assertions.assertArrayEquals(new byte[]{2, 3}, transformedInput.data());
+
+            final PacketCaptureReader.Entry transformedOutput = reader.next();
+            Assertions.assertNotNull(transformedOutput);
+            Assertions.assertEquals(PacketCaptureImpl.OUTPUT, transformedOutput.type());
+            Assertions.assertEquals(transformedId, transformedOutput.captureId());
+            Assertions.assertArrayEquals(new byte[]{4, 5}, transformedOutput.data());
+
+            final PacketCaptureReader.Entry cancelledInput = reader.next();
+            Assertions.assertNotNull(cancelledInput);
+            Assertions.assertEquals(State.CONFIGURATION, cancelledInput.state());
+            Assertions.assertArrayEquals(new byte[]{6}, cancelledInput.data());
+
+            final PacketCaptureReader.Entry cancelledOutput = reader.next();
+            Assertions.assertNotNull(cancelledOutput);
+            Assertions.assertEquals(PacketCaptureImpl.CANCELLED, cancelledOutput.type());
+            Assertions.assertEquals(cancelledId, cancelledOutput.captureId());
+            Assertions.assertEquals(0, cancelledOutput.data().length);
+
+            Assertions.assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void testFileFormat() throws IOException {
+        final UserConnection connection = new UserConnectionImpl(null);
+        final Path file = directory.resolve("format.bin");
+        final PacketCaptureImpl capture = new PacketCaptureImpl();
+        capture.start(file, null);
+        final int captureId = capture.captureInput(connection, Direction.SERVERBOUND, State.LOGIN, Unpooled.wrappedBuffer(new byte[]{7, 8}));
+        capture.stop().join();
+
+        try (final DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            Assertions.assertEquals(PacketCaptureImpl.MAGIC, in.readInt());
+            Assertions.assertEquals(PacketCaptureImpl.FORMAT_VERSION, in.readShort());
+            in.readLong(); // Start millis
+            in.readLong(); // Start nanos
+
+            Assertions.assertEquals(Byte.BYTES + Long.BYTES * 2 + Integer.BYTES * 3 + Byte.BYTES * 2 + 2, in.readInt());
+            Assertions.assertEquals(PacketCaptureImpl.INPUT, in.readByte());
+            in.readLong(); // Nano time
+            Assertions.assertEquals(connection.getId(), in.readLong());
+            Assertions.assertEquals(captureId, in.readInt());
+            Assertions.assertEquals(-1, in.readInt()); // Unknown client version
+            Assertions.assertEquals(-1, in.readInt()); // Unknown server version
+            Assertions.assertEquals(Direction.SERVERBOUND.ordinal(), in.readByte());
+            Assertions.assertEquals(State.LOGIN.ordinal(), in.readByte());
+            Assertions.assertEquals(7, in.readByte());
+            Assertions.assertEquals(8, in.readByte());
+            Assertions.assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    void testRingOverflow() throws IOException {
+        final UserConnection connection = new UserConnectionImpl(null);
+        final PacketCaptureImpl capture = new PacketCaptureImpl(64);
+        capture.start(directory.resolve("overflow.bin"), null);
+
+        // Larger than the whole ring
+        capture.captureInput(connection, Direction.CLIENTBOUND, State.PLAY, Unpooled.wrappedBuffer(new byte[64]));
+        Assertions.assertEquals(0, capture.capturedPackets());
+        Assertions.assertEquals(1, capture.droppedPackets());
+
+        capture.captureInput(connection, Direction.CLIENTBOUND, State.PLAY, Unpooled.wrappedBuffer(new byte[2]));
+        Assertions.assertEquals(1, capture.capturedPackets());
+
+        capture.stop().join();
+        Assertions.assertEquals(1, capture.capturedPackets());
+        Assertions.assertEquals(1, capture.droppedPackets());
+    }
+
+    @Test
+    void testUniqueCaptureIdsAcrossThreads() throws Exception {
+        final UserConnection connection = new UserConnectionImpl(null);
+        final PacketCaptureImpl capture = new PacketCaptureImpl();
+        capture.start(directory.resolve("threads.bin"), null);
+
+        final Set<Integer> ids = new HashSet<>();
+        final Runnable task = () -> {
+            for (int i = 0; i < 100; i++) {
+                final int id = capture.captureInput(connection, Direction.CLIENTBOUND, State.PLAY, Unpooled.wrappedBuffer(new byte[]{1}));
+                synchronized (ids) {
+                    ids.add(id);
+                }
+            }
+        };
+        final Thread thread = new Thread(task);
+        thread.start();
+        task.run();
+        thread.join();
+        capture.stop().join();
+
+        Assertions.assertEquals(200, ids.size());
+    }
+}
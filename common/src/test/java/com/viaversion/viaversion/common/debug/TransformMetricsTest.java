@@ -0,0 +1,48 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.debug;
+
+import com.viaversion.viaversion.api.debug.TransformMetrics;
+import com.viaversion.viaversion.api.protocol.ProtocolPipeline;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import com.viaversion.viaversion.debug.TransformMetricsImpl;
+import com.viaversion.viaversion.protocols.v1_8to1_9.Protocol1_8To1_9;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class TransformMetricsTest {
+
+    @Test
+    void testSlots() {
+        final TransformMetrics metrics = new TransformMetricsImpl();
+        metrics.recordTransform(Protocol1_8To1_9.class, Direction.SERVERBOUND, State.PLAY, 0x7F, 10, false);
+        metrics.recordTransform(Protocol1_8To1_9.class, Direction.SERVERBOUND, State.PLAY, 0x7F, 20, true);
+        metrics.recordPipelineTransform(Direction.CLIENTBOUND, State.CONFIGURATION, 3, 5, false, 8, 9);
+        metrics.recordTransform(Protocol1_8To1_9.class, Direction.CLIENTBOUND, State.PLAY, -1, 5, false);
+
+        final List<TransformMetrics.Entry> entries = metrics.entries();
+        Assertions.assertEquals(2, entries.size());
+        Assertions.assertTrue(entries.contains(new TransformMetrics.Entry(Protocol1_8To1_9.class, Direction.SERVERBOUND, State.PLAY, 0x7F, 2, 30, 1, 0, 0)));
+        Assertions.assertTrue(entries.contains(new TransformMetrics.Entry(ProtocolPipeline.class, Direction.CLIENTBOUND, State.CONFIGURATION, 3, 1, 5, 0, 8, 9)));
+
+        metrics.reset();
+        Assertions.assertTrue(metrics.entries().isEmpty());
+    }
+}
@@ -31,7 +31,7 @@ public final class DummyInitializer {
         }
 
         initialized = true;
-        Via.init(new ViaManagerImpl(new TestPlatform(), null, null, null));
+        Via.init(new ViaManagerImpl(new TestPlatform(), new TestInjector(), null, null));
         ((ProtocolManagerImpl) Via.getManager().getProtocolManager()).registerProtocols();
     }
 }
@@ -26,6 +26,8 @@ import java.util.Map;
 import java.util.logging.Logger;
 
 public final class TestConfig extends AbstractViaConfig {
+    private boolean cacheBroadcastTransforms;
+    private boolean cacheMappings;
 
     public TestConfig(File file, Logger logger) {
         super(file, logger);
@@ -44,4 +46,22 @@ public final class TestConfig extends AbstractViaConfig {
     public List<String> getUnsupportedOptions() {
         return Collections.emptyList();
     }
+
+    @Override
+    public boolean cacheBroadcastTransforms() {
+        return cacheBroadcastTransforms;
+    }
+
+    public void setCacheBroadcastTransforms(boolean cacheBroadcastTransforms) {
+        this.cacheBroadcastTransforms = cacheBroadcastTransforms;
+    }
+
+    @Override
+    public boolean cacheMappings() {
+        return cacheMappings;
+    }
+
+    public void setCacheMappings(boolean cacheMappings) {
+        this.cacheMappings = cacheMappings;
+    }
 }
@@ -15,11 +15,29 @@
  * You should have received a copy of the GNU General Public License
  * along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
-package com.viaversion.viaversion.protocol;
+package com.viaversion.viaversion.common.dummy;
 
-import com.viaversion.viaversion.api.protocol.ProtocolPathKey;
+import com.google.gson.JsonObject;
+import com.viaversion.viaversion.api.platform.ViaInjector;
 import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
 
-public record ProtocolPathKeyImpl(ProtocolVersion clientProtocolVersion,
-                                  ProtocolVersion serverProtocolVersion) implements ProtocolPathKey {
+public final class TestInjector implements ViaInjector {
+
+    @Override
+    public void inject() {
+    }
+
+    @Override
+    public void uninject() {
+    }
+
+    @Override
+    public ProtocolVersion getServerProtocolVersion() {
+        return ProtocolVersion.v1_8;
+    }
+
+    @Override
+    public JsonObject getDump() {
+        return new JsonObject();
+    }
 }
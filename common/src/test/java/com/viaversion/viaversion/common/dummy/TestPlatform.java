@@ -34,6 +34,7 @@ public final class TestPlatform implements ViaPlatform {
 
     private static final Logger log = Logger.getGlobal();
     private final TestConfig testConfig = new TestConfig(null, log);
+    private File dataFolder;
 
     @Override
     public Logger getLogger() {
@@ -120,7 +121,11 @@ public final class TestPlatform implements ViaPlatform {
 
     @Override
     public File getDataFolder() {
-        return null;
+        return dataFolder;
+    }
+
+    public void setDataFolder(File dataFolder) {
+        this.dataFolder = dataFolder;
     }
 
     @Override
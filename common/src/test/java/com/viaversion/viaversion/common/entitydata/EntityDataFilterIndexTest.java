@@ -0,0 +1,57 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.entitydata;
+
+import com.viaversion.viaversion.rewriter.entitydata.EntityDataFilter;
+import com.viaversion.viaversion.rewriter.entitydata.EntityDataFilterIndex;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class EntityDataFilterIndexTest {
+
+    @Test
+    void testRegistrationOrder() {
+        final EntityDataFilterIndex index = new EntityDataFilterIndex(List.of(
+            filter(2),
+            filter(-1),
+            filter(5),
+            filter(2),
+            filter(-1)
+        ));
+
+        Assertions.assertEquals(0, index.next(2, 0));
+        Assertions.assertEquals(1, index.next(2, 1));
+        Assertions.assertEquals(3, index.next(2, 2));
+        Assertions.assertEquals(4, index.next(2, 4));
+        Assertions.assertEquals(-1, index.next(2, 5));
+
+        Assertions.assertEquals(1, index.next(5, 0));
+        Assertions.assertEquals(2, index.next(5, 2));
+
+        // Indexes without or beyond indexed filters only get unindexed filters
+        Assertions.assertEquals(1, index.next(0, 0));
+        Assertions.assertEquals(4, index.next(0, 2));
+        Assertions.assertEquals(4, index.next(100, 2));
+    }
+
+    private static EntityDataFilter filter(final int index) {
+        return new EntityDataFilter(null, false, null, index, (event, data) -> {
+        });
+    }
+}
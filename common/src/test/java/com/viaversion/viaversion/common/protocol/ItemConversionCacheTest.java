@@ -0,0 +1,134 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.protocol;
+
+import com.viaversion.nbt.tag.CompoundTag;
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.minecraft.data.StructuredDataKey;
+import com.viaversion.viaversion.api.minecraft.item.DataItem;
+import com.viaversion.viaversion.api.minecraft.item.Item;
+import com.viaversion.viaversion.api.type.Type;
+import com.viaversion.viaversion.api.type.Types;
+import com.viaversion.viaversion.api.type.types.version.Types1_20_5;
+import com.viaversion.viaversion.common.dummy.DummyInitializer;
+import com.viaversion.viaversion.connection.UserConnectionImpl;
+import com.viaversion.viaversion.protocol.ProtocolPipelineImpl;
+import com.viaversion.viaversion.protocols.v1_20_3to1_20_5.Protocol1_20_3To1_20_5;
+import com.viaversion.viaversion.protocols.v1_20_3to1_20_5.rewriter.BlockItemPacketRewriter1_20_5;
+import com.viaversion.viaversion.protocols.v1_20_3to1_20_5.storage.ItemConversionCache;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class ItemConversionCacheTest {
+
+    private static final int STONE = 1;
+    private static Protocol1_20_3To1_20_5 protocol;
+
+    @BeforeAll
+    static void init() {
+        DummyInitializer.init();
+        protocol = Via.getManager().getProtocolManager().getProtocol(Protocol1_20_3To1_20_5.class);
+        final CompletableFuture<Void> future = Via.getManager().getProtocolManager().getMappingLoaderFuture(Protocol1_20_3To1_20_5.class);
+        if (future != null) {
+            future.join();
+        }
+    }
+
+    @Test
+    void testHit() {
+        final UserConnection connection = createConnection();
+        final BlockItemPacketRewriter1_20_5 rewriter = protocol.getItemRewriter();
+        Assertions.assertEquals(5, rewriter.handleItemToClient(connection, item(5)).dataContainer().get(StructuredDataKey.DAMAGE).value());
+
+        // Replace the stored result to see that it is used instead of converting the item again
+        final byte[] input = serialize(Types.ITEM1_20_2, markedItem(5));
+        final ItemConversionCache cache = connection.get(ItemConversionCache.class);
+        Assertions.assertNotNull(cache.get(input, null));
+        cache.put(input, serialize(Types1_20_5.ITEM, rewriter.toStructuredItem(connection, item(7))));
+        Assertions.assertEquals(7, rewriter.handleItemToClient(connection, item(5)).dataContainer().get(StructuredDataKey.DAMAGE).value());
+    }
+
+    @Test
+    void testMutatedItems() {
+        final UserConnection connection = createConnection();
+        final BlockItemPacketRewriter1_20_5 rewriter = protocol.getItemRewriter();
+        final Item first = rewriter.handleItemToClient(connection, item(5));
+        first.dataContainer().set(StructuredDataKey.DAMAGE, 42);
+
+        // Mutating a result does not change the cached one
+        final Item second = rewriter.handleItemToClient(connection, item(5));
+        Assertions.assertNotSame(first, second);
+        Assertions.assertEquals(5, second.dataContainer().get(StructuredDataKey.DAMAGE).value());
+
+        // Changed input items are converted again
+        Assertions.assertEquals(6, rewriter.handleItemToClient(connection, item(6)).dataContainer().get(StructuredDataKey.DAMAGE).value());
+    }
+
+    @Test
+    void testClearedOnRemove() {
+        final UserConnection connection = createConnection();
+        final ItemConversionCache cache = connection.get(ItemConversionCache.class);
+        protocol.getItemRewriter().handleItemToClient(connection, item(5));
+        final byte[] input = serialize(Types.ITEM1_20_2, markedItem(5));
+        Assertions.assertNotNull(cache.get(input, null));
+
+        Via.getManager().getConnectionManager().onDisconnect(connection);
+        Assertions.assertNull(connection.get(ItemConversionCache.class));
+        Assertions.assertNull(cache.get(input, null));
+    }
+
+    private static UserConnection createConnection() {
+        final UserConnection connection = new UserConnectionImpl(null);
+        connection.getProtocolInfo().setUuid(UUID.randomUUID());
+        new ProtocolPipelineImpl(connection).add(protocol);
+        return connection;
+    }
+
+    private static Item item(final int damage) {
+        final CompoundTag tag = new CompoundTag();
+        tag.putInt("Damage", damage);
+        return new DataItem(STONE, (byte) 1, tag);
+    }
+
+    /**
+     * Returns the item as it is serialized for the cache key, after the original is marked to be restored.
+     */
+    private static Item markedItem(final int damage) {
+        final Item item = item(damage);
+        item.tag().putBoolean(protocol.getItemRewriter().nbtTagName(), true);
+        return item;
+    }
+
+    private static <T> byte[] serialize(final Type<T> type, final T value) {
+        final ByteBuf buffer = Unpooled.buffer();
+        try {
+            type.write(buffer, value);
+            final byte[] data = new byte[buffer.readableBytes()];
+            buffer.readBytes(data);
+            return data;
+        } finally {
+            buffer.release();
+        }
+    }
+}
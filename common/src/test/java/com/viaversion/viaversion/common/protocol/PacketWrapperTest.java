@@ -0,0 +1,86 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.protocol;
+
+import com.viaversion.viaversion.api.type.Types;
+import com.viaversion.viaversion.connection.UserConnectionImpl;
+import com.viaversion.viaversion.protocol.packet.PacketWrapperImpl;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class PacketWrapperTest {
+
+    @Test
+    void testGetSet() {
+        final PacketWrapperImpl wrapper = new PacketWrapperImpl(0, null, new UserConnectionImpl(null));
+        wrapper.write(Types.VAR_INT, 1);
+        wrapper.write(Types.STRING, "a");
+        wrapper.write(Types.VAR_INT, 2);
+
+        Assertions.assertEquals(2, wrapper.get(Types.VAR_INT, 1));
+        Assertions.assertTrue(wrapper.is(Types.STRING, 0));
+        Assertions.assertFalse(wrapper.is(Types.STRING, 1));
+
+        wrapper.write(Types.STRING, "b");
+        wrapper.set(Types.STRING, 1, "c");
+        Assertions.assertEquals("c", wrapper.get(Types.STRING, 1));
+    }
+
+    @Test
+    void testResetReader() {
+        final ByteBuf buf = Unpooled.buffer();
+        Types.VAR_INT.writePrimitive(buf, 1);
+        Types.VAR_INT.writePrimitive(buf, 2);
+        Types.VAR_INT.writePrimitive(buf, 3);
+
+        final PacketWrapperImpl wrapper = new PacketWrapperImpl(0, buf, new UserConnectionImpl(null));
+        wrapper.passthrough(Types.VAR_INT);
+        wrapper.passthrough(Types.VAR_INT);
+        wrapper.resetReader();
+
+        // Only partially read, the written value has to be put in front of the remaining one
+        wrapper.read(Types.VAR_INT);
+        wrapper.write(Types.STRING, "a");
+        wrapper.resetReader();
+
+        Assertions.assertEquals("a", wrapper.read(Types.STRING));
+        Assertions.assertEquals(2, wrapper.read(Types.VAR_INT));
+        Assertions.assertEquals(3, wrapper.read(Types.VAR_INT));
+    }
+
+    @Test
+    void testWriteToBuffer() {
+        final ByteBuf buf = Unpooled.buffer();
+        Types.VAR_INT.writePrimitive(buf, 1);
+        Types.STRING.write(buf, "a");
+
+        final PacketWrapperImpl wrapper = new PacketWrapperImpl(0, buf, new UserConnectionImpl(null));
+        wrapper.passthrough(Types.VAR_INT);
+        wrapper.resetReader();
+        wrapper.write(Types.VAR_INT, 2);
+
+        final ByteBuf output = Unpooled.buffer();
+        wrapper.writeToBuffer(output);
+        Assertions.assertEquals(0, Types.VAR_INT.readPrimitive(output));
+        Assertions.assertEquals(2, Types.VAR_INT.readPrimitive(output));
+        Assertions.assertEquals(1, Types.VAR_INT.readPrimitive(output));
+        Assertions.assertEquals("a", Types.STRING.read(output));
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.protocol;
+
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.protocol.AbstractProtocol;
+import com.viaversion.viaversion.api.protocol.Protocol;
+import com.viaversion.viaversion.api.protocol.packet.ClientboundPacketType;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.ServerboundPacketType;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import com.viaversion.viaversion.common.dummy.DummyInitializer;
+import com.viaversion.viaversion.connection.UserConnectionImpl;
+import com.viaversion.viaversion.protocol.ProtocolChain;
+import com.viaversion.viaversion.protocol.ProtocolManagerImpl;
+import com.viaversion.viaversion.protocol.packet.PacketWrapperImpl;
+import com.viaversion.viaversion.protocols.v1_8to1_9.packet.ClientboundPackets1_8;
+import com.viaversion.viaversion.protocols.v1_8to1_9.packet.ClientboundPackets1_9;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class ProtocolChainTest {
+
+    @BeforeAll
+    static void init() {
+        DummyInitializer.init();
+    }
+
+    @Test
+    void testSkippedProtocolsSetPacketType() throws Exception {
+        final TestProtocol protocol = new TestProtocol();
+        protocol.initialize();
+        final ProtocolChain chain = new ProtocolChain(List.of(protocol), Direction.CLIENTBOUND);
+
+        final PacketWrapperImpl wrapper = new PacketWrapperImpl(ClientboundPackets1_8.MOVE_ENTITY_POS, null, new UserConnectionImpl(null));
+        chain.apply(State.PLAY, wrapper);
+        Assertions.assertEquals(ClientboundPackets1_9.MOVE_ENTITY_POS, wrapper.getPacketType());
+        Assertions.assertEquals(ClientboundPackets1_9.MOVE_ENTITY_POS.getId(), wrapper.getId());
+    }
+
+    @Test
+    void testSkippedIdMappingDropsPacketType() throws Exception {
+        final TestProtocol typeProtocol = new TestProtocol();
+        typeProtocol.initialize();
+        // Maps the packet back to its original id
+        final IdProtocol idProtocol = new IdProtocol(ClientboundPackets1_9.MOVE_ENTITY_POS.getId(), ClientboundPackets1_8.MOVE_ENTITY_POS.getId());
+        idProtocol.initialize();
+        final List<Protocol> protocols = List.of(typeProtocol, idProtocol);
+        final ProtocolChain chain = new ProtocolChain(protocols, Direction.CLIENTBOUND);
+
+        final UserConnectionImpl connection = new UserConnectionImpl(null);
+        final PacketWrapperImpl expected = new PacketWrapperImpl(ClientboundPackets1_8.MOVE_ENTITY_POS, null, connection);
+        for (final Protocol protocol : protocols) {
+            protocol.transform(Direction.CLIENTBOUND, State.PLAY, expected);
+        }
+
+        final PacketWrapperImpl wrapper = new PacketWrapperImpl(ClientboundPackets1_8.MOVE_ENTITY_POS, null, connection);
+        chain.apply(State.PLAY, wrapper);
+        Assertions.assertNull(expected.getPacketType());
+        Assertions.assertEquals(expected.getPacketType(), wrapper.getPacketType());
+        Assertions.assertEquals(expected.getId(), wrapper.getId());
+    }
+
+    @Test
+    void testInvalidatedOnAppendedHandler() {
+        final ProtocolManagerImpl protocolManager = (ProtocolManagerImpl) Via.getManager().getProtocolManager();
+        final TestProtocol protocol = new TestProtocol();
+        protocol.initialize();
+        final ProtocolChain chain = protocolManager.getProtocolChain(List.of(protocol), Direction.CLIENTBOUND);
+        final int id = ClientboundPackets1_8.MOVE_ENTITY_POS.getId();
+        Assertions.assertEquals(ClientboundPackets1_9.MOVE_ENTITY_POS.getId(), chain.mappedPassthroughPacketId(State.PLAY, id));
+
+        protocol.appendClientbound(ClientboundPackets1_8.MOVE_ENTITY_POS, wrapper -> {
+        });
+        Assertions.assertFalse(chain.valid());
+
+        final ProtocolChain newChain = protocolManager.getProtocolChain(List.of(protocol), Direction.CLIENTBOUND);
+        Assertions.assertNotSame(chain, newChain);
+        Assertions.assertEquals(Protocol.TRANSFORM_PACKET, newChain.mappedPassthroughPacketId(State.PLAY, id));
+    }
+
+    /**
+     * Only maps 1.8 clientbound packet types to their 1.9 counterparts.
+     */
+    private static final class TestProtocol extends AbstractProtocol<ClientboundPackets1_8, ClientboundPackets1_9, ServerboundPacketType, ServerboundPacketType> {
+
+        TestProtocol() {
+            super(ClientboundPackets1_8.class, ClientboundPackets1_9.class, null, null);
+        }
+
+        @Override
+        protected void registerPackets() {
+            // No 1.9 counterparts
+            cancelClientbound(ClientboundPackets1_8.MAP_BULK_CHUNK);
+            cancelClientbound(ClientboundPackets1_8.SET_COMPRESSION);
+            cancelClientbound(ClientboundPackets1_8.UPDATE_ENTITY_NBT);
+        }
+    }
+
+    /**
+     * Only changes the id of a single play packet, without packet types.
+     */
+    private static final class IdProtocol extends AbstractProtocol<ClientboundPacketType, ClientboundPacketType, ServerboundPacketType, ServerboundPacketType> {
+        private final int unmappedId;
+        private final int mappedId;
+
+        IdProtocol(final int unmappedId, final int mappedId) {
+            super(null, null, null, null);
+            this.unmappedId = unmappedId;
+            this.mappedId = mappedId;
+        }
+
+        @Override
+        protected void registerPackets() {
+            registerClientbound(State.PLAY, unmappedId, mappedId, null);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.protocol;
+
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.protocol.Protocol;
+import com.viaversion.viaversion.api.protocol.ProtocolManager;
+import com.viaversion.viaversion.api.protocol.ProtocolPathEntry;
+import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
+import com.viaversion.viaversion.common.dummy.DummyInitializer;
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectSortedMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class ProtocolPathTest {
+
+    private static final Map<ProtocolVersion, Map<ProtocolVersion, Protocol>> REGISTRY = new LinkedHashMap<>();
+    private static ProtocolManager protocolManager;
+
+    @BeforeAll
+    static void init() {
+        DummyInitializer.init();
+        protocolManager = Via.getManager().getProtocolManager();
+        for (final ProtocolVersion clientVersion : ProtocolVersion.getProtocols()) {
+            for (final ProtocolVersion serverVersion : ProtocolVersion.getProtocols()) {
+                final Protocol protocol = protocolManager.getProtocol(clientVersion, serverVersion);
+                if (protocol != null) {
+                    REGISTRY.computeIfAbsent(clientVersion, v -> new LinkedHashMap<>()).put(serverVersion, protocol);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testPathsMatchRecursiveSearch() {
+        for (final ProtocolVersion serverVersion : ProtocolVersion.getProtocols()) {
+            final Map<ProtocolVersion, Long> shortestPathCounts = new HashMap<>();
+            for (final ProtocolVersion clientVersion : ProtocolVersion.getProtocols()) {
+                if (clientVersion == serverVersion) {
+                    continue;
+                }
+
+                final String pair = clientVersion + " -> " + serverVersion;
+                final List<ProtocolPathEntry> path = protocolManager.getProtocolPath(clientVersion, serverVersion);
+                final Object2ObjectSortedMap<ProtocolVersion, Protocol> expected = recursivePath(new Object2ObjectLinkedOpenHashMap<>(), clientVersion, serverVersion);
+                if (expected == null) {
+                    Assertions.assertNull(path, pair);
+                    continue;
+                }
+
+                Assertions.assertNotNull(path, pair);
+                Assertions.assertEquals(expected.size(), path.size(), pair);
+                if (shortestPathCount(shortestPathCounts, clientVersion, serverVersion) == 1) {
+                    // Unambiguous, so the exact same protocols have to be used
+                    int i = 0;
+                    for (final Map.Entry<ProtocolVersion, Protocol> entry : expected.entrySet()) {
+                        Assertions.assertEquals(entry.getKey(), path.get(i).outputProtocolVersion(), pair);
+                        Assertions.assertSame(entry.getValue(), path.get(i).protocol(), pair);
+                        i++;
+                    }
+                } else {
+                    // Equally short paths used to be chosen in hash order, any one of them is fine
+                    ProtocolVersion version = clientVersion;
+                    for (final ProtocolPathEntry entry : path) {
+                        Assertions.assertSame(protocolManager.getProtocol(version, entry.outputProtocolVersion()), entry.protocol(), pair);
+                        version = entry.outputProtocolVersion();
+                    }
+                    Assertions.assertEquals(serverVersion, version, pair);
+                }
+            }
+        }
+    }
+
+    private long shortestPathCount(final Map<ProtocolVersion, Long> counts, final ProtocolVersion clientVersion, final ProtocolVersion serverVersion) {
+        if (clientVersion == serverVersion) {
+            return 1;
+        }
+
+        final Long count = counts.get(clientVersion);
+        if (count != null) {
+            return count;
+        }
+
+        final Object2ObjectSortedMap<ProtocolVersion, Protocol> shortest = recursivePath(new Object2ObjectLinkedOpenHashMap<>(), clientVersion, serverVersion);
+        long total = 0;
+        if (shortest != null) {
+            for (final ProtocolVersion version : REGISTRY.get(clientVersion).keySet()) {
+                if (!withinDelta(clientVersion, version, serverVersion)) {
+                    continue;
+                }
+
+                final Object2ObjectSortedMap<ProtocolVersion, Protocol> rest = version == serverVersion ? new Object2ObjectLinkedOpenHashMap<>()
+                    : recursivePath(new Object2ObjectLinkedOpenHashMap<>(), version, serverVersion);
+                if (rest != null && rest.size() + 1 == shortest.size()) {
+                    total += shortestPathCount(counts, version, serverVersion);
+                }
+            }
+        }
+        counts.put(clientVersion, total);
+        return total;
+    }
+
+    /**
+     * The recursive path search used before the path table.
+     */
+    private @Nullable Object2ObjectSortedMap<ProtocolVersion, Protocol> recursivePath(final Object2ObjectSortedMap<ProtocolVersion, Protocol> current, final ProtocolVersion clientVersion, final ProtocolVersion serverVersion) {
+        if (current.size() > protocolManager.getMaxProtocolPathSize()) return null; // Fail-safe, protocol too complicated.
+
+        final Map<ProtocolVersion, Protocol> toServerProtocolMap = REGISTRY.get(clientVersion);
+        if (toServerProtocolMap == null) {
+            return null;
+        }
+
+        final Protocol protocol = toServerProtocolMap.get(serverVersion);
+        if (protocol != null) {
+            current.put(serverVersion, protocol);
+            return current;
+        }
+
+        Object2ObjectSortedMap<ProtocolVersion, Protocol> shortest = null;
+        for (final Map.Entry<ProtocolVersion, Protocol> entry : toServerProtocolMap.entrySet()) {
+            final ProtocolVersion translatedToVersion = entry.getKey();
+            if (current.containsKey(translatedToVersion)) continue;
+            if (!withinDelta(clientVersion, translatedToVersion, serverVersion)) continue;
+
+            Object2ObjectSortedMap<ProtocolVersion, Protocol> newCurrent = new Object2ObjectLinkedOpenHashMap<>(current);
+            newCurrent.put(translatedToVersion, entry.getValue());
+            newCurrent = recursivePath(newCurrent, translatedToVersion, serverVersion);
+            if (newCurrent != null && (shortest == null || newCurrent.size() < shortest.size())) {
+                shortest = newCurrent;
+            }
+        }
+        return shortest;
+    }
+
+    private boolean withinDelta(final ProtocolVersion version, final ProtocolVersion newVersion, final ProtocolVersion serverVersion) {
+        final int maxPathDeltaIncrease = protocolManager.getMaxPathDeltaIncrease();
+        if (maxPathDeltaIncrease == -1 || newVersion.getVersionType() != version.getVersionType()) {
+            return true;
+        }
+        final int delta = Math.abs(serverVersion.getVersion() - newVersion.getVersion()) - Math.abs(serverVersion.getVersion() - version.getVersion());
+        return delta <= maxPathDeltaIncrease;
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.protocol;
+
+import com.viaversion.nbt.tag.CompoundTag;
+import com.viaversion.nbt.tag.ListTag;
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.data.entity.DimensionData;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import com.viaversion.viaversion.api.type.Types;
+import com.viaversion.viaversion.common.dummy.DummyInitializer;
+import com.viaversion.viaversion.connection.UserConnectionImpl;
+import com.viaversion.viaversion.exception.CancelException;
+import com.viaversion.viaversion.protocol.ProtocolPipelineImpl;
+import com.viaversion.viaversion.protocol.packet.PacketWrapperImpl;
+import com.viaversion.viaversion.protocols.v1_20_2to1_20_3.packet.ClientboundConfigurationPackets1_20_3;
+import com.viaversion.viaversion.protocols.v1_20_3to1_20_5.Protocol1_20_3To1_20_5;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class RegistryDataCacheTest {
+
+    @BeforeAll
+    static void init() {
+        DummyInitializer.init();
+    }
+
+    @Test
+    void testConvertedOnce() throws Exception {
+        final TestConnection first = new TestConnection();
+        final TestConnection second = new TestConnection();
+        first.transformRegistryData(registryData(1), false);
+        second.transformRegistryData(registryData(1), false);
+
+        Assertions.assertSame(first.overworld(), second.overworld());
+        Assertions.assertEquals(1, first.overworld().minY());
+        assertSamePackets(first.sent, second.sent);
+
+        final TestConnection other = new TestConnection();
+        other.transformRegistryData(registryData(2), false);
+        Assertions.assertNotSame(first.overworld(), other.overworld());
+        Assertions.assertEquals(2, other.overworld().minY());
+    }
+
+    @Test
+    void testParsedTagIsCached() throws Exception {
+        // Protocols for servers older than 1.20.3 have already read the tag
+        final TestConnection first = new TestConnection();
+        final TestConnection second = new TestConnection();
+        final TestConnection unparsed = new TestConnection();
+        first.transformRegistryData(registryData(3), true);
+        second.transformRegistryData(registryData(3), true);
+        unparsed.transformRegistryData(registryData(3), false);
+
+        Assertions.assertSame(first.overworld(), second.overworld());
+        Assertions.assertSame(first.overworld(), unparsed.overworld());
+        assertSamePackets(first.sent, second.sent);
+        assertSamePackets(first.sent, unparsed.sent);
+    }
+
+    private static void assertSamePackets(final List<byte[]> expected, final List<byte[]> actual) {
+        Assertions.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assertions.assertArrayEquals(expected.get(i), actual.get(i));
+        }
+    }
+
+    private static CompoundTag registryData(final int minY) {
+        final CompoundTag overworld = new CompoundTag();
+        overworld.putInt("min_y", minY);
+        overworld.putInt("height", 256);
+        final CompoundTag biome = new CompoundTag();
+        biome.put("effects", new CompoundTag());
+
+        final CompoundTag registryData = new CompoundTag();
+        registryData.put("minecraft:dimension_type", registry("minecraft:dimension_type", "minecraft:overworld", overworld));
+        registryData.put("minecraft:worldgen/biome", registry("minecraft:worldgen/biome", "minecraft:plains", biome));
+        return registryData;
+    }
+
+    private static CompoundTag registry(final String type, final String name, final CompoundTag element) {
+        final CompoundTag entry = new CompoundTag();
+        entry.putString("name", name);
+        entry.putInt("id", 0);
+        entry.put("element", element);
+
+        final ListTag<CompoundTag> entries = new ListTag<>(CompoundTag.class);
+        entries.add(entry);
+        final CompoundTag registry = new CompoundTag();
+        registry.putString("type", type);
+        registry.put("value", entries);
+        return registry;
+    }
+
+    /**
+     * Connection keeping the packets sent to it.
+     */
+    private static final class TestConnection extends UserConnectionImpl {
+        private final List<byte[]> sent = new ArrayList<>();
+
+        private TestConnection() {
+            super(new EmbeddedChannel());
+            getProtocolInfo().setState(State.CONFIGURATION);
+            new ProtocolPipelineImpl(this).add(Via.getManager().getProtocolManager().getProtocol(Protocol1_20_3To1_20_5.class));
+        }
+
+        private void transformRegistryData(final CompoundTag registryData, final boolean parsed) throws Exception {
+            final PacketWrapperImpl wrapper;
+            if (parsed) {
+                wrapper = new PacketWrapperImpl(ClientboundConfigurationPackets1_20_3.REGISTRY_DATA, null, this);
+                wrapper.write(Types.COMPOUND_TAG, registryData);
+            } else {
+                final ByteBuf buf = Unpooled.buffer();
+                Types.COMPOUND_TAG.write(buf, registryData);
+                wrapper = new PacketWrapperImpl(ClientboundConfigurationPackets1_20_3.REGISTRY_DATA.getId(), buf, this);
+            }
+
+            final Protocol1_20_3To1_20_5 protocol = Via.getManager().getProtocolManager().getProtocol(Protocol1_20_3To1_20_5.class);
+            Assertions.assertThrows(CancelException.class, () -> protocol.transform(Direction.CLIENTBOUND, State.CONFIGURATION, wrapper));
+        }
+
+        private DimensionData overworld() {
+            final DimensionData dimensionData = getEntityTracker(Protocol1_20_3To1_20_5.class).dimensionData("overworld");
+            Assertions.assertNotNull(dimensionData);
+            return dimensionData;
+        }
+
+        @Override
+        public void sendRawPacket(final ByteBuf packet) {
+            try {
+                final byte[] data = new byte[packet.readableBytes()];
+                packet.getBytes(packet.readerIndex(), data);
+                sent.add(data);
+            } finally {
+                packet.release();
+            }
+        }
+    }
+}
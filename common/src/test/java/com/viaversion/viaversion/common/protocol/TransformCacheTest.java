@@ -0,0 +1,198 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.protocol;
+
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.protocol.AbstractProtocol;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.ServerboundPacketType;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import com.viaversion.viaversion.api.type.Types;
+import com.viaversion.viaversion.common.dummy.DummyInitializer;
+import com.viaversion.viaversion.common.dummy.TestConfig;
+import com.viaversion.viaversion.connection.UserConnectionImpl;
+import com.viaversion.viaversion.exception.CancelEncoderException;
+import com.viaversion.viaversion.protocol.ProtocolChain;
+import com.viaversion.viaversion.protocol.ProtocolPipelineImpl;
+import com.viaversion.viaversion.protocol.TransformCache;
+import com.viaversion.viaversion.protocols.v1_8to1_9.packet.ClientboundPackets1_8;
+import com.viaversion.viaversion.protocols.v1_8to1_9.packet.ClientboundPackets1_9;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class TransformCacheTest {
+
+    @BeforeAll
+    static void init() {
+        DummyInitializer.init();
+        ((TestConfig) Via.getConfig()).setCacheBroadcastTransforms(true);
+    }
+
+    @AfterAll
+    static void reset() {
+        ((TestConfig) Via.getConfig()).setCacheBroadcastTransforms(false);
+    }
+
+    @Test
+    void testCachedTransformMatchesFreshTransform() {
+        final TestProtocol protocol = new TestProtocol();
+        final UserConnection connection = createConnection(protocol);
+        final byte[] fresh = transform(connection, packet(5, 0));
+        // The first transformation determines whether the packet can be shared, the second one fills the cache
+        Assertions.assertArrayEquals(fresh, transform(connection, packet(5, 0)));
+        Assertions.assertNotNull(chain(connection).transformCache().get(TransformCache.key(State.PLAY, packet(5, 0))));
+
+        final int transforms = protocol.transforms;
+        Assertions.assertArrayEquals(fresh, transform(createConnection(protocol), packet(5, 0)));
+        Assertions.assertEquals(transforms, protocol.transforms);
+
+        // Different contents are not shared
+        Assertions.assertEquals(6 * 2, transform(connection, packet(6, 0))[2]);
+        Assertions.assertEquals(transforms + 1, protocol.transforms);
+    }
+
+    @Test
+    void testCancellationIsReplayed() {
+        final TestProtocol protocol = new TestProtocol();
+        final UserConnection connection = createConnection(protocol);
+        Assertions.assertThrows(CancelEncoderException.class, () -> transform(connection, packet(0, 0)));
+        Assertions.assertTrue(chain(connection).isConnectionIndependent(State.PLAY, ClientboundPackets1_8.MOVE_ENTITY_POS.getId()));
+        Assertions.assertThrows(CancelEncoderException.class, () -> transform(connection, packet(0, 0)));
+
+        final byte[] cached = chain(connection).transformCache().get(TransformCache.key(State.PLAY, packet(0, 0)));
+        Assertions.assertNotNull(cached);
+        Assertions.assertTrue(TransformCache.isCancelled(cached));
+
+        final int transforms = protocol.transforms;
+        Assertions.assertThrows(CancelEncoderException.class, () -> transform(createConnection(protocol), packet(0, 0)));
+        Assertions.assertEquals(transforms, protocol.transforms);
+    }
+
+    @Test
+    void testAppendedHandlerIsNotShared() {
+        final TestProtocol protocol = new TestProtocol();
+        protocol.appendClientbound(ClientboundPackets1_8.MOVE_ENTITY_POS, wrapper -> {
+        });
+
+        final UserConnection connection = createConnection(protocol);
+        for (int i = 1; i <= 3; i++) {
+            transform(connection, packet(5, 0));
+            Assertions.assertEquals(i, protocol.transforms);
+        }
+        Assertions.assertFalse(chain(connection).isConnectionIndependent(State.PLAY, ClientboundPackets1_8.MOVE_ENTITY_POS.getId()));
+    }
+
+    @Test
+    void testLargePacketsBypassCache() {
+        final TestProtocol protocol = new TestProtocol();
+        final UserConnection connection = createConnection(protocol);
+        for (int i = 1; i <= 3; i++) {
+            transform(connection, packet(5, TransformCache.MAX_PACKET_LENGTH));
+            Assertions.assertEquals(i, protocol.transforms);
+        }
+    }
+
+    @Test
+    void testDebugModeBypassesCache() {
+        final TestProtocol protocol = new TestProtocol();
+        final UserConnection connection = createConnection(protocol);
+        Via.getManager().debugHandler().setEnabled(true);
+        try {
+            for (int i = 1; i <= 3; i++) {
+                transform(connection, packet(5, 0));
+                Assertions.assertEquals(i, protocol.transforms);
+            }
+        } finally {
+            Via.getManager().debugHandler().setEnabled(false);
+        }
+    }
+
+    private static UserConnection createConnection(final TestProtocol protocol) {
+        final UserConnection connection = new UserConnectionImpl(null);
+        connection.getProtocolInfo().setState(State.PLAY);
+        new ProtocolPipelineImpl(connection).add(protocol);
+        return connection;
+    }
+
+    private static ProtocolChain chain(final UserConnection connection) {
+        return ((ProtocolPipelineImpl) connection.getProtocolInfo().getPipeline()).protocolChainFor(Direction.CLIENTBOUND);
+    }
+
+    private static ByteBuf packet(final int value, final int padding) {
+        final ByteBuf buf = Unpooled.buffer();
+        Types.VAR_INT.writePrimitive(buf, ClientboundPackets1_8.MOVE_ENTITY_POS.getId());
+        Types.VAR_INT.writePrimitive(buf, 1);
+        buf.writeByte(value);
+        buf.writeZero(padding);
+        return buf;
+    }
+
+    private static byte[] transform(final UserConnection connection, final ByteBuf packet) {
+        final ByteBuf transformed;
+        try {
+            transformed = connection.transformClientboundDirect(packet, CancelEncoderException::generate);
+        } finally {
+            packet.release();
+        }
+
+        try {
+            final byte[] data = new byte[transformed.readableBytes()];
+            transformed.getBytes(transformed.readerIndex(), data);
+            return data;
+        } finally {
+            transformed.release();
+        }
+    }
+
+    /**
+     * Doubles the first byte after the entity id of 1.8 entity movement, cancelling the packet if it is 0.
+     */
+    private static final class TestProtocol extends AbstractProtocol<ClientboundPackets1_8, ClientboundPackets1_9, ServerboundPacketType, ServerboundPacketType> {
+        private int transforms;
+
+        TestProtocol() {
+            super(ClientboundPackets1_8.class, ClientboundPackets1_9.class, null, null);
+            initialize();
+        }
+
+        @Override
+        protected void registerPackets() {
+            // No 1.9 counterparts
+            cancelClientbound(ClientboundPackets1_8.MAP_BULK_CHUNK);
+            cancelClientbound(ClientboundPackets1_8.SET_COMPRESSION);
+            cancelClientbound(ClientboundPackets1_8.UPDATE_ENTITY_NBT);
+
+            registerClientbound(ClientboundPackets1_8.MOVE_ENTITY_POS, wrapper -> {
+                transforms++;
+                wrapper.passthrough(Types.VAR_INT); // Entity id
+                final byte value = wrapper.read(Types.BYTE);
+                if (value == 0) {
+                    wrapper.cancel();
+                    return;
+                }
+                wrapper.write(Types.BYTE, (byte) (value * 2));
+            });
+            registerConnectionIndependentClientbound(ClientboundPackets1_8.MOVE_ENTITY_POS);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.type;
+
+import com.viaversion.viaversion.api.minecraft.chunks.Chunk;
+import com.viaversion.viaversion.api.type.Types;
+import com.viaversion.viaversion.api.type.types.chunk.BulkChunkType1_8;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class BulkChunkTypeTest {
+    private static final int SECTION_LENGTH = 16 * 16 * 16 * 2 + 2 * (16 * 16 * 16 / 2);
+    private static final int BIOME_LENGTH = 16 * 16;
+
+    @Test
+    void testStreamingWriteAfterRead() {
+        final ByteBuf input = Unpooled.buffer();
+        input.writeBoolean(true);
+        Types.VAR_INT.writePrimitive(input, 2);
+        input.writeInt(1).writeInt(-2).writeShort(0b1);
+        input.writeInt(3).writeInt(4).writeShort(0b101);
+        final int dataLength = 3 * SECTION_LENGTH + 2 * BIOME_LENGTH;
+        for (int i = 0; i < dataLength; i++) {
+            input.writeByte(i);
+        }
+        final ByteBuf original = input.copy();
+
+        final BulkChunkType1_8.ChunkBulkReader reader = BulkChunkType1_8.STREAMING_TYPE.read(input);
+        Assertions.assertEquals(0, input.readableBytes());
+        final Chunk first = reader.next();
+        Assertions.assertEquals(1, first.getX());
+        Assertions.assertEquals(-2, first.getZ());
+
+        // Already read chunks are still written
+        final ByteBuf output = Unpooled.buffer();
+        BulkChunkType1_8.STREAMING_TYPE.write(output, reader);
+        Assertions.assertTrue(ByteBufUtil.equals(original, output));
+
+        final Chunk second = reader.next();
+        Assertions.assertEquals(3, second.getX());
+        Assertions.assertEquals(0b101, second.getBitmask());
+        Assertions.assertFalse(reader.hasNext());
+    }
+}
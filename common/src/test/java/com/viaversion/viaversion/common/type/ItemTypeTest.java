@@ -19,6 +19,7 @@ package com.viaversion.viaversion.common.type;
 
 import com.viaversion.viaversion.api.minecraft.item.DataItem;
 import com.viaversion.viaversion.api.type.Types;
+import com.viaversion.viaversion.api.type.types.version.Types1_20_5;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import org.junit.jupiter.api.Assertions;
@@ -65,6 +66,24 @@ class ItemTypeTest {
         );
     }
 
+    @Test
+    void testInvalidDataComponentSizes() {
+        final ByteBuf negative = Unpooled.buffer();
+        Types.VAR_INT.writePrimitive(negative, 1);
+        Types.VAR_INT.writePrimitive(negative, 1);
+        Types.VAR_INT.writePrimitive(negative, -1);
+        Types.VAR_INT.writePrimitive(negative, 0);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Types1_20_5.ITEM.read(negative));
+
+        // Fails on the missing data instead of allocating for the sizes
+        final ByteBuf large = Unpooled.buffer();
+        Types.VAR_INT.writePrimitive(large, 1);
+        Types.VAR_INT.writePrimitive(large, 1);
+        Types.VAR_INT.writePrimitive(large, 0);
+        Types.VAR_INT.writePrimitive(large, Integer.MAX_VALUE);
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> Types1_20_5.ITEM.read(large));
+    }
+
     @Test
     void testEmptyItemWrite() {
         ByteBuf buf = Unpooled.buffer();
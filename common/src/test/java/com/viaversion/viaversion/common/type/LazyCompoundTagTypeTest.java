@@ -0,0 +1,106 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.type;
+
+import com.viaversion.nbt.tag.CompoundTag;
+import com.viaversion.nbt.tag.ListTag;
+import com.viaversion.nbt.tag.LongArrayTag;
+import com.viaversion.nbt.tag.StringTag;
+import com.viaversion.viaversion.api.minecraft.LazyCompoundTag;
+import com.viaversion.viaversion.api.type.Types;
+import com.viaversion.viaversion.api.type.types.misc.CompoundTagType;
+import com.viaversion.viaversion.api.type.types.misc.LazyCompoundTagType;
+import com.viaversion.viaversion.api.type.types.misc.NamedCompoundTagType;
+import com.viaversion.viaversion.connection.UserConnectionImpl;
+import com.viaversion.viaversion.exception.InformativeException;
+import com.viaversion.viaversion.protocol.packet.PacketWrapperImpl;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class LazyCompoundTagTypeTest {
+
+    @Test
+    void testVerbatimWrite() {
+        final ByteBuf buf = Unpooled.buffer();
+        Types.NAMED_COMPOUND_TAG.write(buf, testTag());
+        final byte[] expected = bytes(buf);
+
+        final LazyCompoundTag lazyTag = Types.LAZY_NAMED_COMPOUND_TAG.read(buf);
+        Assertions.assertFalse(buf.isReadable());
+        Assertions.assertFalse(lazyTag.isParsed());
+
+        Types.LAZY_NAMED_COMPOUND_TAG.write(buf, lazyTag);
+        Assertions.assertArrayEquals(expected, bytes(buf));
+    }
+
+    @Test
+    void testParseOnAccess() {
+        final ByteBuf buf = Unpooled.buffer();
+        Types.COMPOUND_TAG.write(buf, testTag());
+
+        final LazyCompoundTag lazyTag = Types.LAZY_COMPOUND_TAG.read(buf);
+        Assertions.assertEquals(testTag(), lazyTag.tag());
+        Assertions.assertTrue(lazyTag.isParsed());
+
+        lazyTag.tag().putString("changed", "yes");
+        Types.LAZY_COMPOUND_TAG.write(buf, lazyTag);
+        Assertions.assertEquals(lazyTag.tag(), Types.COMPOUND_TAG.read(buf));
+    }
+
+    @Test
+    void testConversion() {
+        final CompoundTag tag = testTag();
+        Assertions.assertSame(tag, new LazyCompoundTagType(true).from(tag).tag());
+        Assertions.assertSame(tag, new NamedCompoundTagType().from(LazyCompoundTag.of(tag)));
+        Assertions.assertSame(tag, new CompoundTagType().from(tag));
+        Assertions.assertNull(Types.LAZY_NAMED_COMPOUND_TAG.read(Unpooled.wrappedBuffer(new byte[]{0})));
+    }
+
+    @Test
+    void testWrapperConversion() {
+        final PacketWrapperImpl wrapper = new PacketWrapperImpl(0, null, new UserConnectionImpl(null));
+        wrapper.write(Types.LAZY_NAMED_COMPOUND_TAG, LazyCompoundTag.of(testTag()));
+        wrapper.write(Types.STRING, "a");
+        wrapper.resetReader();
+
+        Assertions.assertEquals(testTag(), wrapper.read(Types.NAMED_COMPOUND_TAG));
+        Assertions.assertThrows(InformativeException.class, () -> wrapper.read(Types.NAMED_COMPOUND_TAG));
+    }
+
+    private static byte[] bytes(final ByteBuf buf) {
+        final byte[] bytes = new byte[buf.readableBytes()];
+        buf.getBytes(buf.readerIndex(), bytes);
+        return bytes;
+    }
+
+    private static CompoundTag testTag() {
+        final CompoundTag tag = new CompoundTag();
+        tag.putString("id", "minecraft:stone");
+        tag.putInt("count", 5);
+        tag.put("longs", new LongArrayTag(new long[]{1, 2, 3}));
+        final ListTag<StringTag> list = new ListTag<>(StringTag.class);
+        list.add(new StringTag("a"));
+        tag.put("list", list);
+        final CompoundTag nested = new CompoundTag();
+        nested.putDouble("value", 1.5);
+        tag.put("nested", nested);
+        return tag;
+    }
+}
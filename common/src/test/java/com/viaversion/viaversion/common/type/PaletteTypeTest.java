@@ -0,0 +1,108 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.type;
+
+import com.viaversion.viaversion.api.minecraft.chunks.DataPalette;
+import com.viaversion.viaversion.api.minecraft.chunks.PackedDataPalette;
+import com.viaversion.viaversion.api.minecraft.chunks.PaletteType;
+import com.viaversion.viaversion.api.type.Types;
+import com.viaversion.viaversion.api.type.types.chunk.PaletteType1_18;
+import com.viaversion.viaversion.util.CompactArrayUtil;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class PaletteTypeTest {
+    private static final int SECTION_SIZE = PaletteType.BLOCKS.size();
+
+    @Test
+    void testGlobalPaletteRemap() {
+        final PaletteType1_18 type = new PaletteType1_18(PaletteType.BLOCKS, 15);
+        final ByteBuf buf = Unpooled.buffer();
+        buf.writeByte(15);
+        final long[] values = CompactArrayUtil.createCompactArrayWithPadding(15, SECTION_SIZE, i -> i * 7);
+        Types.LONG_ARRAY_PRIMITIVE.write(buf, values);
+
+        final DataPalette palette = type.read(buf);
+        final PackedDataPalette packedPalette = Assertions.assertInstanceOf(PackedDataPalette.class, palette);
+        Assertions.assertTrue(packedPalette.remapGlobalIds(id -> id + 1, 15));
+
+        type.write(buf, palette);
+        final DataPalette remapped = type.read(buf);
+        for (int i = 0; i < SECTION_SIZE; i++) {
+            Assertions.assertEquals(i * 7 + 1, remapped.idAt(i));
+        }
+    }
+
+    @Test
+    void testGlobalPaletteRemapToMoreBits() {
+        final PackedDataPalette palette = new PackedDataPalette(SECTION_SIZE, 15, null,
+            CompactArrayUtil.createCompactArrayWithPadding(15, SECTION_SIZE, i -> i));
+        Assertions.assertTrue(palette.remapGlobalIds(id -> id + 0x8000, 16));
+
+        final ByteBuf buf = Unpooled.buffer();
+        new PaletteType1_18(PaletteType.BLOCKS, 16).write(buf, palette);
+        Assertions.assertEquals(16, buf.getByte(0));
+        for (int i = 0; i < SECTION_SIZE; i++) {
+            Assertions.assertEquals(i + 0x8000, palette.idAt(i));
+        }
+        Assertions.assertFalse(palette.remapGlobalIds(id -> id, 16));
+    }
+
+    @Test
+    void testPackedPaletteRoundtrip() {
+        final PaletteType1_18 type = new PaletteType1_18(PaletteType.BLOCKS, 15);
+        final ByteBuf buf = Unpooled.buffer();
+        final DataPalette source = new PackedDataPalette(SECTION_SIZE, 4, new IntArrayList(new int[]{1, 2, 3}),
+            CompactArrayUtil.createCompactArrayWithPadding(4, SECTION_SIZE, i -> i % 3));
+        type.write(buf, source);
+
+        final DataPalette palette = type.read(buf);
+        palette.setIdByIndex(1, 20);
+        type.write(buf, palette);
+
+        final DataPalette remapped = type.read(buf);
+        for (int i = 0; i < SECTION_SIZE; i++) {
+            final int index = i % 3;
+            Assertions.assertEquals(index == 1 ? 20 : index + 1, remapped.idAt(i));
+        }
+    }
+
+    @Test
+    void testClearedPaletteIsNotWrittenPacked() {
+        final PackedDataPalette palette = new PackedDataPalette(SECTION_SIZE, 4, new IntArrayList(new int[]{1, 2, 3}),
+            CompactArrayUtil.createCompactArrayWithPadding(4, SECTION_SIZE, i -> i % 3));
+        palette.clear();
+        Assertions.assertNull(palette.packedValues());
+        Assertions.assertEquals(0, palette.size());
+
+        // Same as an unpacked palette, the indexes are kept and refer to the ids added afterwards
+        palette.addId(7);
+        palette.addId(8);
+        palette.addId(9);
+        final PaletteType1_18 type = new PaletteType1_18(PaletteType.BLOCKS, 15);
+        final ByteBuf buf = Unpooled.buffer();
+        type.write(buf, palette);
+        final DataPalette written = type.read(buf);
+        for (int i = 0; i < SECTION_SIZE; i++) {
+            Assertions.assertEquals(7 + i % 3, written.idAt(i));
+        }
+    }
+}
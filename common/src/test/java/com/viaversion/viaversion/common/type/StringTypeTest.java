@@ -21,6 +21,7 @@ import com.viaversion.viaversion.api.type.Types;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
+import java.nio.charset.StandardCharsets;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -33,6 +34,23 @@ class StringTypeTest {
         Assertions.assertEquals(ByteBufUtil.hexDump(buf), "04f09fa7bd");
     }
 
+    @Test
+    void testStringWriteUnpairedSurrogate() {
+        // Unpaired surrogates are replaced the same way String#getBytes does
+        final String string = "a\uD83Eb\uDDFD";
+        final ByteBuf buf = Unpooled.buffer();
+        Types.STRING.write(buf, string);
+        Assertions.assertEquals(new String(string.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8), Types.STRING.read(buf));
+    }
+
+    @Test
+    void testIdentifierRead() {
+        final ByteBuf buf = Unpooled.buffer();
+        Types.STRING.write(buf, "minecraft:stone");
+        Types.STRING.write(buf, "minecraft:stone");
+        Assertions.assertSame(Types.IDENTIFIER.read(buf), Types.IDENTIFIER.read(buf));
+    }
+
     @Test
     void testStringRead() throws Exception {
         // Write
@@ -0,0 +1,79 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2024 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.util;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.viaversion.nbt.tag.CompoundTag;
+import com.viaversion.nbt.tag.Tag;
+import com.viaversion.viaversion.util.ComponentUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ComponentUtilTest {
+
+    @Test
+    void testCachedTagIsCopied() {
+        final JsonElement json = JsonParser.parseString("{\"text\":\"cached\",\"color\":\"red\"}");
+        final CompoundTag first = (CompoundTag) ComponentUtil.jsonToTag(json);
+        first.putString("text", "modified");
+
+        final long hits = ComponentUtil.conversionCacheStats().hitCount();
+        final Tag second = ComponentUtil.jsonToTag(json);
+        Assertions.assertEquals(hits + 1, ComponentUtil.conversionCacheStats().hitCount());
+        Assertions.assertEquals("cached", ((CompoundTag) second).getString("text"));
+        Assertions.assertNotSame(first, second);
+    }
+
+    @Test
+    void testCachedJsonIsCopied() {
+        final CompoundTag tag = new CompoundTag();
+        tag.putString("text", "cached json");
+        tag.putString("color", "red");
+        final JsonElement first = ComponentUtil.tagToJson(tag);
+        first.getAsJsonObject().addProperty("text", "modified");
+
+        final JsonElement second = ComponentUtil.tagToJson(tag);
+        Assertions.assertEquals("cached json", second.getAsJsonObject().get("text").getAsString());
+    }
+
+    @Test
+    void testLargeTagIsNotCached() {
+        final String text = "a".repeat(20_000);
+        final CompoundTag tag = new CompoundTag();
+        tag.putString("text", text);
+
+        final long requests = ComponentUtil.conversionCacheStats().requestCount();
+        Assertions.assertEquals(text, ComponentUtil.tagToJson(tag).getAsJsonObject().get("text").getAsString());
+        Assertions.assertEquals(text, ComponentUtil.tagToJson(tag).getAsJsonObject().get("text").getAsString());
+        Assertions.assertEquals(requests, ComponentUtil.conversionCacheStats().requestCount());
+    }
+
+    @Test
+    void testLargeJsonIsNotCached() {
+        final String text = "a".repeat(20_000);
+        final JsonObject json = new JsonObject();
+        json.addProperty("text", text);
+        json.addProperty("color", "red");
+
+        final long requests = ComponentUtil.conversionCacheStats().requestCount();
+        Assertions.assertEquals(text, ((CompoundTag) ComponentUtil.jsonToTag(json)).getString("text"));
+        Assertions.assertEquals(requests, ComponentUtil.conversionCacheStats().requestCount());
+    }
+}
@@ -42,13 +42,7 @@ public class VelocityEncodeHandler extends MessageToMessageEncoder<ByteBuf> {
             return;
         }
 
-        ByteBuf transformedBuf = ctx.alloc().buffer().writeBytes(bytebuf);
-        try {
-            info.transformOutgoing(transformedBuf, CancelEncoderException::generate);
-            out.add(transformedBuf.retain());
-        } finally {
-            transformedBuf.release();
-        }
+        out.add(info.transformOutgoingDirect(bytebuf, CancelEncoderException::generate));
     }
 
     @Override